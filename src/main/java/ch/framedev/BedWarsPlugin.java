@@ -9,6 +9,7 @@ import ch.framedev.bedwars.game.GameManager;
 import ch.framedev.bedwars.manager.UpgradeManager;
 import ch.framedev.bedwars.party.PartyManager;
 import ch.framedev.bedwars.player.GamePlayer;
+import ch.framedev.bedwars.player.PlayerDataService;
 import ch.framedev.bedwars.stats.StatsManager;
 import ch.framedev.bedwars.utils.DebugLogger;
 import ch.framedev.bedwars.utils.MessageManager;
@@ -34,6 +35,7 @@ public class BedWarsPlugin extends JavaPlugin {
     private MessageManager messageManager;
     private UpgradeManager upgradeManager;
     private DebugLogger debugLogger;
+    private PlayerDataService playerDataService;
     private PartyManager partyManager;
     private MapVoteManager mapVoteManager;
     private CosmeticsManager cosmeticsManager;
@@ -61,6 +63,9 @@ public class BedWarsPlugin extends JavaPlugin {
         upgradeManager = new UpgradeManager(this);
         GamePlayer.setUpgradeManager(upgradeManager);
 
+        // Initialize per-player data caches
+        playerDataService = new PlayerDataService(this);
+
         // Initialize database
         databaseManager = new DatabaseManager(this);
         databaseManager.connect();
@@ -110,6 +115,12 @@ public class BedWarsPlugin extends JavaPlugin {
         // Stop all games
         if (gameManager != null) {
             gameManager.stopAllGames();
+            gameManager.shutdown();
+        }
+
+        // Stop cache eviction (managers flush their own data below)
+        if (playerDataService != null) {
+            playerDataService.shutdown();
         }
 
         // Save statistics
@@ -117,20 +128,12 @@ public class BedWarsPlugin extends JavaPlugin {
             statsManager.saveAllStats();
         }
 
-        // Disconnect database
         // Disable BungeeCord
         if (bungeeManager != null) {
             bungeeManager.disable();
         }
 
-        if (databaseManager != null) {
-            databaseManager.disconnect();
-        }
-
-        if (partyManager != null) {
-            partyManager.shutdown();
-        }
-
+        // Write pending cosmetics selections and achievement progress
         if (cosmeticsManager != null) {
             cosmeticsManager.shutdown();
         }
@@ -139,10 +142,20 @@ public class BedWarsPlugin extends JavaPlugin {
             achievementsManager.shutdown();
         }
 
+        // Disconnect database (drains queued writes)
+        if (databaseManager != null) {
+            databaseManager.disconnect();
+        }
+
+        if (partyManager != null) {
+            partyManager.shutdown();
+        }
+
         getLogger().info("BedWars plugin has been disabled!");
     }
 
     private void registerListeners() {
+        getServer().getPluginManager().registerEvents(new PlayerPreLoginListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerJoinListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerQuitListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerDeathListener(this), this);
@@ -153,6 +166,7 @@ public class BedWarsPlugin extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new InventoryClickListener(this), this);
         getServer().getPluginManager().registerEvents(new SpectatorListener(this), this);
         getServer().getPluginManager().registerEvents(new ItemPickupListener(this, upgradeManager), this);
+        getServer().getPluginManager().registerEvents(new GeneratorDropListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerChatListener(this), this);
         getServer().getPluginManager().registerEvents(new InventoryCloseListener(this), this);
     }
@@ -173,6 +187,10 @@ public class BedWarsPlugin extends JavaPlugin {
         return databaseManager;
     }
 
+    public PlayerDataService getPlayerDataService() {
+        return playerDataService;
+    }
+
     public BungeeManager getBungeeManager() {
         return bungeeManager;
     }
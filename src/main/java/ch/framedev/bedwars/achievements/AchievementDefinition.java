@@ -15,9 +15,19 @@ public class AchievementDefinition {
     private final AchievementType type;
     private final int target;
     private final boolean enabled;
+    private final AchievementScope scope;
+    private final long windowMillis;
+    /** Max events per match by type ordinal (-1 = any), or null without limits. */
+    private final int[] matchLimits;
 
     public AchievementDefinition(String id, String displayName, Material icon, List<String> lore,
             AchievementType type, int target, boolean enabled) {
+        this(id, displayName, icon, lore, type, target, enabled, AchievementScope.LIFETIME, 0, null);
+    }
+
+    public AchievementDefinition(String id, String displayName, Material icon, List<String> lore,
+            AchievementType type, int target, boolean enabled, AchievementScope scope, long windowMillis,
+            int[] matchLimits) {
         this.id = id;
         this.displayName = displayName;
         this.icon = icon;
@@ -25,6 +35,9 @@ public class AchievementDefinition {
         this.type = type;
         this.target = target;
         this.enabled = enabled;
+        this.scope = scope;
+        this.windowMillis = windowMillis;
+        this.matchLimits = matchLimits;
     }
 
     public String getId() {
@@ -54,4 +67,27 @@ public class AchievementDefinition {
     public boolean isEnabled() {
         return enabled;
     }
+
+    public AchievementScope getScope() {
+        return scope;
+    }
+
+    public boolean isLifetime() {
+        return scope == AchievementScope.LIFETIME;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Whether the player's events in the current match (counters by type ordinal) are within the limits.
+     */
+    boolean meetsMatchLimits(int[] matchCounters) {
+        if (matchLimits == null) return true;
+        for (int i = 0; i < matchLimits.length; i++) {
+            if (matchLimits[i] >= 0 && matchCounters[i] > matchLimits[i]) return false;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,84 @@
+package ch.framedev.bedwars.achievements;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enabled achievement definitions grouped by event type and scope, each group sorted by target.
+ * <p>
+ * Notes:
+ * - Immutable: a reload builds a new index and swaps it in
+ * - An event only looks at the groups of its own type; definitions of other types cost nothing
+ */
+final class AchievementIndex {
+
+    private static final AchievementDefinition[] NONE = new AchievementDefinition[0];
+
+    private final Map<AchievementType, AchievementDefinition[]> lifetime;
+    private final Map<AchievementType, AchievementDefinition[]> match;
+    private final Map<AchievementType, AchievementDefinition[]> window;
+    private final int[] windowCapacity = new int[AchievementType.values().length];
+
+    private AchievementIndex(Map<AchievementType, AchievementDefinition[]> lifetime,
+                             Map<AchievementType, AchievementDefinition[]> match,
+                             Map<AchievementType, AchievementDefinition[]> window) {
+        this.lifetime = lifetime;
+        this.match = match;
+        this.window = window;
+        for (Map.Entry<AchievementType, AchievementDefinition[]> entry : window.entrySet()) {
+            for (AchievementDefinition def : entry.getValue()) {
+                int t = entry.getKey().ordinal();
+                windowCapacity[t] = Math.max(windowCapacity[t], def.getTarget());
+            }
+        }
+    }
+
+    AchievementDefinition[] lifetime(AchievementType type) {
+        return lifetime.getOrDefault(type, NONE);
+    }
+
+    AchievementDefinition[] match(AchievementType type) {
+        return match.getOrDefault(type, NONE);
+    }
+
+    AchievementDefinition[] window(AchievementType type) {
+        return window.getOrDefault(type, NONE);
+    }
+
+    /**
+     * Events of the type a player's sliding window must remember (largest windowed target), 0 if none.
+     */
+    int windowCapacity(AchievementType type) {
+        return windowCapacity[type.ordinal()];
+    }
+
+    static AchievementIndex of(Iterable<AchievementDefinition> definitions) {
+        Map<AchievementScope, Map<AchievementType, List<AchievementDefinition>>> grouped =
+                new EnumMap<>(AchievementScope.class);
+        for (AchievementDefinition def : definitions) {
+            if (def == null || !def.isEnabled()) continue;
+            grouped.computeIfAbsent(def.getScope(), scope -> new EnumMap<>(AchievementType.class))
+                    .computeIfAbsent(def.getType(), type -> new ArrayList<>())
+                    .add(def);
+        }
+        return new AchievementIndex(sorted(grouped.get(AchievementScope.LIFETIME)),
+                sorted(grouped.get(AchievementScope.MATCH)),
+                sorted(grouped.get(AchievementScope.WINDOW)));
+    }
+
+    private static Map<AchievementType, AchievementDefinition[]> sorted(
+            Map<AchievementType, List<AchievementDefinition>> grouped) {
+        Map<AchievementType, AchievementDefinition[]> index = new EnumMap<>(AchievementType.class);
+        if (grouped == null) return index;
+
+        for (Map.Entry<AchievementType, List<AchievementDefinition>> entry : grouped.entrySet()) {
+            AchievementDefinition[] defs = entry.getValue().toArray(NONE);
+            Arrays.sort(defs, (a, b) -> Integer.compare(a.getTarget(), b.getTarget()));
+            index.put(entry.getKey(), defs);
+        }
+        return index;
+    }
+}
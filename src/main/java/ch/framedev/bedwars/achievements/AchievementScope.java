@@ -0,0 +1,13 @@
+package ch.framedev.bedwars.achievements;
+
+/**
+ * What an achievement's target is counted over ({@code scope} in achievements.yml).
+ */
+public enum AchievementScope {
+    /** All matches ever played (stored progress). */
+    LIFETIME,
+    /** A single match, e.g. "break 2 beds in one match". */
+    MATCH,
+    /** A sliding time window ({@code window-seconds}), e.g. "3 final kills within 30 seconds". */
+    WINDOW
+}
@@ -8,5 +8,7 @@ public enum AchievementType {
     FINAL_KILLS,
     BEDS_BROKEN,
     WINS,
-    GAMES_PLAYED
+    GAMES_PLAYED,
+    DEATHS,
+    BEDS_LOST
 }
@@ -2,8 +2,11 @@ package ch.framedev.bedwars.achievements;
 
 import ch.framedev.BedWarsPlugin;
 import ch.framedev.bedwars.database.DatabaseManager;
+import ch.framedev.bedwars.player.PlayerDataCache;
+import ch.framedev.bedwars.stats.MatchResult;
 import ch.framedev.bedwars.utils.ItemBuilder;
 import ch.framedev.bedwars.utils.MessageManager;
+import ch.framedev.bedwars.utils.SingleFlight;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -13,16 +16,15 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.sql.PreparedStatement;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiConsumer;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages achievements and progress.
@@ -30,25 +32,65 @@ import java.util.function.BiConsumer;
  * De-duplication:
  * - Single "record(...)" method used by all recordX calls
  * - Single "stripTitleEquals(...)" helper for GUI title comparisons
- * - Single "getOrCreateProgressMap(...)" helper for cache access
+ * - Single "getOrCreate(...)" helper for cache access
  * - Single "safeMaterial(...)" helper for icon parsing
  * - Single "buildLore(...)" helper for GUI lore rendering
+ *
+ * Loading:
+ * - Progress is prefetched at login; concurrent loads of one player share one query
+ * - Recording never waits for the database: progress of a player who isn't loaded yet starts from
+ *   zero, is added to the stored progress when it arrives and only then written
+ * - Progress and menu slots live in bounded player caches; unmerged placeholders are kept from eviction
+ * - A failed load keeps the placeholder and is retried; it never counts as "no progress"
+ *
+ * Recording:
+ * - Definitions are indexed by type and scope ({@link AchievementIndex}); an event only adds to the
+ *   player's counters for its type and is checked against the next unlock thresholds
+ * - Match and windowed achievements ({@code scope}, {@code window-seconds}, {@code max-per-match})
+ *   use per-match counters and per-type event windows; history is never rescanned
+ * - Match state is reset by {@link #beginMatch(UUID)} and after {@link #recordMatchEnd(UUID, boolean)}
+ * - Changed progress is written in batches: with the match result at game end, every
+ *   {@code database.write-behind.achievements-flush-interval-seconds}, when evicted and on shutdown
  */
 public class AchievementsManager {
 
+    /** Delay before a failed load is retried. */
+    private static final long LOAD_RETRY_TICKS = 200L;
+
     private final BedWarsPlugin plugin;
     private final DatabaseManager database;
+    private final String upsertProgress;
 
     private final Map<String, AchievementDefinition> definitions = new HashMap<>();
-    private final Map<UUID, Map<String, AchievementProgress>> cache = new ConcurrentHashMap<>();
-    private final Map<UUID, Map<Integer, AchievementDefinition>> menuSlots = new ConcurrentHashMap<>();
+    /** Enabled definitions by type, sorted by target; replaced as a whole on reload. */
+    private volatile AchievementIndex index = AchievementIndex.of(List.of());
+    private final PlayerDataCache<PlayerAchievements> cache;
+    private final PlayerDataCache<Map<Integer, AchievementDefinition>> menuSlots;
+    private final SingleFlight<UUID, Map<String, AchievementProgress>> loads = new SingleFlight<>();
+    /** Players with progress not written yet (main thread). */
+    private final Set<UUID> changedPlayers = new HashSet<>();
+    private final BukkitTask flushTask;
 
     private FileConfiguration achievementsConfig;
 
     public AchievementsManager(BedWarsPlugin plugin, DatabaseManager database) {
         this.plugin = plugin;
         this.database = database;
+        this.cache = plugin.getPlayerDataService().<PlayerAchievements>getCache("achievements")
+                .retainIf((uuid, data) -> !data.isLoaded())
+                .onEvict((uuid, data, cause) -> {
+                    changedPlayers.remove(uuid);
+                    saveChanges(data.drainChanges(index));
+                });
+        this.menuSlots = plugin.getPlayerDataService().getCache("achievements-menu");
+        this.upsertProgress = database.upsert("player_achievements", List.of("uuid", "achievement_id"),
+                List.of("uuid", "achievement_id", "progress", "unlocked_at", "updated_at"),
+                List.of("progress", "unlocked_at", "updated_at"));
         loadConfig();
+
+        long interval = Math.max(1,
+                plugin.getConfig().getInt("database.write-behind.achievements-flush-interval-seconds", 30)) * 20L;
+        this.flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flushChanged, interval, interval);
     }
 
     /* --------------------------------------------------------------------- */
@@ -82,8 +124,29 @@ public class AchievementsManager {
     /* Player load                                                            */
     /* --------------------------------------------------------------------- */
 
-    public void loadPlayer(UUID uuid) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> cache.put(uuid, loadFromDatabase(uuid)));
+    /**
+     * Load a player's progress into the cache (async); concurrent loads share one query.
+     */
+    public CompletableFuture<Void> loadPlayer(UUID uuid) {
+        PlayerAchievements cached = cache.peek(uuid);
+        if (cached != null && cached.isLoaded()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loads.load(uuid, key -> loadFromDatabase(key).handle((stored, error) -> {
+            if (error != null) {
+                // Not a player without progress: an empty map must never overwrite the stored rows
+                plugin.getLogger().severe("Failed to load achievements for " + key + ": " + error.getMessage());
+                keepPlaceholder(key);
+                return null;
+            }
+            PlayerAchievements loaded = new PlayerAchievements(key, stored, true, index);
+            PlayerAchievements existing = cache.putIfAbsent(key, loaded);
+            if (existing != null && !existing.isLoaded() && plugin.isEnabled()) {
+                // Placeholders are only touched on the main thread
+                Bukkit.getScheduler().runTask(plugin, () -> mergeLoaded(key, existing, stored));
+            }
+            return stored;
+        })).thenApply(progress -> null);
     }
 
     /* --------------------------------------------------------------------- */
@@ -117,7 +180,7 @@ public class AchievementsManager {
                 player,
                 "achievements.progress",
                 name,
-                getProgressValue(player.getUniqueId(), def.getId()),
+                getProgressValue(player.getUniqueId(), def),
                 def.getTarget()
         );
     }
@@ -136,14 +199,13 @@ public class AchievementsManager {
 
         final int[] slot = {start};
         Map<Integer, AchievementDefinition> slotMap = new HashMap<>();
-        Map<String, AchievementProgress> progressMap = getOrCreateProgressMap(player.getUniqueId());
+        PlayerAchievements data = getOrCreate(player.getUniqueId());
 
         forEachEnabledDefinition(def -> {
             if (slot[0] >= size) return;
 
-            AchievementProgress progress = progressMap.getOrDefault(def.getId(), new AchievementProgress(0, 0));
-
-            List<String> lore = buildLore(def, progress, progressLore, lockedLore, unlockedLore);
+            List<String> lore = buildLore(def, data.getProgress(def), data.isUnlocked(def),
+                    progressLore, lockedLore, unlockedLore);
 
             ItemStack item = new ItemBuilder(def.getIcon())
                     .setName(def.getDisplayName())
@@ -160,7 +222,8 @@ public class AchievementsManager {
     }
 
     private List<String> buildLore(AchievementDefinition def,
-                                   AchievementProgress progress,
+                                   int progress,
+                                   boolean unlocked,
                                    String progressTemplate,
                                    String lockedLore,
                                    String unlockedLore) {
@@ -171,10 +234,10 @@ public class AchievementsManager {
         }
 
         lore.add(progressTemplate
-                .replace("{progress}", String.valueOf(progress.getProgress()))
+                .replace("{progress}", String.valueOf(progress))
                 .replace("{target}", String.valueOf(def.getTarget())));
 
-        lore.add(progress.isUnlocked() ? unlockedLore : lockedLore);
+        lore.add(unlocked ? unlockedLore : lockedLore);
         return lore;
     }
 
@@ -187,28 +250,58 @@ public class AchievementsManager {
     public void recordBedBroken(UUID uuid)  { record(uuid, AchievementType.BEDS_BROKEN, 1); }
     public void recordWin(UUID uuid)        { record(uuid, AchievementType.WINS, 1); }
     public void recordGamePlayed(UUID uuid) { record(uuid, AchievementType.GAMES_PLAYED, 1); }
+    public void recordDeath(UUID uuid)      { record(uuid, AchievementType.DEATHS, 1); }
+    public void recordBedLost(UUID uuid)    { record(uuid, AchievementType.BEDS_LOST, 1); }
+
+    /**
+     * Start counting a new match for the player (match and windowed achievements).
+     */
+    public void beginMatch(UUID uuid) {
+        if (!isEnabled() || uuid == null) return;
+        getOrCreate(uuid).resetMatch(index);
+    }
+
+    /**
+     * Record the end of a match (win, game played) and return all of the player's changed progress,
+     * to be persisted with the match result.
+     */
+    public List<MatchResult.AchievementChange> recordMatchEnd(UUID uuid, boolean won) {
+        if (won) record(uuid, AchievementType.WINS, 1);
+        record(uuid, AchievementType.GAMES_PLAYED, 1);
+
+        PlayerAchievements data = cache.peek(uuid);
+        if (data == null) return Collections.emptyList();
+
+        data.resetMatch(index);
+        if (!data.isLoaded()) {
+            // Not merged yet: written by the next flush after the merge
+            return Collections.emptyList();
+        }
+        changedPlayers.remove(uuid);
+        return data.drainChanges(index);
+    }
 
     private void record(UUID uuid, AchievementType type, int amount) {
         if (!isEnabled() || uuid == null || type == null || amount <= 0) return;
 
-        Map<String, AchievementProgress> progressMap = getOrCreateProgressMap(uuid);
-
-        forEachEnabledDefinition(def -> {
-            if (def.getType() != type) return;
-
-            AchievementProgress progress = progressMap.computeIfAbsent(def.getId(), k -> new AchievementProgress(0, 0));
-            if (progress.isUnlocked()) return;
-
-            int newProgress = progress.getProgress() + amount;
-            progress.setProgress(newProgress);
+        PlayerAchievements data = getOrCreate(uuid);
+        for (AchievementDefinition def : data.add(type, amount, index)) {
+            notifyUnlock(uuid, def);
+        }
+        changedPlayers.add(uuid);
+    }
 
-            if (newProgress >= def.getTarget()) {
-                progress.setUnlockedAt(System.currentTimeMillis());
-                notifyUnlock(uuid, def);
-            }
+    /**
+     * Add the stored progress to the progress recorded before it was loaded (main thread).
+     */
+    private void mergeLoaded(UUID uuid, PlayerAchievements data, Map<String, AchievementProgress> stored) {
+        if (data.isLoaded()) return;
 
-            saveToDatabase(uuid, def.getId(), progress);
-        });
+        for (AchievementDefinition def : data.applyStored(stored, index)) {
+            notifyUnlock(uuid, def);
+        }
+        if (data.hasChanges()) changedPlayers.add(uuid);
+        plugin.getDebugLogger().debug("Achievements merged: " + uuid + ", stored=" + stored.size());
     }
 
     private void notifyUnlock(UUID uuid, AchievementDefinition def) {
@@ -227,9 +320,8 @@ public class AchievementsManager {
         definitions.clear();
 
         ConfigurationSection section = achievementsConfig.getConfigurationSection("achievements");
-        if (section == null) return;
-
-        for (String key : section.getKeys(false)) {
+        Set<String> keys = section == null ? Collections.emptySet() : section.getKeys(false);
+        for (String key : keys) {
             ConfigurationSection entry = section.getConfigurationSection(key);
             if (entry == null) continue;
 
@@ -246,14 +338,55 @@ public class AchievementsManager {
                     () -> plugin.getLogger().warning("Invalid achievement type for " + key + ", defaulting to KILLS")
             );
 
-            int target = entry.getInt("target", 1);
+            int target = Math.max(1, entry.getInt("target", 1));
+
+            AchievementScope scope = safeEnum(
+                    entry.getString("scope", "LIFETIME"),
+                    AchievementScope.LIFETIME,
+                    AchievementScope::valueOf,
+                    () -> plugin.getLogger().warning("Invalid achievement scope for " + key + ", defaulting to LIFETIME")
+            );
 
-            definitions.put(key, new AchievementDefinition(key, displayName, icon, lore, type, target, enabled));
+            long windowMillis = entry.getLong("window-seconds", 0) * 1000L;
+            if (scope == AchievementScope.WINDOW && windowMillis <= 0) {
+                plugin.getLogger().warning("Achievement " + key + " has no window-seconds, counting per match");
+                scope = AchievementScope.MATCH;
+            }
+
+            int[] matchLimits = parseMatchLimits(key, entry.getConfigurationSection("max-per-match"));
+            if (matchLimits != null && scope == AchievementScope.LIFETIME) {
+                plugin.getLogger().warning("Achievement " + key + ": max-per-match needs scope MATCH or WINDOW, ignored");
+                matchLimits = null;
+            }
+
+            definitions.put(key, new AchievementDefinition(key, displayName, icon, lore, type, target, enabled,
+                    scope, windowMillis, matchLimits));
         }
 
+        index = AchievementIndex.of(definitions.values());
+        // Reload: recompute the unlock thresholds of cached players
+        for (PlayerAchievements data : cache.values()) {
+            data.reindex(index);
+        }
         plugin.getDebugLogger().debug("Achievements loaded: " + definitions.size());
     }
 
+    /**
+     * {@code max-per-match} section (event type -> max count) as limits by type ordinal, or null.
+     */
+    private int[] parseMatchLimits(String key, ConfigurationSection section) {
+        if (section == null) return null;
+
+        int[] limits = new int[AchievementType.values().length];
+        Arrays.fill(limits, -1);
+        for (String name : section.getKeys(false)) {
+            AchievementType limited = safeEnum(name, null, AchievementType::valueOf,
+                    () -> plugin.getLogger().warning("Invalid max-per-match type " + name + " for " + key));
+            if (limited != null) limits[limited.ordinal()] = Math.max(0, section.getInt(name));
+        }
+        return limits;
+    }
+
     private void forEachEnabledDefinition(java.util.function.Consumer<AchievementDefinition> action) {
         for (AchievementDefinition def : definitions.values()) {
             if (def != null && def.isEnabled()) {
@@ -266,58 +399,129 @@ public class AchievementsManager {
     /* Database                                                               */
     /* --------------------------------------------------------------------- */
 
-    private Map<String, AchievementProgress> loadFromDatabase(UUID uuid) {
-        Map<String, AchievementProgress> progress = new HashMap<>();
+    private CompletableFuture<Map<String, AchievementProgress>> loadFromDatabase(UUID uuid) {
         String query = "SELECT achievement_id, progress, unlocked_at FROM player_achievements WHERE uuid = ?";
 
-        try (ResultSet rs = database.executeQuery(query, uuid.toString())) {
+        return database.query(query, rs -> {
+            Map<String, AchievementProgress> progress = new HashMap<>();
             while (rs.next()) {
                 String id = rs.getString("achievement_id");
                 int value = rs.getInt("progress");
                 long unlockedAt = rs.getLong("unlocked_at");
                 progress.put(id, new AchievementProgress(value, unlockedAt));
             }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to load achievements: " + e.getMessage());
+            return progress;
+        }, uuid.toString());
+    }
+
+    /**
+     * A load failed: keep (or create) the unmerged placeholder, which is never written, and retry later.
+     */
+    private void keepPlaceholder(UUID uuid) {
+        PlayerAchievements placeholder = new PlayerAchievements(uuid, new HashMap<>(), false, index);
+        PlayerAchievements existing = cache.putIfAbsent(uuid, placeholder);
+        if (existing != null && existing.isLoaded()) return;
+
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                PlayerAchievements current = cache.peek(uuid);
+                if (current != null && !current.isLoaded()) loadPlayer(uuid);
+            }, LOAD_RETRY_TICKS);
         }
-        return progress;
     }
 
-    private void saveToDatabase(UUID uuid, String id, AchievementProgress progress) {
-        try {
-            database.executeUpdate(
-                    "INSERT INTO player_achievements (uuid, achievement_id, progress, unlocked_at, updated_at) " +
-                            "VALUES (?, ?, ?, ?, ?) " +
-                            "ON CONFLICT(uuid, achievement_id) DO UPDATE SET progress = excluded.progress, " +
-                            "unlocked_at = excluded.unlocked_at, updated_at = excluded.updated_at",
-                    uuid.toString(),
-                    id,
-                    progress.getProgress(),
-                    progress.getUnlockedAt(),
-                    System.currentTimeMillis()
-            );
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to save achievement progress: " + e.getMessage());
+    /**
+     * Write the progress changed since the last flush in one batched transaction (main thread).
+     */
+    private void flushChanged() {
+        if (changedPlayers.isEmpty()) return;
+
+        List<MatchResult.AchievementChange> changes = new ArrayList<>();
+        Iterator<UUID> it = changedPlayers.iterator();
+        while (it.hasNext()) {
+            PlayerAchievements data = cache.peek(it.next());
+            if (data == null) {
+                it.remove();
+            } else if (data.isLoaded()) {
+                changes.addAll(data.drainChanges(index));
+                it.remove();
+            }
         }
+        saveChanges(changes);
+    }
+
+    private void saveChanges(List<MatchResult.AchievementChange> changes) {
+        if (changes.isEmpty()) return;
+
+        long start = System.nanoTime();
+        database.transaction(session -> {
+            long now = System.currentTimeMillis();
+            PreparedStatement statement = session.prepare(upsertProgress);
+            for (MatchResult.AchievementChange change : changes) {
+                statement.setString(1, change.getUuid().toString());
+                statement.setString(2, change.getAchievementId());
+                statement.setInt(3, change.getProgress());
+                statement.setLong(4, change.getUnlockedAt());
+                statement.setLong(5, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            plugin.getDebugLogger().debug("Achievements flushed: " + changes.size()
+                    + ", took=" + (System.nanoTime() - start) / 1000 + "us");
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to save achievements: " + error.getMessage());
+            }
+        });
     }
 
     /* --------------------------------------------------------------------- */
     /* Utilities                                                              */
     /* --------------------------------------------------------------------- */
 
+    /**
+     * Drop a player's menu state (they left); their progress stays cached until idle
+     * (with a shared database it is saved and dropped right away).
+     */
+    public void releasePlayer(UUID uuid) {
+        menuSlots.remove(uuid);
+
+        // Shared database: the player may make progress on another server next, save and drop this copy
+        PlayerAchievements data = cache.peek(uuid);
+        if (data != null && data.isLoaded() && database.getBackend().isShared()) {
+            cache.invalidate(uuid);
+        }
+    }
+
+    /**
+     * Write pending progress and drop the caches (before the database disconnects).
+     */
     public void shutdown() {
+        flushTask.cancel();
+        flushChanged();
         menuSlots.clear();
         cache.clear();
     }
 
-    private Map<String, AchievementProgress> getOrCreateProgressMap(UUID uuid) {
-        return cache.computeIfAbsent(uuid, k -> new HashMap<>());
+    /**
+     * Cached progress; if not loaded yet, a placeholder (counting from zero) and the load are started.
+     */
+    private PlayerAchievements getOrCreate(UUID uuid) {
+        PlayerAchievements data = cache.get(uuid);
+        if (data != null) return data;
+
+        PlayerAchievements placeholder = new PlayerAchievements(uuid, new HashMap<>(), false, index);
+        data = cache.putIfAbsent(uuid, placeholder);
+        if (data != null) return data;
+
+        loadPlayer(uuid);
+        return placeholder;
     }
 
-    private int getProgressValue(UUID uuid, String id) {
-        Map<String, AchievementProgress> progressMap = cache.getOrDefault(uuid, Collections.emptyMap());
-        AchievementProgress progress = progressMap.get(id);
-        return progress == null ? 0 : progress.getProgress();
+    private int getProgressValue(UUID uuid, AchievementDefinition def) {
+        PlayerAchievements data = cache.get(uuid);
+        return data == null ? 0 : data.getProgress(def);
     }
 
     private boolean stripTitleEquals(String a, String b) {
@@ -0,0 +1,371 @@
+package ch.framedev.bedwars.achievements;
+
+import ch.framedev.bedwars.stats.MatchResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Achievement state of one player: stored progress plus counters per {@link AchievementType}.
+ * <p>
+ * Notes:
+ * - An event adds to its type's lifetime and match counters; a lifetime achievement's progress is its
+ *   stored progress plus the lifetime counter (capped at the target), a match achievement's progress
+ *   is the match counter, so one event touches a few ints, however many achievements use it
+ * - Per type and scope, the counter value at which the next achievement unlocks is precomputed: the
+ *   common case is one compare, the definitions are only scanned when a threshold is reached
+ * - Windowed achievements keep one ring buffer of event times per type (as large as the largest
+ *   windowed target), so checking "n events within s seconds" is one lookup per definition; only the
+ *   player's still locked windowed definitions are checked, and only once the window holds as many
+ *   events as the smallest of their targets
+ * - Match limits ({@code max-per-match}) are checked against the match counters when the target is reached
+ * - Until the stored progress is loaded, events are counted but nothing unlocks
+ * - Main thread only (the stored progress may be built on the database thread before publishing)
+ */
+final class PlayerAchievements {
+
+    private static final AchievementType[] TYPES = AchievementType.values();
+    private static final AchievementDefinition[] NONE = new AchievementDefinition[0];
+
+    private final UUID uuid;
+    private final Map<String, AchievementProgress> stored;
+    private final int[] counters = new int[TYPES.length];
+    private final int[] nextUnlock = new int[TYPES.length];
+    private final int[] matchCounters = new int[TYPES.length];
+    private final int[] nextMatchUnlock = new int[TYPES.length];
+    private final EventWindow[] windows = new EventWindow[TYPES.length];
+    private final AchievementDefinition[][] lockedWindow = new AchievementDefinition[TYPES.length][];
+    private final int[] nextWindowUnlock = new int[TYPES.length];
+    private final boolean[] changed = new boolean[TYPES.length];
+    private final Set<String> unlockedSinceSave = new HashSet<>();
+    private volatile boolean loaded;
+
+    PlayerAchievements(UUID uuid, Map<String, AchievementProgress> stored, boolean loaded, AchievementIndex index) {
+        this.uuid = uuid;
+        this.stored = stored;
+        this.loaded = loaded;
+        reindex(index);
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Count an event. Returns the achievements it unlocked (usually none).
+     */
+    List<AchievementDefinition> add(AchievementType type, int amount, AchievementIndex index) {
+        int t = type.ordinal();
+        counters[t] += amount;
+        matchCounters[t] += amount;
+        changed[t] = true;
+
+        List<AchievementDefinition> unlocked = Collections.emptyList();
+        if (counters[t] >= nextUnlock[t]) {
+            unlocked = unlockLifetime(type, index.lifetime(type), unlocked);
+        }
+        if (matchCounters[t] >= nextMatchUnlock[t]) {
+            unlocked = unlockMatch(type, index.match(type), unlocked);
+        }
+
+        EventWindow window = windows[t];
+        if (window != null) {
+            long now = System.currentTimeMillis();
+            window.add(now, amount);
+            if (window.size() >= nextWindowUnlock[t]) {
+                unlocked = unlockWindow(type, index.window(type), window, now, unlocked);
+            }
+        }
+        return unlocked;
+    }
+
+    /**
+     * Apply the stored progress loaded after events were already counted; returns what that unlocked.
+     */
+    List<AchievementDefinition> applyStored(Map<String, AchievementProgress> progress, AchievementIndex index) {
+        stored.putAll(progress);
+        loaded = true;
+
+        List<AchievementDefinition> unlocked = Collections.emptyList();
+        for (AchievementType type : TYPES) {
+            if (counters[type.ordinal()] > 0) changed[type.ordinal()] = true;
+            unlocked = unlockLifetime(type, index.lifetime(type), unlocked);
+            unlocked = unlockMatch(type, index.match(type), unlocked);
+            indexWindow(type.ordinal(), index.window(type));
+        }
+        return unlocked;
+    }
+
+    /**
+     * Recompute the unlock thresholds and window sizes (definitions loaded or reloaded).
+     */
+    void reindex(AchievementIndex index) {
+        for (AchievementType type : TYPES) {
+            int t = type.ordinal();
+            nextUnlock[t] = lifetimeThreshold(index.lifetime(type));
+            nextMatchUnlock[t] = matchThreshold(index.match(type), matchCounters[t]);
+
+            int capacity = index.windowCapacity(type);
+            if (capacity == 0) {
+                windows[t] = null;
+            } else if (windows[t] == null || windows[t].capacity() != capacity) {
+                windows[t] = new EventWindow(capacity);
+            }
+            indexWindow(t, index.window(type));
+        }
+    }
+
+    /**
+     * Drop the per-match counters and event windows (a match starts or ended).
+     */
+    void resetMatch(AchievementIndex index) {
+        Arrays.fill(matchCounters, 0);
+        for (AchievementType type : TYPES) {
+            int t = type.ordinal();
+            nextMatchUnlock[t] = matchThreshold(index.match(type), 0);
+            if (windows[t] != null) windows[t].clear();
+        }
+    }
+
+    int getProgress(AchievementDefinition def) {
+        AchievementProgress progress = stored.get(def.getId());
+        if (progress != null && progress.isUnlocked()) return progress.getProgress();
+
+        int t = def.getType().ordinal();
+        switch (def.getScope()) {
+            case MATCH:
+                return Math.min(def.getTarget(), matchCounters[t]);
+            case WINDOW:
+                EventWindow window = windows[t];
+                if (window == null) return 0;
+                return Math.min(def.getTarget(),
+                        window.countSince(System.currentTimeMillis() - def.getWindowMillis()));
+            default:
+                long value = (long) (progress == null ? 0 : progress.getProgress()) + counters[t];
+                return (int) Math.min(def.getTarget(), value);
+        }
+    }
+
+    boolean isUnlocked(AchievementDefinition def) {
+        AchievementProgress progress = stored.get(def.getId());
+        return progress != null && progress.isUnlocked();
+    }
+
+    boolean hasChanges() {
+        if (!loaded) return false;
+        for (boolean typeChanged : changed) {
+            if (typeChanged) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rows for every achievement whose progress changed since the last call (then marked saved).
+     * Match and windowed achievements only have a row once unlocked.
+     */
+    List<MatchResult.AchievementChange> drainChanges(AchievementIndex index) {
+        if (!hasChanges()) return Collections.emptyList();
+
+        List<MatchResult.AchievementChange> changes = new ArrayList<>();
+        for (AchievementType type : TYPES) {
+            if (!changed[type.ordinal()]) continue;
+            changed[type.ordinal()] = false;
+
+            for (AchievementDefinition def : index.lifetime(type)) {
+                if (isUnlocked(def) && !unlockedSinceSave.contains(def.getId())) continue;
+                changes.add(change(def));
+            }
+            for (AchievementDefinition def : index.match(type)) {
+                if (unlockedSinceSave.contains(def.getId())) changes.add(change(def));
+            }
+            for (AchievementDefinition def : index.window(type)) {
+                if (unlockedSinceSave.contains(def.getId())) changes.add(change(def));
+            }
+        }
+        unlockedSinceSave.clear();
+        return changes;
+    }
+
+    private MatchResult.AchievementChange change(AchievementDefinition def) {
+        AchievementProgress progress = stored.get(def.getId());
+        boolean unlocked = progress != null && progress.isUnlocked();
+        return new MatchResult.AchievementChange(uuid, def.getId(), getProgress(def),
+                unlocked ? progress.getUnlockedAt() : 0);
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Unlocking                                                              */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Unlock every locked lifetime definition that reached its target, then recompute the threshold.
+     */
+    private List<AchievementDefinition> unlockLifetime(AchievementType type, AchievementDefinition[] defs,
+                                                       List<AchievementDefinition> unlocked) {
+        if (!loaded) return unlocked;
+
+        for (AchievementDefinition def : defs) {
+            if (isUnlocked(def) || getProgress(def) < def.getTarget()) continue;
+            unlocked = unlock(def, unlocked);
+        }
+        nextUnlock[type.ordinal()] = lifetimeThreshold(defs);
+        return unlocked;
+    }
+
+    /**
+     * Unlock the match definitions reached by the match counter (within their limits).
+     * Limits only grow stricter during a match, so a definition that failed them stays locked until the next.
+     */
+    private List<AchievementDefinition> unlockMatch(AchievementType type, AchievementDefinition[] defs,
+                                                    List<AchievementDefinition> unlocked) {
+        if (!loaded) return unlocked;
+
+        int count = matchCounters[type.ordinal()];
+        for (AchievementDefinition def : defs) {
+            if (def.getTarget() > count) break;
+            if (isUnlocked(def) || !def.meetsMatchLimits(matchCounters)) continue;
+            unlocked = unlock(def, unlocked);
+        }
+        nextMatchUnlock[type.ordinal()] = matchThreshold(defs, count);
+        return unlocked;
+    }
+
+    /**
+     * Unlock the locked windowed definitions whose target-th most recent event is inside their window.
+     */
+    private List<AchievementDefinition> unlockWindow(AchievementType type, AchievementDefinition[] defs,
+                                                     EventWindow window, long now,
+                                                     List<AchievementDefinition> unlocked) {
+        int before = unlocked.size();
+        for (AchievementDefinition def : lockedWindow[type.ordinal()]) {
+            if (def.getTarget() > window.size()) break;
+            if (now - window.recent(def.getTarget()) <= def.getWindowMillis()
+                    && def.meetsMatchLimits(matchCounters)) {
+                unlocked = unlock(def, unlocked);
+            }
+        }
+        if (unlocked.size() > before) {
+            indexWindow(type.ordinal(), defs);
+        }
+        return unlocked;
+    }
+
+    private List<AchievementDefinition> unlock(AchievementDefinition def, List<AchievementDefinition> unlocked) {
+        stored.put(def.getId(), new AchievementProgress(def.getTarget(), System.currentTimeMillis()));
+        unlockedSinceSave.add(def.getId());
+        changed[def.getType().ordinal()] = true;
+
+        if (unlocked.isEmpty()) unlocked = new ArrayList<>();
+        unlocked.add(def);
+        return unlocked;
+    }
+
+    /**
+     * Keep the still locked windowed definitions of a type (sorted by target) and the window size at which
+     * the first of them can unlock; nothing is checked until the stored progress is loaded.
+     */
+    private void indexWindow(int t, AchievementDefinition[] defs) {
+        if (!loaded) {
+            lockedWindow[t] = NONE;
+            nextWindowUnlock[t] = Integer.MAX_VALUE;
+            return;
+        }
+
+        int lockedCount = 0;
+        for (AchievementDefinition def : defs) {
+            if (!isUnlocked(def)) lockedCount++;
+        }
+        AchievementDefinition[] locked = defs;
+        if (lockedCount < defs.length) {
+            locked = new AchievementDefinition[lockedCount];
+            int i = 0;
+            for (AchievementDefinition def : defs) {
+                if (!isUnlocked(def)) locked[i++] = def;
+            }
+        }
+        lockedWindow[t] = locked;
+        nextWindowUnlock[t] = locked.length == 0 ? Integer.MAX_VALUE : locked[0].getTarget();
+    }
+
+    /**
+     * Lifetime counter value at which the next locked lifetime definition unlocks.
+     */
+    private int lifetimeThreshold(AchievementDefinition[] defs) {
+        if (!loaded) return Integer.MAX_VALUE;
+
+        int min = Integer.MAX_VALUE;
+        for (AchievementDefinition def : defs) {
+            if (isUnlocked(def)) continue;
+            AchievementProgress progress = stored.get(def.getId());
+            int remaining = def.getTarget() - (progress == null ? 0 : progress.getProgress());
+            min = Math.min(min, Math.max(0, remaining));
+        }
+        return min;
+    }
+
+    /**
+     * Match counter value at which the next locked match definition (sorted by target) is reached.
+     */
+    private int matchThreshold(AchievementDefinition[] defs, int count) {
+        if (!loaded) return Integer.MAX_VALUE;
+
+        for (AchievementDefinition def : defs) {
+            if (def.getTarget() > count && !isUnlocked(def)) return def.getTarget();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Times of the most recent events of one type (ring buffer).
+     */
+    private static final class EventWindow {
+
+        private final long[] times;
+        private int next;
+        private int size;
+
+        private EventWindow(int capacity) {
+            this.times = new long[capacity];
+        }
+
+        private void add(long time, int amount) {
+            for (int i = 0; i < Math.min(amount, times.length); i++) {
+                times[next] = time;
+                next = (next + 1) % times.length;
+                if (size < times.length) size++;
+            }
+        }
+
+        /**
+         * Time of the n-th most recent event (1 = latest); n must not exceed {@link #size()}.
+         */
+        private long recent(int n) {
+            return times[(next - n + times.length) % times.length];
+        }
+
+        private int countSince(long time) {
+            int count = 0;
+            while (count < size && recent(count + 1) >= time) count++;
+            return count;
+        }
+
+        private int capacity() {
+            return times.length;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void clear() {
+            next = 0;
+            size = 0;
+        }
+    }
+}
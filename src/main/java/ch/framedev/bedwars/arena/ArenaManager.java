@@ -102,6 +102,8 @@ public class ArenaManager {
             int maxPlayers = section.getInt("max-players", 8);
 
             Arena arena = new Arena(name, lobbySpawn, spectatorSpawn, minPlayers, maxPlayers);
+            arena.setResetStrategy(section.getString("reset-strategy", "journal"));
+            arena.setTemplateFolder(section.getString("template-folder"));
 
             loadTeams(section, arena);
             loadGenerators(section, arena);
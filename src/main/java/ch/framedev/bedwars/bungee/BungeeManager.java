@@ -10,6 +10,7 @@ import org.bukkit.plugin.messaging.PluginMessageListener;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.UUID;
 
 /**
  * Handles BungeeCord messaging for cross-server communication
@@ -269,6 +270,7 @@ public class BungeeManager implements PluginMessageListener {
             case "party-invite": {
                 String targetUuid = in.readUTF();
                 String inviterName = in.readUTF();
+                syncInvite(targetUuid);
                 for (Player online : plugin.getServer().getOnlinePlayers()) {
                     if (online.getUniqueId().toString().equalsIgnoreCase(targetUuid)) {
                         plugin.getMessageManager().sendMessage(online, "party.invite-received", inviterName);
@@ -278,12 +280,40 @@ public class BungeeManager implements PluginMessageListener {
                 break;
             }
 
+            case "party-invite-removed":
+                syncInvite(in.readUTF());
+                break;
+
+            case "party-sync": {
+                UUID partyId = parseUuid(in.readUTF());
+                if (partyId != null && plugin.getPartyManager() != null) {
+                    plugin.getPartyManager().syncParty(partyId);
+                }
+                break;
+            }
+
             default:
                 plugin.getDebugLogger().debug("Unknown BedWars action: " + action);
                 break;
         }
     }
 
+    private void syncInvite(String targetUuid) {
+        UUID target = parseUuid(targetUuid);
+        if (target != null && plugin.getPartyManager() != null) {
+            plugin.getPartyManager().syncInvite(target);
+        }
+    }
+
+    private UUID parseUuid(String raw) {
+        try {
+            return UUID.fromString(raw);
+        } catch (IllegalArgumentException e) {
+            plugin.getDebugLogger().debug("Invalid UUID in BedWars message: " + raw);
+            return null;
+        }
+    }
+
     /**
      * Unregister BungeeCord channels
      */
@@ -60,7 +60,7 @@ public class BedWarsTabCompleter implements TabCompleter {
 
                 case "leaderboard":
                 case "top":
-                    return Arrays.asList("wins", "kills", "beds").stream()
+                    return Arrays.asList("wins", "kills", "finalkills", "beds").stream()
                             .filter(c -> c.toLowerCase().startsWith(args[1].toLowerCase()))
                             .collect(Collectors.toList());
 
@@ -7,6 +7,7 @@ import ch.framedev.bedwars.game.Arena;
 import ch.framedev.bedwars.game.Game;
 import ch.framedev.bedwars.game.GameState;
 import ch.framedev.bedwars.shop.ShopType;
+import ch.framedev.bedwars.stats.LeaderboardService;
 import ch.framedev.bedwars.stats.PlayerStats;
 import ch.framedev.bedwars.team.TeamColor;
 import ch.framedev.bedwars.utils.MessageManager;
@@ -21,13 +22,14 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Improved BedWars command handler with arena setup and spectator support
  */
 public class ImprovedBedWarsCommand implements CommandExecutor {
 
+    private static final int LEADERBOARD_PAGE_SIZE = 10;
+
     private final BedWarsPlugin plugin;
     private final ArenaManager arenaManager;
 
@@ -358,14 +360,17 @@ public class ImprovedBedWarsCommand implements CommandExecutor {
             return;
         }
 
-        Game game = plugin.getGameManager().getGame(arenaName);
+        var partyManager = plugin.getPartyManager();
+        var party = partyManager.getParty(player.getUniqueId());
+
+        // Pooled arenas: pick the instance with room for the whole party
+        int slots = party != null ? party.getMemberUuids().size() : 1;
+        Game game = plugin.getGameManager().getJoinableGame(arenaName, slots);
         if (game == null) {
             plugin.getMessageManager().sendMessage(player, "command.arena-not-found", arenaName);
             return;
         }
 
-        var partyManager = plugin.getPartyManager();
-        var party = partyManager.getParty(player.getUniqueId());
         if (party != null && !partyManager.isLeader(player.getUniqueId())) {
             plugin.getMessageManager().sendMessage(player, "party.only-leader");
             return;
@@ -477,8 +482,9 @@ public class ImprovedBedWarsCommand implements CommandExecutor {
 
     private void handleStats(Player player) {
         plugin.getDebugLogger().debug("Stats requested: player=" + player.getName());
-        PlayerStats stats = plugin.getStatsManager().getPlayerStats(player.getUniqueId());
-        displayStats(player, player.getName(), stats);
+        // Cached for online players; otherwise wait for the load instead of showing a placeholder
+        plugin.getStatsManager().loadPlayerStats(player.getUniqueId()).thenAccept(stats ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> displayStats(player, player.getName(), stats)));
     }
 
     private void handleStatsOther(Player player, String targetName) {
@@ -494,10 +500,10 @@ public class ImprovedBedWarsCommand implements CommandExecutor {
                 return;
             }
 
-            PlayerStats stats = plugin.getStatsManager().getPlayerStats(target.getUniqueId());
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                displayStats(player, target.getName(), stats);
-            });
+            plugin.getStatsManager().loadPlayerStats(target.getUniqueId()).thenAccept(stats ->
+                    plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        displayStats(player, target.getName(), stats);
+                    }));
         });
     }
 
@@ -547,6 +553,8 @@ public class ImprovedBedWarsCommand implements CommandExecutor {
                 return ChatColor.GREEN;
             case ENDING:
                 return ChatColor.RED;
+            case RESETTING:
+                return ChatColor.GOLD;
             default:
                 return ChatColor.WHITE;
         }
@@ -558,34 +566,48 @@ public class ImprovedBedWarsCommand implements CommandExecutor {
             category = args[1].toLowerCase();
         }
 
+        int page = 1;
+        if (args.length > 2) {
+            try {
+                page = Math.max(1, Integer.parseInt(args[2]));
+            } catch (NumberFormatException e) {
+                plugin.getMessageManager().sendMessage(player, "command.leaderboard-usage");
+                return;
+            }
+        }
+
         plugin.getDebugLogger().debug("Leaderboard requested: player=" + player.getName()
-                + " category=" + category);
+                + " category=" + category + " page=" + page);
 
-        plugin.getMessageManager().sendMessage(player, "command.loading-leaderboard");
+        LeaderboardService leaderboards = plugin.getStatsManager().getLeaderboards();
+        if (!leaderboards.isLoaded()) {
+            plugin.getMessageManager().sendMessage(player, "command.loading-leaderboard");
+            return;
+        }
 
         switch (category) {
             case "wins":
             case "win":
-                plugin.getStatsManager().getTopWins(10).thenAccept(leaders -> {
-                    displayLeaderboard(player, plugin.getMessageManager().getMessage("leaderboard.top-wins"),
-                            leaders, "wins", ChatColor.GREEN);
-                });
+                displayLeaderboard(player, plugin.getMessageManager().getMessage("leaderboard.top-wins"),
+                        LeaderboardService.Type.WINS, page, "wins", ChatColor.GREEN);
                 break;
 
             case "kills":
             case "kill":
-                plugin.getStatsManager().getTopKills(10).thenAccept(leaders -> {
-                    displayLeaderboard(player, plugin.getMessageManager().getMessage("leaderboard.top-kills"),
-                            leaders, "kills", ChatColor.RED);
-                });
+                displayLeaderboard(player, plugin.getMessageManager().getMessage("leaderboard.top-kills"),
+                        LeaderboardService.Type.KILLS, page, "kills", ChatColor.RED);
+                break;
+
+            case "finalkills":
+            case "final":
+                displayLeaderboard(player, plugin.getMessageManager().getMessage("leaderboard.top-final-kills"),
+                        LeaderboardService.Type.FINAL_KILLS, page, "final kills", ChatColor.DARK_RED);
                 break;
 
             case "beds":
             case "bed":
-                plugin.getStatsManager().getTopBedsBroken(10).thenAccept(leaders -> {
-                    displayLeaderboard(player, plugin.getMessageManager().getMessage("leaderboard.top-beds"),
-                            leaders, "beds", ChatColor.AQUA);
-                });
+                displayLeaderboard(player, plugin.getMessageManager().getMessage("leaderboard.top-beds"),
+                        LeaderboardService.Type.BEDS_BROKEN, page, "beds", ChatColor.AQUA);
                 break;
 
             default:
@@ -594,20 +616,29 @@ public class ImprovedBedWarsCommand implements CommandExecutor {
         }
     }
 
-    private void displayLeaderboard(Player player, String title, Map<String, Integer> leaders, String stat,
-            ChatColor color) {
+    private void displayLeaderboard(Player player, String title, LeaderboardService.Type type, int page,
+            String stat, ChatColor color) {
+        LeaderboardService leaderboards = plugin.getStatsManager().getLeaderboards();
+        int pages = Math.max(1, (leaderboards.size() + LEADERBOARD_PAGE_SIZE - 1) / LEADERBOARD_PAGE_SIZE);
+        page = Math.min(page, pages);
+
         player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.header"));
         player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.title", title));
         player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.separator"));
 
-        int rank = 1;
-        for (Map.Entry<String, Integer> entry : leaders.entrySet()) {
-            String medal = getMedal(rank);
+        for (LeaderboardService.Entry entry : leaderboards.getPage(type,
+                (page - 1) * LEADERBOARD_PAGE_SIZE + 1, LEADERBOARD_PAGE_SIZE)) {
             player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.entry",
-                    medal, rank, entry.getKey(), color, entry.getValue(), stat));
-            rank++;
+                    getMedal(entry.getRank()), entry.getRank(), entry.getName(), color, entry.getScore(), stat));
         }
 
+        player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.separator"));
+        int rank = leaderboards.getRank(type, player.getUniqueId());
+        if (rank > 0) {
+            player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.your-rank",
+                    rank, leaderboards.getScore(type, player.getUniqueId()), stat));
+        }
+        player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.page", page, pages));
         player.sendMessage(plugin.getMessageManager().getMessage("leaderboard.footer"));
     }
 
@@ -14,17 +14,19 @@ public class CosmeticDefinition {
     private final List<String> lore;
     private final CosmeticType type;
     private final String effectKey;
+    private final CosmeticEffect effect;
     private final String permission;
     private final boolean enabled;
 
     public CosmeticDefinition(String id, String displayName, Material icon, List<String> lore,
-            CosmeticType type, String effectKey, String permission, boolean enabled) {
+            CosmeticType type, String effectKey, CosmeticEffect effect, String permission, boolean enabled) {
         this.id = id;
         this.displayName = displayName;
         this.icon = icon;
         this.lore = lore;
         this.type = type;
         this.effectKey = effectKey;
+        this.effect = effect;
         this.permission = permission;
         this.enabled = enabled;
     }
@@ -53,6 +55,10 @@ public class CosmeticDefinition {
         return effectKey;
     }
 
+    public CosmeticEffect getEffect() {
+        return effect;
+    }
+
     public String getPermission() {
         return permission;
     }
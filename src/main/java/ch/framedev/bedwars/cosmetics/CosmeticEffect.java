@@ -0,0 +1,27 @@
+package ch.framedev.bedwars.cosmetics;
+
+import java.util.Locale;
+
+/**
+ * Effects a cosmetic can play (the {@code effect} key in cosmetics.yml), parsed once when loaded.
+ */
+public enum CosmeticEffect {
+    NONE,
+    FIREWORK,
+    LIGHTNING,
+    HEART,
+    SMOKE,
+    EXPLOSION;
+
+    /**
+     * Effect for a config key, or null if the key is unknown.
+     */
+    public static CosmeticEffect parse(String key) {
+        if (key == null) return NONE;
+        try {
+            return valueOf(key.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
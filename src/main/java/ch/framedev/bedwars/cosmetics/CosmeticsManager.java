@@ -2,7 +2,9 @@ package ch.framedev.bedwars.cosmetics;
 
 import ch.framedev.BedWarsPlugin;
 import ch.framedev.bedwars.database.DatabaseManager;
+import ch.framedev.bedwars.player.PlayerDataCache;
 import ch.framedev.bedwars.utils.ItemBuilder;
+import ch.framedev.bedwars.utils.SingleFlight;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Color;
@@ -19,44 +21,73 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages cosmetics selection and effects.
+ * <p>
+ * Notes:
+ * - Selections are prefetched at login; concurrent loads of one player share one query
+ * - Effect lookups only read the cache (the selected effects are resolved in advance); a player
+ *   who isn't loaded yet plays no effect and the load is started
+ * - Menu selections are written behind: changed players are saved in one go every
+ *   {@code database.write-behind.cosmetics-flush-interval-seconds}, when evicted and on shutdown
+ * - Players without a stored selection use the defaults without writing a row for them
+ * - Until the stored selection is loaded a player has a placeholder (defaults); menu clicks change
+ *   only the clicked slot of it and are merged into the stored selection, nothing is written before.
+ *   A failed load keeps the placeholder and is retried
  */
 public class CosmeticsManager {
 
     private static final String DEFAULT_KILL = "none";
     private static final String DEFAULT_BED = "none";
 
+    /** Delay before a failed selection load is retried (ticks). */
+    private static final long LOAD_RETRY_TICKS = 200L;
+
     private final BedWarsPlugin plugin;
     private final DatabaseManager database;
-    private final Map<String, CosmeticDefinition> killEffects;
-    private final Map<String, CosmeticDefinition> bedEffects;
-    private final Map<UUID, PlayerCosmetics> cache;
-    private final Map<UUID, Map<Integer, CosmeticDefinition>> menuSlots;
+    private final String upsertCosmetics;
+    /* Replaced as a whole on reload: loads resolve effects off the main thread */
+    private volatile Map<String, CosmeticDefinition> killEffects = new HashMap<>();
+    private volatile Map<String, CosmeticDefinition> bedEffects = new HashMap<>();
+    private final PlayerDataCache<PlayerCosmetics> cache;
+    private final PlayerDataCache<Map<Integer, CosmeticDefinition>> menuSlots;
+    private final SingleFlight<UUID, PlayerCosmetics> loads = new SingleFlight<>();
+    private final Set<UUID> pendingSaves = ConcurrentHashMap.newKeySet();
+    private final BukkitTask flushTask;
     private FileConfiguration cosmeticsConfig;
 
     public CosmeticsManager(BedWarsPlugin plugin, DatabaseManager database) {
         this.plugin = plugin;
         this.database = database;
-        this.killEffects = new HashMap<>();
-        this.bedEffects = new HashMap<>();
-        this.cache = new ConcurrentHashMap<>();
-        this.menuSlots = new ConcurrentHashMap<>();
+        this.upsertCosmetics = database.upsert("player_cosmetics", List.of("uuid"),
+                List.of("uuid", "kill_effect", "bed_effect", "updated_at"),
+                List.of("kill_effect", "bed_effect", "updated_at"));
+        this.cache = plugin.getPlayerDataService().<PlayerCosmetics>getCache("cosmetics")
+                .retainIf((uuid, cosmetics) -> !cosmetics.isLoaded())
+                .onEvict((uuid, cosmetics, cause) -> {
+                    if (pendingSaves.remove(uuid) && cosmetics.isLoaded()) saveToDatabase(cosmetics);
+                });
+        this.menuSlots = plugin.getPlayerDataService().getCache("cosmetics-menu");
         loadConfig();
+
+        long interval = Math.max(1,
+                plugin.getConfig().getInt("database.write-behind.cosmetics-flush-interval-seconds", 5)) * 20L;
+        this.flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flushPending, interval, interval);
     }
 
     public void loadConfig() {
@@ -82,11 +113,15 @@ public class CosmeticsManager {
         return cosmeticsConfig.getBoolean("enabled", true);
     }
 
-    public void loadPlayerCosmetics(UUID uuid) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            PlayerCosmetics cosmetics = loadFromDatabase(uuid);
-            cache.put(uuid, cosmetics);
-        });
+    /**
+     * Load a player's selection into the cache (async); completes with the cached selection.
+     */
+    public CompletableFuture<PlayerCosmetics> loadPlayerCosmetics(UUID uuid) {
+        PlayerCosmetics cached = cache.peek(uuid);
+        if (cached != null && cached.isLoaded()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return loads.load(uuid, this::querySelection);
     }
 
     public void openCosmeticsMenu(Player player) {
@@ -123,15 +158,18 @@ public class CosmeticsManager {
             return;
         }
 
+        // A placeholder only records the clicked slot; it is saved once merged with the stored selection
         PlayerCosmetics cosmetics = getPlayerCosmetics(player.getUniqueId());
         if (definition.getType() == CosmeticType.KILL) {
             cosmetics.setKillEffectId(definition.getId());
         } else {
             cosmetics.setBedEffectId(definition.getId());
         }
+        resolveEffects(cosmetics);
 
-        cache.put(player.getUniqueId(), cosmetics);
-        saveToDatabase(cosmetics);
+        if (cosmetics.isLoaded()) {
+            pendingSaves.add(player.getUniqueId());
+        }
         String name = ChatColor.translateAlternateColorCodes('&', definition.getDisplayName());
         plugin.getMessageManager().sendMessage(player, "cosmetics.selected", name);
 
@@ -144,11 +182,7 @@ public class CosmeticsManager {
             return;
         }
         PlayerCosmetics cosmetics = getPlayerCosmetics(killer.getUniqueId());
-        CosmeticDefinition definition = killEffects.get(cosmetics.getKillEffectId());
-        if (definition == null) {
-            return;
-        }
-        applyEffect(definition.getEffectKey(), location, killer);
+        applyEffect(cosmetics.getKillEffect(), location);
     }
 
     public void applyBedDestroyEffect(Player breaker, Location location) {
@@ -156,27 +190,42 @@ public class CosmeticsManager {
             return;
         }
         PlayerCosmetics cosmetics = getPlayerCosmetics(breaker.getUniqueId());
-        CosmeticDefinition definition = bedEffects.get(cosmetics.getBedEffectId());
-        if (definition == null) {
-            return;
-        }
-        applyEffect(definition.getEffectKey(), location, breaker);
+        applyEffect(cosmetics.getBedEffect(), location);
     }
 
+    /**
+     * Drop a player's menu state (they left); their selection stays cached until idle.
+     */
+    public void releasePlayer(UUID uuid) {
+        menuSlots.remove(uuid);
+    }
+
+    /**
+     * Write pending selections and drop the caches (call before the database disconnects).
+     */
     public void shutdown() {
+        flushTask.cancel();
+        flushPending();
         menuSlots.clear();
         cache.clear();
     }
 
     private void loadDefinitions() {
-        killEffects.clear();
-        bedEffects.clear();
+        Map<String, CosmeticDefinition> kill = new HashMap<>();
+        Map<String, CosmeticDefinition> bed = new HashMap<>();
 
-        loadSection("kill-effects", CosmeticType.KILL, killEffects);
-        loadSection("bed-effects", CosmeticType.BED_DESTROY, bedEffects);
+        loadSection("kill-effects", CosmeticType.KILL, kill);
+        loadSection("bed-effects", CosmeticType.BED_DESTROY, bed);
+        killEffects = kill;
+        bedEffects = bed;
+
+        // Reloaded definitions may point the cached selections at other effects
+        for (PlayerCosmetics cosmetics : cache.values()) {
+            resolveEffects(cosmetics);
+        }
 
-        plugin.getDebugLogger().debug("Cosmetics loaded: kill=" + killEffects.size()
-                + " bed=" + bedEffects.size());
+        plugin.getDebugLogger().debug("Cosmetics loaded: kill=" + kill.size()
+                + " bed=" + bed.size());
     }
 
     private void loadSection(String path, CosmeticType type, Map<String, CosmeticDefinition> target) {
@@ -200,6 +249,12 @@ public class CosmeticsManager {
             }
             List<String> lore = entry.getStringList("lore");
             String effectKey = entry.getString("effect", "NONE");
+            CosmeticEffect effect = CosmeticEffect.parse(effectKey);
+            if (effect == null) {
+                plugin.getLogger().warning("Unknown cosmetic effect '" + effectKey + "' for " + key
+                        + ", using NONE");
+                effect = CosmeticEffect.NONE;
+            }
             String permission = entry.getString("permission", "");
 
             CosmeticDefinition definition = new CosmeticDefinition(
@@ -209,6 +264,7 @@ public class CosmeticsManager {
                     lore,
                     type,
                     effectKey,
+                    effect,
                     permission,
                     enabled);
 
@@ -289,57 +345,125 @@ public class CosmeticsManager {
                 .build();
     }
 
+    /**
+     * Cached selection, or (not loaded yet) the cached placeholder while the load runs. Never touches
+     * the database.
+     */
     private PlayerCosmetics getPlayerCosmetics(UUID uuid) {
         PlayerCosmetics cosmetics = cache.get(uuid);
         if (cosmetics != null) {
             return cosmetics;
         }
-        cosmetics = loadFromDatabase(uuid);
-        cache.put(uuid, cosmetics);
-        return cosmetics;
+        PlayerCosmetics placeholder = placeholder(uuid);
+        PlayerCosmetics existing = cache.putIfAbsent(uuid, placeholder);
+        loadPlayerCosmetics(uuid);
+        return existing != null ? existing : placeholder;
     }
 
-    private PlayerCosmetics loadFromDatabase(UUID uuid) {
-        String query = "SELECT kill_effect, bed_effect FROM player_cosmetics WHERE uuid = ?";
-        try (ResultSet rs = database.executeQuery(query, uuid.toString())) {
-            if (rs.next()) {
-                String kill = rs.getString("kill_effect");
-                String bed = rs.getString("bed_effect");
-                return new PlayerCosmetics(uuid,
-                        kill == null ? DEFAULT_KILL : kill,
-                        bed == null ? DEFAULT_BED : bed);
+    private PlayerCosmetics placeholder(UUID uuid) {
+        PlayerCosmetics placeholder = new PlayerCosmetics(uuid, DEFAULT_KILL, DEFAULT_BED, false);
+        resolveEffects(placeholder);
+        return placeholder;
+    }
+
+    private void resolveEffects(PlayerCosmetics cosmetics) {
+        CosmeticDefinition kill = killEffects.get(cosmetics.getKillEffectId());
+        CosmeticDefinition bed = bedEffects.get(cosmetics.getBedEffectId());
+        cosmetics.setEffects(kill != null ? kill.getEffect() : CosmeticEffect.NONE,
+                bed != null ? bed.getEffect() : CosmeticEffect.NONE);
+    }
+
+    /**
+     * Save the selections changed since the last flush (main thread).
+     */
+    private void flushPending() {
+        if (pendingSaves.isEmpty()) return;
+
+        int saved = 0;
+        for (UUID uuid : pendingSaves) {
+            pendingSaves.remove(uuid);
+            PlayerCosmetics cosmetics = cache.peek(uuid);
+            if (cosmetics != null && cosmetics.isLoaded()) {
+                saveToDatabase(cosmetics);
+                saved++;
             }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to load cosmetics: " + e.getMessage());
         }
+        plugin.getDebugLogger().debug("Cosmetics flushed: " + saved);
+    }
 
-        PlayerCosmetics cosmetics = new PlayerCosmetics(uuid, DEFAULT_KILL, DEFAULT_BED);
-        saveToDatabase(cosmetics);
-        return cosmetics;
+    /**
+     * Query one player's selection (database thread) and cache it, or merge it into a placeholder.
+     */
+    private CompletableFuture<PlayerCosmetics> querySelection(UUID uuid) {
+        return loadFromDatabase(uuid).handle((stored, error) -> {
+            if (error != null) {
+                // Not a new player: defaults must never overwrite the stored selection
+                plugin.getLogger().severe("Failed to load cosmetics for " + uuid + ": " + error.getMessage());
+                return keepPlaceholder(uuid);
+            }
+            PlayerCosmetics cosmetics = stored != null ? stored : new PlayerCosmetics(uuid, DEFAULT_KILL, DEFAULT_BED);
+            resolveEffects(cosmetics);
+            PlayerCosmetics existing = cache.putIfAbsent(uuid, cosmetics);
+            if (existing == null) return cosmetics;
+
+            if (!existing.isLoaded() && plugin.isEnabled()) {
+                // Placeholders are only touched on the main thread
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (existing.isLoaded()) return;
+                    if (existing.applyStored(cosmetics)) pendingSaves.add(uuid);
+                    resolveEffects(existing);
+                });
+            }
+            return existing;
+        });
     }
 
-    private void saveToDatabase(PlayerCosmetics cosmetics) {
-        try {
-            database.executeUpdate("INSERT INTO player_cosmetics (uuid, kill_effect, bed_effect, updated_at) "
-                    + "VALUES (?, ?, ?, ?) "
-                    + "ON CONFLICT(uuid) DO UPDATE SET kill_effect = excluded.kill_effect, "
-                    + "bed_effect = excluded.bed_effect, updated_at = excluded.updated_at",
-                    cosmetics.getUuid().toString(),
-                    cosmetics.getKillEffectId(),
-                    cosmetics.getBedEffectId(),
-                    System.currentTimeMillis());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to save cosmetics: " + e.getMessage());
+    /**
+     * A load failed: keep (or create) the placeholder, which is never written, and retry later.
+     */
+    private PlayerCosmetics keepPlaceholder(UUID uuid) {
+        PlayerCosmetics placeholder = placeholder(uuid);
+        PlayerCosmetics existing = cache.putIfAbsent(uuid, placeholder);
+        PlayerCosmetics cached = existing != null ? existing : placeholder;
+
+        if (!cached.isLoaded() && plugin.isEnabled()) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                PlayerCosmetics current = cache.peek(uuid);
+                if (current != null && !current.isLoaded()) {
+                    loads.load(uuid, this::querySelection);
+                }
+            }, LOAD_RETRY_TICKS);
         }
+        return cached;
     }
 
-    private void applyEffect(String effectKey, Location location, Player player) {
-        if (effectKey == null) {
-            return;
-        }
+    /**
+     * Stored selection, or null if the player has none yet.
+     */
+    private CompletableFuture<PlayerCosmetics> loadFromDatabase(UUID uuid) {
+        String query = "SELECT kill_effect, bed_effect FROM player_cosmetics WHERE uuid = ?";
+        return database.query(query, rs -> {
+            if (!rs.next()) return null;
+
+            String kill = rs.getString("kill_effect");
+            String bed = rs.getString("bed_effect");
+            return new PlayerCosmetics(uuid,
+                    kill == null ? DEFAULT_KILL : kill,
+                    bed == null ? DEFAULT_BED : bed);
+        }, uuid.toString());
+    }
 
-        String key = effectKey.trim().toUpperCase();
-        if ("NONE".equals(key)) {
+    private void saveToDatabase(PlayerCosmetics cosmetics) {
+        // Failures are logged by the database executor
+        database.update(upsertCosmetics,
+                cosmetics.getUuid().toString(),
+                cosmetics.getKillEffectId(),
+                cosmetics.getBedEffectId(),
+                System.currentTimeMillis());
+    }
+
+    private void applyEffect(CosmeticEffect effect, Location location) {
+        if (effect == CosmeticEffect.NONE) {
             return;
         }
 
@@ -348,13 +472,14 @@ public class CosmeticsManager {
             return;
         }
 
-        switch (key) {
-            case "FIREWORK" -> spawnFirework(world, location);
-            case "LIGHTNING" -> world.strikeLightningEffect(location);
-            case "HEART" -> world.spawnParticle(Particle.HEART, location, 12, 0.5, 0.5, 0.5, 0.0);
-            case "SMOKE" -> world.spawnParticle(Particle.SMOKE_NORMAL, location, 20, 0.6, 0.6, 0.6, 0.0);
-            case "EXPLOSION" -> world.spawnParticle(Particle.EXPLOSION_LARGE, location, 1, 0, 0, 0, 0.0);
-            default -> plugin.getDebugLogger().debug("Unknown cosmetic effect: " + effectKey);
+        switch (effect) {
+            case FIREWORK -> spawnFirework(world, location);
+            case LIGHTNING -> world.strikeLightningEffect(location);
+            case HEART -> world.spawnParticle(Particle.HEART, location, 12, 0.5, 0.5, 0.5, 0.0);
+            case SMOKE -> world.spawnParticle(Particle.SMOKE_NORMAL, location, 20, 0.6, 0.6, 0.6, 0.0);
+            case EXPLOSION -> world.spawnParticle(Particle.EXPLOSION_LARGE, location, 1, 0, 0, 0, 0.0);
+            default -> {
+            }
         }
     }
 
@@ -4,17 +4,34 @@ import java.util.UUID;
 
 /**
  * Stores player cosmetic selections.
+ * <p>
+ * Notes:
+ * - The selected effects are resolved when the selection or the definitions change, so playing
+ *   an effect is a field read
+ * - A selection that is not loaded yet is a placeholder: it plays the defaults, remembers which slots
+ *   were chosen in the menu meanwhile and is never written until the stored selection is merged in
  */
 public class PlayerCosmetics {
 
     private final UUID uuid;
     private String killEffectId;
     private String bedEffectId;
+    private volatile CosmeticEffect killEffect = CosmeticEffect.NONE;
+    private volatile CosmeticEffect bedEffect = CosmeticEffect.NONE;
+    private volatile boolean loaded;
+    /* Slots chosen while not loaded; they win over the stored selection */
+    private boolean killChosen;
+    private boolean bedChosen;
 
     public PlayerCosmetics(UUID uuid, String killEffectId, String bedEffectId) {
+        this(uuid, killEffectId, bedEffectId, true);
+    }
+
+    PlayerCosmetics(UUID uuid, String killEffectId, String bedEffectId, boolean loaded) {
         this.uuid = uuid;
         this.killEffectId = killEffectId;
         this.bedEffectId = bedEffectId;
+        this.loaded = loaded;
     }
 
     public UUID getUuid() {
@@ -27,6 +44,7 @@ public class PlayerCosmetics {
 
     public void setKillEffectId(String killEffectId) {
         this.killEffectId = killEffectId;
+        if (!loaded) killChosen = true;
     }
 
     public String getBedEffectId() {
@@ -35,5 +53,39 @@ public class PlayerCosmetics {
 
     public void setBedEffectId(String bedEffectId) {
         this.bedEffectId = bedEffectId;
+        if (!loaded) bedChosen = true;
+    }
+
+    public CosmeticEffect getKillEffect() {
+        return killEffect;
+    }
+
+    public CosmeticEffect getBedEffect() {
+        return bedEffect;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Merge the stored selection into this placeholder: slots chosen meanwhile are kept, the others
+     * are taken from {@code stored}. Main thread only.
+     *
+     * @return true if a slot was chosen meanwhile (the merged selection needs saving)
+     */
+    boolean applyStored(PlayerCosmetics stored) {
+        if (!killChosen) killEffectId = stored.killEffectId;
+        if (!bedChosen) bedEffectId = stored.bedEffectId;
+        boolean chosen = killChosen || bedChosen;
+        killChosen = false;
+        bedChosen = false;
+        loaded = true;
+        return chosen;
+    }
+
+    void setEffects(CosmeticEffect killEffect, CosmeticEffect bedEffect) {
+        this.killEffect = killEffect;
+        this.bedEffect = bedEffect;
     }
 }
@@ -0,0 +1,492 @@
+package ch.framedev.bedwars.database;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.Bukkit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single database thread that owns the connection; all SQL of the plugin runs here.
+ * <p>
+ * Notes:
+ * - Requests (write, query, unit of work) go through one FIFO queue, so they run in submission order
+ * - The queue is bounded for async threads: when full they wait (back-pressure). The main thread and the
+ *   database thread never wait, their requests are queued past the bound instead (counted as overflow),
+ *   so a slow or unreachable database can't stall a server tick
+ * - Consecutive queued writes are run as one transaction (up to max-batch); if the batch fails it is
+ *   rolled back and the writes are retried one by one, so one bad write only fails itself
+ * - Prepared statements are cached per SQL string (LRU); cached statements must not be closed by callers
+ * - Metrics: queue depth (current/max), blocked and overflow submissions, failures and latency percentiles
+ *   (queue wait + execution), in the debug log once a minute and via {@link #describeMetrics()}
+ */
+public class DatabaseExecutor {
+
+    /**
+     * Reads a query result on the database thread (the result set is closed afterwards).
+     */
+    @FunctionalInterface
+    public interface ResultReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Unit of work run on the database thread.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(Session session) throws SQLException;
+    }
+
+    /**
+     * Access to the connection for a {@link Work}.
+     */
+    public interface Session {
+
+        /**
+         * Cached prepared statement for the SQL (parameters and batch cleared). Don't close it.
+         */
+        PreparedStatement prepare(String sql) throws SQLException;
+
+        Connection connection();
+    }
+
+    /**
+     * Opens the connection owned by the database thread.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int LATENCY_SAMPLES = 2048;
+    private static final long VALIDATE_AFTER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final BedWarsPlugin plugin;
+    private final ConnectionFactory connectionFactory;
+    private final BlockingQueue<Request<?>> queue = new LinkedBlockingQueue<>();
+    /** Free queue slots for submitters that may wait. */
+    private final Semaphore capacity;
+    private final int maxBatch;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    /** Set by the database thread before it fails what is left in the queue and exits. */
+    private volatile boolean stopped;
+
+    /* Database thread only */
+    private Connection connection;
+    private long lastUsed;
+    private final StatementCache statements;
+    private final Session session = new Session() {
+        @Override
+        public PreparedStatement prepare(String sql) throws SQLException {
+            return statement(sql);
+        }
+
+        @Override
+        public Connection connection() {
+            return connection;
+        }
+    };
+
+    /* Metrics */
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong blockedSubmits = new AtomicLong();
+    private final AtomicLong overflowSubmits = new AtomicLong();
+    private final AtomicLong batchedWrites = new AtomicLong();
+    private volatile int maxDepth;
+    private final long[] latencyMicros = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+    private long lastReport = System.nanoTime();
+
+    public DatabaseExecutor(BedWarsPlugin plugin, ConnectionFactory connectionFactory,
+                            int queueCapacity, int maxBatch, int statementCacheSize) {
+        this.plugin = plugin;
+        this.connectionFactory = connectionFactory;
+        this.capacity = new Semaphore(Math.max(16, queueCapacity));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.statements = new StatementCache(statementCacheSize);
+
+        this.thread = new Thread(this::loop, "BedWars-Database");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queue a write (INSERT/UPDATE/DELETE). Failures are logged and complete the future exceptionally.
+     *
+     * @return affected rows
+     */
+    public CompletableFuture<Integer> update(String sql, Object... params) {
+        return submit(new Request<>(Kind.WRITE, sql, params, null, null));
+    }
+
+    /**
+     * Queue a query; {@code reader} maps the result on the database thread.
+     */
+    public <T> CompletableFuture<T> query(String sql, ResultReader<T> reader, Object... params) {
+        return submit(new Request<>(Kind.QUERY, sql, params, reader, null));
+    }
+
+    /**
+     * Queue a unit of work run in one transaction (rolled back if it throws).
+     */
+    public <T> CompletableFuture<T> transaction(Work<T> work) {
+        return submit(new Request<>(Kind.TRANSACTION, null, null, null, work));
+    }
+
+    /**
+     * Queue a unit of work run in auto-commit mode (e.g. schema setup).
+     */
+    public <T> CompletableFuture<T> execute(Work<T> work) {
+        return submit(new Request<>(Kind.WORK, null, null, null, work));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public boolean isRunning() {
+        return running && !stopped && thread.isAlive();
+    }
+
+    /**
+     * Finish queued requests (waits up to {@code timeoutMillis}), then close statements and the connection.
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            plugin.getLogger().warning("Database thread did not finish in time, " + queue.size()
+                    + " requests dropped");
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * One-line metrics summary.
+     */
+    public String describeMetrics() {
+        long[] percentiles = latencyPercentiles(50, 95, 99);
+        return "queue=" + queue.size() + "/max " + maxDepth
+                + ", completed=" + completed.get()
+                + ", failed=" + failed.get()
+                + ", batched-writes=" + batchedWrites.get()
+                + ", blocked-submits=" + blockedSubmits.get()
+                + ", overflow-submits=" + overflowSubmits.get()
+                + ", statements=" + statements.size()
+                + ", latency p50=" + percentiles[0] + "us p95=" + percentiles[1] + "us p99=" + percentiles[2] + "us";
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Submission                                                             */
+    /* --------------------------------------------------------------------- */
+
+    private <T> CompletableFuture<T> submit(Request<T> request) {
+        if (!isRunning()) {
+            request.future.completeExceptionally(new RejectedExecutionException("Database executor is shut down"));
+            return request.future;
+        }
+
+        if (capacity.tryAcquire()) {
+            request.holdsSlot = true;
+        } else if (Thread.currentThread() == thread || Bukkit.isPrimaryThread()) {
+            // Waiting would deadlock the database thread or freeze the server tick
+            overflowSubmits.incrementAndGet();
+        } else {
+            blockedSubmits.incrementAndGet();
+            try {
+                capacity.acquire();
+                request.holdsSlot = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                request.future.completeExceptionally(e);
+                return request.future;
+            }
+        }
+        queue.add(request);
+
+        // The thread may have exited meanwhile (crash, or shutdown finished) and already failed the
+        // queue: nothing would ever take this request. A shutdown still draining takes it normally.
+        if ((stopped || !thread.isAlive()) && queue.remove(request)) {
+            taken(request);
+            request.future.completeExceptionally(new RejectedExecutionException("Database executor stopped"));
+            return request.future;
+        }
+
+        int depth = queue.size();
+        if (depth > maxDepth) maxDepth = depth;
+        return request.future;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Database thread                                                        */
+    /* --------------------------------------------------------------------- */
+
+    private void loop() {
+        List<Request<?>> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                Request<?> request;
+                try {
+                    request = taken(queue.poll(100, TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                if (request != null) {
+                    if (request.kind == Kind.WRITE) {
+                        batch.add(request);
+                        while (batch.size() < maxBatch) {
+                            Request<?> next = queue.peek();
+                            if (next == null || next.kind != Kind.WRITE) break;
+                            batch.add(taken(queue.poll()));
+                        }
+                        runWrites(batch);
+                        batch.clear();
+                    } else {
+                        run(request);
+                    }
+                }
+
+                report();
+            }
+        } finally {
+            stopped = true;
+            failPending();
+            close();
+        }
+    }
+
+    private void runWrites(List<Request<?>> batch) {
+        if (batch.size() == 1) {
+            run(batch.get(0));
+            return;
+        }
+
+        List<Integer> rows = new ArrayList<>(batch.size());
+        try {
+            Connection connection = connection();
+            connection.setAutoCommit(false);
+            try {
+                for (Request<?> write : batch) {
+                    rows.add(executeUpdate(write));
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException | RuntimeException e) {
+            plugin.getDebugLogger().debug("Database write batch of " + batch.size()
+                    + " failed, retrying one by one: " + e.getMessage());
+            for (Request<?> write : batch) {
+                run(write);
+            }
+            return;
+        }
+
+        batchedWrites.addAndGet(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), rows.get(i));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run(Request<?> request) {
+        try {
+            Object result;
+            switch (request.kind) {
+                case WRITE -> result = executeUpdate(request);
+                case QUERY -> {
+                    PreparedStatement statement = statement(request.sql);
+                    StatementCache.bind(statement, request.params);
+                    plugin.getDebugLogger().verbose("DB query: " + request.sql + " | params=" + request.params.length);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        result = ((ResultReader<Object>) request.reader).read(rs);
+                    }
+                }
+                case TRANSACTION -> {
+                    Connection connection = connection();
+                    connection.setAutoCommit(false);
+                    try {
+                        result = request.work.run(session);
+                        connection.commit();
+                    } catch (SQLException | RuntimeException e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                }
+                default -> {
+                    connection();
+                    result = request.work.run(session);
+                }
+            }
+            complete(request, result);
+        } catch (SQLException | RuntimeException e) {
+            failed.incrementAndGet();
+            if (request.kind == Kind.WRITE) {
+                plugin.getLogger().severe("Database update failed: " + e.getMessage() + " [" + request.sql + "]");
+            }
+            recordLatency(request);
+            request.future.completeExceptionally(e);
+        }
+    }
+
+    private int executeUpdate(Request<?> request) throws SQLException {
+        PreparedStatement statement = statement(request.sql);
+        StatementCache.bind(statement, request.params);
+        plugin.getDebugLogger().verbose("DB update: " + request.sql + " | params=" + request.params.length);
+        return statement.executeUpdate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(Request<?> request, Object result) {
+        completed.incrementAndGet();
+        recordLatency(request);
+        ((CompletableFuture<Object>) request.future).complete(result);
+    }
+
+    private Connection connection() throws SQLException {
+        long now = System.nanoTime();
+        if (connection != null && now - lastUsed > VALIDATE_AFTER_IDLE_NANOS && !connection.isValid(2)) {
+            // e.g. a database server closed the idle connection
+            plugin.getLogger().warning("Database connection lost, reconnecting");
+            statements.clear();
+            closeConnection();
+        }
+        lastUsed = now;
+
+        if (connection == null || connection.isClosed()) {
+            statements.clear();
+            connection = connectionFactory.open();
+        }
+        return connection;
+    }
+
+    private PreparedStatement statement(String sql) throws SQLException {
+        return statements.get(connection(), sql);
+    }
+
+    /**
+     * Free the queue slot of a request taken off the queue.
+     */
+    private Request<?> taken(Request<?> request) {
+        if (request != null && request.holdsSlot) capacity.release();
+        return request;
+    }
+
+    private void failPending() {
+        Request<?> request;
+        while ((request = taken(queue.poll())) != null) {
+            request.future.completeExceptionally(new RejectedExecutionException("Database executor stopped"));
+        }
+    }
+
+    private void close() {
+        statements.clear();
+        closeConnection();
+    }
+
+    private void closeConnection() {
+        if (connection == null) return;
+        try {
+            connection.close();
+            plugin.getDebugLogger().debug("Database connection closed");
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to close database connection: " + e.getMessage());
+        }
+        connection = null;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Metrics                                                                */
+    /* --------------------------------------------------------------------- */
+
+    private void recordLatency(Request<?> request) {
+        long micros = (System.nanoTime() - request.enqueuedNanos) / 1000;
+        synchronized (latencyMicros) {
+            latencyMicros[latencyCount % LATENCY_SAMPLES] = micros;
+            latencyCount++;
+        }
+    }
+
+    /**
+     * Percentiles over the last {@value #LATENCY_SAMPLES} requests, in microseconds.
+     */
+    private long[] latencyPercentiles(int... percentiles) {
+        long[] samples;
+        synchronized (latencyMicros) {
+            samples = Arrays.copyOf(latencyMicros, Math.min(latencyCount, LATENCY_SAMPLES));
+        }
+        long[] result = new long[percentiles.length];
+        if (samples.length == 0) return result;
+
+        Arrays.sort(samples);
+        for (int i = 0; i < percentiles.length; i++) {
+            int index = (int) Math.ceil(percentiles[i] / 100.0 * samples.length) - 1;
+            result[i] = samples[Math.max(0, Math.min(samples.length - 1, index))];
+        }
+        return result;
+    }
+
+    private void report() {
+        long now = System.nanoTime();
+        if (now - lastReport < REPORT_INTERVAL_NANOS) return;
+        lastReport = now;
+
+        if (plugin.getDebugLogger().isEnabled()) {
+            plugin.getDebugLogger().debug("Database: " + describeMetrics());
+        }
+    }
+
+    private enum Kind {
+        WRITE,
+        QUERY,
+        TRANSACTION,
+        WORK
+    }
+
+    private static final class Request<T> {
+        private final Kind kind;
+        private final String sql;
+        private final Object[] params;
+        private final ResultReader<?> reader;
+        private final Work<T> work;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private boolean holdsSlot;
+
+        private Request(Kind kind, String sql, Object[] params, ResultReader<?> reader, Work<T> work) {
+            this.kind = kind;
+            this.sql = sql;
+            this.params = params == null ? new Object[0] : params;
+            this.reader = reader;
+            this.work = work;
+        }
+    }
+}
@@ -2,199 +2,149 @@ package ch.framedev.bedwars.database;
 
 import ch.framedev.BedWarsPlugin;
 
-import java.io.File;
-import java.sql.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Manages SQLite database connections and operations
+ * Manages the database; all statements run on the {@link DatabaseExecutor} thread,
+ * the {@link StorageBackend} decides where the data is stored
  */
 public class DatabaseManager {
 
     private final BedWarsPlugin plugin;
-    private Connection connection;
-    private final String dbPath;
+    private final StorageBackend backend;
+    private DatabaseExecutor executor;
+    private ReadConnectionPool readPool;
 
     public DatabaseManager(BedWarsPlugin plugin) {
         this.plugin = plugin;
-        this.dbPath = plugin.getDataFolder().getAbsolutePath() + File.separator + "bedwars.db";
-        plugin.getLogger().info("DatabaseManager initialized with db path: " + dbPath);
-        plugin.getDebugLogger().debug("Database path set: " + dbPath);
+        this.backend = createBackend(plugin);
+        plugin.getLogger().info("DatabaseManager initialized with " + backend.getName() + " storage");
+        plugin.getDebugLogger().debug("Database: " + backend.describe());
+    }
+
+    private static StorageBackend createBackend(BedWarsPlugin plugin) {
+        String type = plugin.getConfig().getString("database.type", "sqlite").toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "mysql":
+                return new MySqlBackend(plugin, false);
+            case "mariadb":
+                return new MySqlBackend(plugin, true);
+            case "sqlite":
+                return new SqliteBackend(plugin);
+            default:
+                plugin.getLogger().warning("Unknown database.type '" + type + "', using sqlite");
+                return new SqliteBackend(plugin);
+        }
     }
 
     /**
-     * Connect to the SQLite database
+     * Connect to the database (the connection is opened and owned by the database thread)
      */
     public void connect() {
+        int statementCacheSize = plugin.getConfig().getInt("database.executor.statement-cache-size", 64);
+        executor = new DatabaseExecutor(plugin, () -> backend.openConnection(false),
+                plugin.getConfig().getInt("database.executor.queue-capacity", 1000),
+                plugin.getConfig().getInt("database.executor.max-batch", 100),
+                statementCacheSize);
+
         try {
-            Class.forName("org.sqlite.JDBC");
-            connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
-            plugin.getLogger().info("Successfully connected to SQLite database!");
-            plugin.getDebugLogger().debug("SQLite connection established");
-            createTables();
-        } catch (ClassNotFoundException | SQLException e) {
-            plugin.getLogger().severe("Failed to connect to database: " + e.getMessage());
+            executor.execute(session -> {
+                backend.createSchema(session.connection());
+                return null;
+            }).join();
+            plugin.getLogger().info("Successfully connected to " + backend.getName() + " database!");
+            plugin.getDebugLogger().debug("Database schema ensured");
+        } catch (CompletionException e) {
+            plugin.getLogger().severe("Failed to connect to database: " + e.getCause().getMessage());
             e.printStackTrace();
+            return;
+        }
+
+        int readPoolSize = backend.getReadPoolSize();
+        if (readPoolSize > 0) {
+            readPool = new ReadConnectionPool(plugin, () -> backend.openConnection(true), readPoolSize,
+                    statementCacheSize);
         }
+        plugin.getDebugLogger().debug("Database ready: " + backend.describe() + ", read-pool=" + readPoolSize);
     }
 
     /**
-     * Create necessary database tables if they don't exist
+     * Insert-or-update SQL in the backend's dialect (one parameter per column, in column order)
      */
-    private void createTables() {
-        String createStatsTable = """
-                CREATE TABLE IF NOT EXISTS player_stats (
-                    uuid TEXT PRIMARY KEY,
-                    player_name TEXT,
-                    wins INTEGER DEFAULT 0,
-                    losses INTEGER DEFAULT 0,
-                    kills INTEGER DEFAULT 0,
-                    deaths INTEGER DEFAULT 0,
-                    final_kills INTEGER DEFAULT 0,
-                    beds_broken INTEGER DEFAULT 0,
-                    games_played INTEGER DEFAULT 0,
-                    last_played INTEGER,
-                    created_at INTEGER
-                )
-                """;
-
-        String createIndexes = """
-                CREATE INDEX IF NOT EXISTS idx_wins ON player_stats(wins DESC);
-                CREATE INDEX IF NOT EXISTS idx_kills ON player_stats(kills DESC);
-                CREATE INDEX IF NOT EXISTS idx_beds_broken ON player_stats(beds_broken DESC);
-                """;
-
-        String createPartiesTable = """
-            CREATE TABLE IF NOT EXISTS parties (
-                id TEXT PRIMARY KEY,
-                leader_uuid TEXT NOT NULL,
-                created_at INTEGER
-            )
-            """;
-
-        String createPartyMembersTable = """
-            CREATE TABLE IF NOT EXISTS party_members (
-                party_id TEXT NOT NULL,
-                member_uuid TEXT NOT NULL,
-                role TEXT NOT NULL,
-                joined_at INTEGER,
-                PRIMARY KEY (party_id, member_uuid)
-            )
-            """;
-
-        String createPartyIndexes = """
-            CREATE INDEX IF NOT EXISTS idx_party_member_uuid ON party_members(member_uuid);
-            """;
-
-        String createPartyInvitesTable = """
-            CREATE TABLE IF NOT EXISTS party_invites (
-                target_uuid TEXT PRIMARY KEY,
-                party_id TEXT NOT NULL,
-                inviter_uuid TEXT NOT NULL,
-                inviter_name TEXT NOT NULL,
-                expires_at INTEGER NOT NULL
-            )
-            """;
-
-        String createCosmeticsTable = """
-            CREATE TABLE IF NOT EXISTS player_cosmetics (
-                uuid TEXT PRIMARY KEY,
-                kill_effect TEXT,
-                bed_effect TEXT,
-                updated_at INTEGER
-            )
-            """;
-
-        String createAchievementsTable = """
-                CREATE TABLE IF NOT EXISTS player_achievements (
-                    uuid TEXT NOT NULL,
-                    achievement_id TEXT NOT NULL,
-                    progress INTEGER DEFAULT 0,
-                    unlocked_at INTEGER DEFAULT 0,
-                    updated_at INTEGER,
-                    PRIMARY KEY (uuid, achievement_id)
-                )
-                """;
-
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createStatsTable);
-            stmt.execute(createIndexes);
-            stmt.execute(createPartiesTable);
-            stmt.execute(createPartyMembersTable);
-            stmt.execute(createPartyIndexes);
-            stmt.execute(createPartyInvitesTable);
-            stmt.execute(createCosmeticsTable);
-            stmt.execute(createAchievementsTable);
-            plugin.getLogger().info("Database tables created successfully!");
-            plugin.getDebugLogger().debug("Database schema ensured");
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to create database tables: " + e.getMessage());
-            e.printStackTrace();
-        }
+    public String upsert(String table, List<String> keys, List<String> columns, List<String> updateColumns) {
+        return backend.upsert(table, keys, columns, updateColumns);
+    }
+
+    public StorageBackend getBackend() {
+        return backend;
     }
 
     /**
-     * Disconnect from the database
+     * Disconnect from the database (queued requests are finished first)
      */
     public void disconnect() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                plugin.getLogger().info("Database connection closed.");
-                plugin.getDebugLogger().debug("SQLite connection closed");
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to close database connection: " + e.getMessage());
-            e.printStackTrace();
+        if (readPool != null) {
+            readPool.shutdown(5_000);
+            readPool = null;
         }
+        if (executor == null) return;
+        plugin.getDebugLogger().debug("Database shutdown: " + executor.describeMetrics());
+        executor.shutdown(10_000);
+        executor = null;
+        plugin.getLogger().info("Database connection closed.");
     }
 
     /**
-     * Get the database connection
+     * Check if the database is available
      */
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connect();
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to check connection status: " + e.getMessage());
-        }
-        return connection;
+    public boolean isConnected() {
+        return executor != null && executor.isRunning();
     }
 
     /**
-     * Check if the database connection is valid
+     * Queue an update (INSERT, UPDATE, DELETE); consecutive updates are committed together
      */
-    public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
-        }
+    public CompletableFuture<Integer> update(String sql, Object... params) {
+        return executor().update(sql, params);
     }
 
     /**
-     * Execute a query and return the result set
+     * Queue a query; the reader maps the result set on the database thread
      */
-    public ResultSet executeQuery(String query, Object... params) throws SQLException {
-        PreparedStatement stmt = connection.prepareStatement(query);
-        for (int i = 0; i < params.length; i++) {
-            stmt.setObject(i + 1, params[i]);
-        }
-        plugin.getDebugLogger().verbose("DB query: " + query + " | params=" + params.length);
-        return stmt.executeQuery();
+    public <T> CompletableFuture<T> query(String sql, DatabaseExecutor.ResultReader<T> reader, Object... params) {
+        return executor().query(sql, reader, params);
     }
 
     /**
-     * Execute an update query (INSERT, UPDATE, DELETE)
+     * Run a read-only query on the read pool (falls back to the database thread without one).
+     * Doesn't wait for queued writes: use {@link #query} when the result must include them.
      */
-    public int executeUpdate(String query, Object... params) throws SQLException {
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            for (int i = 0; i < params.length; i++) {
-                stmt.setObject(i + 1, params[i]);
-            }
-            plugin.getDebugLogger().verbose("DB update: " + query + " | params=" + params.length);
-            return stmt.executeUpdate();
+    public <T> CompletableFuture<T> read(String sql, DatabaseExecutor.ResultReader<T> reader, Object... params) {
+        ReadConnectionPool pool = readPool;
+        return pool != null ? pool.query(sql, reader, params) : executor().query(sql, reader, params);
+    }
+
+    /**
+     * Queue a unit of work that runs in one transaction
+     */
+    public <T> CompletableFuture<T> transaction(DatabaseExecutor.Work<T> work) {
+        return executor().transaction(work);
+    }
+
+    /**
+     * Executor metrics (queue depth, latency percentiles), e.g. for diagnostics
+     */
+    public String describeMetrics() {
+        return executor == null ? "not connected" : executor.describeMetrics();
+    }
+
+    private DatabaseExecutor executor() {
+        if (executor == null) {
+            throw new IllegalStateException("Database is not connected");
         }
+        return executor;
     }
 }
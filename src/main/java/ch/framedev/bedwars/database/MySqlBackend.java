@@ -0,0 +1,141 @@
+package ch.framedev.bedwars.database;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL or MariaDB server ({@code database.mysql} in config.yml), e.g. one stats store shared by a network.
+ * <p>
+ * Notes:
+ * - Pooled as one writer connection (database thread) plus {@code pool-size} read connections;
+ *   idle connections are validated before use, so server-side timeouts don't surface as errors
+ * - MySQL uses the driver bundled with the server; MariaDB uses the MariaDB driver if present
+ * - Indexes are created only if information_schema doesn't list them (no CREATE INDEX IF NOT EXISTS)
+ */
+public class MySqlBackend implements StorageBackend {
+
+    private final BedWarsPlugin plugin;
+    private final boolean mariaDb;
+    private final String host;
+    private final int port;
+    private final String database;
+    private final String username;
+    private final String password;
+    private final boolean useSsl;
+    private final int poolSize;
+
+    public MySqlBackend(BedWarsPlugin plugin, boolean mariaDb) {
+        this.plugin = plugin;
+        this.mariaDb = mariaDb;
+
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("database.mysql");
+        if (section == null) {
+            section = plugin.getConfig().createSection("database.mysql");
+        }
+        this.host = section.getString("host", "localhost");
+        this.port = section.getInt("port", 3306);
+        this.database = section.getString("database", "bedwars");
+        this.username = section.getString("username", "root");
+        this.password = section.getString("password", "");
+        this.useSsl = section.getBoolean("use-ssl", false);
+        this.poolSize = Math.max(0, section.getInt("pool-size", 4));
+    }
+
+    @Override
+    public String getName() {
+        return mariaDb ? "mariadb" : "mysql";
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public Connection openConnection(boolean readOnly) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+
+        // use-ssl means the same on both drivers: encryption required, server certificate not verified
+        String url;
+        if (mariaDb && loadDriver("org.mariadb.jdbc.Driver")) {
+            url = "jdbc:mariadb://" + host + ":" + port + "/" + database
+                    + "?sslMode=" + (useSsl ? "trust" : "disable");
+        } else if (loadDriver("com.mysql.cj.jdbc.Driver") || loadDriver("com.mysql.jdbc.Driver")) {
+            url = "jdbc:mysql://" + host + ":" + port + "/" + database
+                    + "?useSSL=" + useSsl + (useSsl ? "&requireSSL=true&verifyServerCertificate=false" : "")
+                    + "&characterEncoding=utf8";
+        } else {
+            throw new SQLException("No MySQL/MariaDB JDBC driver found");
+        }
+        // Let the driver send a whole executeBatch() as multi-row statements
+        url += "&rewriteBatchedStatements=true&tcpKeepAlive=true";
+
+        Connection connection = DriverManager.getConnection(url, properties);
+        connection.setReadOnly(readOnly);
+        return connection;
+    }
+
+    @Override
+    public int getReadPoolSize() {
+        return poolSize;
+    }
+
+    @Override
+    public void createSchema(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String table : StorageSchema.TABLES) {
+                stmt.execute(table);
+            }
+        }
+
+        String exists = "SELECT 1 FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+        try (PreparedStatement query = connection.prepareStatement(exists);
+             Statement stmt = connection.createStatement()) {
+            for (StorageSchema.Index index : StorageSchema.INDEXES) {
+                query.setString(1, index.table);
+                query.setString(2, index.name);
+                try (ResultSet rs = query.executeQuery()) {
+                    if (rs.next()) continue;
+                }
+                stmt.execute(index.create(false));
+            }
+        }
+    }
+
+    @Override
+    public String upsert(String table, List<String> keys, List<String> columns, List<String> updateColumns) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") "
+                + "ON DUPLICATE KEY UPDATE "
+                + updateColumns.stream().map(column -> column + " = VALUES(" + column + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public String describe() {
+        return getName() + "://" + host + ":" + port + "/" + database + " (read pool " + poolSize + ")";
+    }
+
+    private boolean loadDriver(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            plugin.getDebugLogger().debug("JDBC driver not available: " + className);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ch.framedev.bedwars.database;
+
+import ch.framedev.BedWarsPlugin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small pool of read-only connections for queries that don't need to see queued writes.
+ * <p>
+ * Notes:
+ * - Each reader thread owns one connection and its statement cache; with WAL, readers run in
+ *   parallel to each other and to the database thread (writes stay serialized there)
+ * - Reads bypass the write queue: use it for leaderboards and counts, not for data that must
+ *   reflect a write submitted just before (those go through {@link DatabaseExecutor#query})
+ */
+public class ReadConnectionPool {
+
+    private static final long VALIDATE_AFTER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final BedWarsPlugin plugin;
+    private final DatabaseExecutor.ConnectionFactory connectionFactory;
+    private final int statementCacheSize;
+    private final ExecutorService executor;
+    private final ThreadLocal<Reader> readers = new ThreadLocal<>();
+    private final Queue<Reader> allReaders = new ConcurrentLinkedQueue<>();
+
+    public ReadConnectionPool(BedWarsPlugin plugin, DatabaseExecutor.ConnectionFactory connectionFactory,
+                              int size, int statementCacheSize) {
+        this.plugin = plugin;
+        this.connectionFactory = connectionFactory;
+        this.statementCacheSize = statementCacheSize;
+
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, size);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "BedWars-Database-Read-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run a query on a reader thread; {@code reader} maps the result (the result set is closed afterwards).
+     */
+    public <T> CompletableFuture<T> query(String sql, DatabaseExecutor.ResultReader<T> reader, Object... params) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    PreparedStatement statement = reader().statement(sql);
+                    StatementCache.bind(statement, params);
+                    plugin.getDebugLogger().verbose("DB read: " + sql + " | params=" + params.length);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        future.complete(reader.read(rs));
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Finish running reads (waits up to {@code timeoutMillis}) and close the reader connections.
+     */
+    public void shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Reader reader;
+        while ((reader = allReaders.poll()) != null) {
+            reader.close();
+        }
+    }
+
+    private Reader reader() {
+        Reader reader = readers.get();
+        if (reader == null) {
+            reader = new Reader();
+            readers.set(reader);
+            allReaders.add(reader);
+        }
+        return reader;
+    }
+
+    /**
+     * Connection and statements of one reader thread.
+     */
+    private final class Reader {
+
+        private final StatementCache statements = new StatementCache(statementCacheSize);
+        private Connection connection;
+        private long lastUsed;
+
+        private PreparedStatement statement(String sql) throws SQLException {
+            long now = System.nanoTime();
+            if (connection != null && now - lastUsed > VALIDATE_AFTER_IDLE_NANOS && !connection.isValid(2)) {
+                close();
+            }
+            lastUsed = now;
+
+            if (connection == null || connection.isClosed()) {
+                statements.clear();
+                connection = connectionFactory.open();
+            }
+            return statements.get(connection, sql);
+        }
+
+        private void close() {
+            statements.clear();
+            if (connection == null) return;
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                plugin.getLogger().warning("Failed to close read connection: " + e.getMessage());
+            }
+            connection = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ch.framedev.bedwars.database;
+
+import ch.framedev.BedWarsPlugin;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SQLite file in the plugin folder (bedwars.db), tuned by {@link SqlitePragmas}.
+ * <p>
+ * Notes:
+ * - The read pool is only used when the file actually runs in WAL mode; otherwise readers and the
+ *   writer lock each other out and the pool would only add contention
+ */
+public class SqliteBackend implements StorageBackend {
+
+    private final BedWarsPlugin plugin;
+    private final String dbPath;
+    private final SqlitePragmas pragmas;
+    private volatile boolean wal;
+
+    public SqliteBackend(BedWarsPlugin plugin) {
+        this.plugin = plugin;
+        this.dbPath = plugin.getDataFolder().getAbsolutePath() + File.separator + "bedwars.db";
+        this.pragmas = SqlitePragmas.fromConfig(plugin);
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    public Connection openConnection(boolean readOnly) throws SQLException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite driver not found", e);
+        }
+
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        String journalMode = pragmas.apply(connection, !readOnly);
+        if (!readOnly) {
+            wal = "WAL".equalsIgnoreCase(journalMode);
+            if (!pragmas.getJournalMode().equalsIgnoreCase(journalMode)) {
+                plugin.getLogger().warning("SQLite journal mode " + pragmas.getJournalMode()
+                        + " not available, running with " + journalMode);
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    public int getReadPoolSize() {
+        return wal ? Math.max(0, plugin.getConfig().getInt("database.sqlite.read-pool-size", 2)) : 0;
+    }
+
+    @Override
+    public void createSchema(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String table : StorageSchema.TABLES) {
+                stmt.execute(table);
+            }
+            for (StorageSchema.Index index : StorageSchema.INDEXES) {
+                stmt.execute(index.create(true));
+            }
+        }
+    }
+
+    @Override
+    public String upsert(String table, List<String> keys, List<String> columns, List<String> updateColumns) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") "
+                + "ON CONFLICT(" + String.join(", ", keys) + ") DO UPDATE SET "
+                + updateColumns.stream().map(column -> column + " = excluded." + column)
+                .collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public String describe() {
+        return dbPath + " (" + pragmas.describe() + ")";
+    }
+}
@@ -0,0 +1,101 @@
+package ch.framedev.bedwars.database;
+
+import ch.framedev.BedWarsPlugin;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SQLite tuning profile ({@code database.sqlite} in config.yml), applied to every connection.
+ * <p>
+ * Notes:
+ * - journal_mode is stored in the database file, so it is set on the writer connection only
+ * - Pragma values can't be bound as parameters: names are checked against the allowed values and
+ *   numbers are parsed, invalid entries fall back to the default with a warning
+ * - Read connections additionally get {@code query_only}, so a misrouted write fails instead of
+ *   competing with the database thread for the write lock
+ */
+final class SqlitePragmas {
+
+    private static final List<String> JOURNAL_MODES = List.of("WAL", "DELETE", "TRUNCATE", "PERSIST", "MEMORY");
+    private static final List<String> SYNCHRONOUS = List.of("OFF", "NORMAL", "FULL", "EXTRA");
+    private static final List<String> TEMP_STORES = List.of("DEFAULT", "FILE", "MEMORY");
+
+    private final String journalMode;
+    private final String synchronous;
+    private final int cacheSizeKb;
+    private final long mmapSizeMb;
+    private final String tempStore;
+    private final int busyTimeoutMillis;
+
+    private SqlitePragmas(String journalMode, String synchronous, int cacheSizeKb, long mmapSizeMb,
+                          String tempStore, int busyTimeoutMillis) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSizeKb = cacheSizeKb;
+        this.mmapSizeMb = mmapSizeMb;
+        this.tempStore = tempStore;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    static SqlitePragmas fromConfig(BedWarsPlugin plugin) {
+        String path = "database.sqlite.";
+        return new SqlitePragmas(
+                choice(plugin, path + "journal-mode", JOURNAL_MODES, "WAL"),
+                choice(plugin, path + "synchronous", SYNCHRONOUS, "NORMAL"),
+                Math.max(0, plugin.getConfig().getInt(path + "cache-size-kb", 16384)),
+                Math.max(0L, plugin.getConfig().getLong(path + "mmap-size-mb", 64L)),
+                choice(plugin, path + "temp-store", TEMP_STORES, "MEMORY"),
+                Math.max(0, plugin.getConfig().getInt(path + "busy-timeout-ms", 5000)));
+    }
+
+    String getJournalMode() {
+        return journalMode;
+    }
+
+    /**
+     * Apply the profile to a freshly opened connection.
+     *
+     * @param writer true for the database thread's connection, false for read-only connections
+     * @return the journal mode in effect (writer), or null (readers)
+     */
+    String apply(Connection connection, boolean writer) throws SQLException {
+        String actual = null;
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            if (writer) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA journal_mode = " + journalMode)) {
+                    actual = rs.next() ? rs.getString(1).toUpperCase(Locale.ROOT) : "?";
+                }
+            }
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            // Negative cache_size is in KiB instead of pages
+            stmt.execute("PRAGMA cache_size = -" + cacheSizeKb);
+            stmt.execute("PRAGMA mmap_size = " + mmapSizeMb * 1024L * 1024L);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+            if (!writer) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        }
+        return actual;
+    }
+
+    String describe() {
+        return "journal_mode=" + journalMode + ", synchronous=" + synchronous + ", cache=" + cacheSizeKb
+                + "KiB, mmap=" + mmapSizeMb + "MiB, temp_store=" + tempStore;
+    }
+
+    private static String choice(BedWarsPlugin plugin, String path, List<String> allowed, String fallback) {
+        String value = plugin.getConfig().getString(path, fallback).trim().toUpperCase(Locale.ROOT);
+        if (allowed.contains(value)) {
+            return value;
+        }
+        plugin.getLogger().warning("Invalid " + path + " '" + value + "', using " + fallback
+                + " (allowed: " + String.join(", ", allowed) + ")");
+        return fallback;
+    }
+}
@@ -0,0 +1,69 @@
+package ch.framedev.bedwars.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of prepared statements of one connection, keyed by SQL string.
+ * <p>
+ * Notes:
+ * - Not thread-safe: owned by the thread that owns the connection
+ * - Returned statements have parameters and batch cleared; callers must not close them
+ * - Evicted statements are closed; {@link #clear()} closes all (e.g. before the connection is replaced)
+ */
+final class StatementCache {
+
+    private final int capacity;
+    private final Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    PreparedStatement get(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            statement.clearParameters();
+            statement.clearBatch();
+            return statement;
+        }
+
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        if (statements.size() > capacity) {
+            // Access order: the first entry is the least recently used
+            Map.Entry<String, PreparedStatement> eldest = statements.entrySet().iterator().next();
+            statements.remove(eldest.getKey());
+            closeQuietly(eldest.getValue());
+        }
+        return statement;
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    void clear() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    static void bind(PreparedStatement statement, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Closing a cached statement can't be acted upon
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ch.framedev.bedwars.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Database backend behind {@link DatabaseManager}: how connections are opened, the schema and the
+ * SQL that differs between databases.
+ * <p>
+ * Selected via {@code database.type} in config.yml:
+ * - sqlite: local bedwars.db file (default)
+ * - mysql / mariadb: shared server, e.g. one stats store for a network of game servers
+ * <p>
+ * Notes:
+ * - Stats, parties, invites, cosmetics and achievements only use the schema in {@link StorageSchema},
+ *   portable queries and {@link #upsert}, so every backend stores all of them
+ * - Connections are owned by the database thread and the read pool, a backend doesn't pool itself
+ */
+public interface StorageBackend {
+
+    /**
+     * Short name used in config.yml and in logs.
+     */
+    String getName();
+
+    /**
+     * Open a connection; read-only connections are used by the read pool.
+     */
+    Connection openConnection(boolean readOnly) throws SQLException;
+
+    /**
+     * Read-only connections to open next to the writer, 0 to run reads on the database thread.
+     * Asked after the schema was created.
+     */
+    int getReadPoolSize();
+
+    /**
+     * Create missing tables and indexes.
+     */
+    void createSchema(Connection connection) throws SQLException;
+
+    /**
+     * Insert-or-update statement with one parameter per column (in {@code columns} order).
+     *
+     * @param keys          primary key columns
+     * @param columns       all inserted columns, including the keys
+     * @param updateColumns columns overwritten when the row exists
+     */
+    String upsert(String table, List<String> keys, List<String> columns, List<String> updateColumns);
+
+    /**
+     * Whether other servers may write the same data (a network sharing one database). Players' cached
+     * data is then dropped when they leave, so a copy that may be outdated is never served or written.
+     */
+    default boolean isShared() {
+        return false;
+    }
+
+    /**
+     * Where the data lives, for logs (without credentials).
+     */
+    String describe();
+}
@@ -0,0 +1,105 @@
+package ch.framedev.bedwars.database;
+
+import java.util.List;
+
+/**
+ * Tables and indexes shared by all {@link StorageBackend}s.
+ * <p>
+ * Notes:
+ * - Only types all backends understand (VARCHAR, INT, BIGINT); SQLite maps them to its TEXT/INTEGER
+ *   affinities, so files created by older versions keep working
+ * - Indexes are listed separately because not every backend supports {@code CREATE INDEX IF NOT EXISTS}
+ */
+final class StorageSchema {
+
+    static final List<String> TABLES = List.of(
+            """
+            CREATE TABLE IF NOT EXISTS player_stats (
+                uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+                player_name VARCHAR(32),
+                wins INT DEFAULT 0,
+                losses INT DEFAULT 0,
+                kills INT DEFAULT 0,
+                deaths INT DEFAULT 0,
+                final_kills INT DEFAULT 0,
+                beds_broken INT DEFAULT 0,
+                games_played INT DEFAULT 0,
+                last_played BIGINT,
+                created_at BIGINT
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS parties (
+                id VARCHAR(36) NOT NULL PRIMARY KEY,
+                leader_uuid VARCHAR(36) NOT NULL,
+                created_at BIGINT
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS party_members (
+                party_id VARCHAR(36) NOT NULL,
+                member_uuid VARCHAR(36) NOT NULL,
+                role VARCHAR(16) NOT NULL,
+                joined_at BIGINT,
+                PRIMARY KEY (party_id, member_uuid)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS party_invites (
+                target_uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+                party_id VARCHAR(36) NOT NULL,
+                inviter_uuid VARCHAR(36) NOT NULL,
+                inviter_name VARCHAR(32) NOT NULL,
+                expires_at BIGINT NOT NULL
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS player_cosmetics (
+                uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+                kill_effect VARCHAR(64),
+                bed_effect VARCHAR(64),
+                updated_at BIGINT
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS player_achievements (
+                uuid VARCHAR(36) NOT NULL,
+                achievement_id VARCHAR(64) NOT NULL,
+                progress INT DEFAULT 0,
+                unlocked_at BIGINT DEFAULT 0,
+                updated_at BIGINT,
+                PRIMARY KEY (uuid, achievement_id)
+            )
+            """
+    );
+
+    static final List<Index> INDEXES = List.of(
+            new Index("idx_wins", "player_stats", "wins DESC"),
+            new Index("idx_kills", "player_stats", "kills DESC"),
+            new Index("idx_beds_broken", "player_stats", "beds_broken DESC"),
+            new Index("idx_party_member_uuid", "party_members", "member_uuid")
+    );
+
+    private StorageSchema() {
+    }
+
+    /**
+     * One single-column index.
+     */
+    static final class Index {
+
+        final String name;
+        final String table;
+        final String column;
+
+        private Index(String name, String table, String column) {
+            this.name = name;
+            this.table = table;
+            this.column = column;
+        }
+
+        String create(boolean ifNotExists) {
+            return "CREATE INDEX " + (ifNotExists ? "IF NOT EXISTS " : "") + name + " ON " + table + " (" + column + ")";
+        }
+    }
+}
@@ -3,11 +3,17 @@ package ch.framedev.bedwars.game;
 import ch.framedev.bedwars.shop.ShopType;
 import ch.framedev.bedwars.team.TeamColor;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a BedWars arena/map
@@ -23,6 +29,10 @@ public class Arena {
     private final Map<String, Location> generators;
     private final int minPlayers;
     private final int maxPlayers;
+    private String resetStrategy;
+    private String templateFolder;
+    /** Name of the arena this one was cloned from (pool instance), or null. */
+    private String templateName;
 
     public Arena(String name, Location lobbySpawn, Location spectatorSpawn, int minPlayers, int maxPlayers) {
         this.name = name;
@@ -57,6 +67,14 @@ public class Arena {
                 .put(type, location);
     }
 
+    public void setResetStrategy(String resetStrategy) {
+        this.resetStrategy = resetStrategy;
+    }
+
+    public void setTemplateFolder(String templateFolder) {
+        this.templateFolder = templateFolder;
+    }
+
     public Location getSpectatorSpawn() {
         return spectatorSpawn;
     }
@@ -83,6 +101,77 @@ public class Arena {
                 .anyMatch(name -> name != null && name.toLowerCase().startsWith(normalized));
     }
 
+    /**
+     * Name of the world the arena is played in (taken from the team spawns).
+     */
+    public String getWorldName() {
+        for (Location spawn : teamSpawns.values()) {
+            if (spawn != null && spawn.getWorld() != null) return spawn.getWorld().getName();
+        }
+        if (spectatorSpawn != null && spectatorSpawn.getWorld() != null) {
+            return spectatorSpawn.getWorld().getName();
+        }
+        return null;
+    }
+
+    /**
+     * Copy of this arena played in {@code world} (a clone of this arena's world), for the instance pool.
+     * Locations in the arena world are moved to the clone; others (e.g. a lobby world) are shared.
+     * The copy always resets from this arena's template folder.
+     */
+    public Arena forInstance(String instanceName, World world, String templateFolder) {
+        String sourceWorld = getWorldName();
+        Arena copy = new Arena(instanceName, relocate(lobbySpawn, sourceWorld, world),
+                relocate(spectatorSpawn, sourceWorld, world), minPlayers, maxPlayers);
+
+        teamSpawns.forEach((color, location) -> copy.setTeamSpawn(color, relocate(location, sourceWorld, world)));
+        bedLocations.forEach((color, location) -> copy.setBedLocation(color, relocate(location, sourceWorld, world)));
+        generators.forEach((name, location) -> copy.addGenerator(name, relocate(location, sourceWorld, world)));
+        shopLocations.forEach((color, byType) -> byType.forEach((type, location) ->
+                copy.setShopLocation(color, type, relocate(location, sourceWorld, world))));
+
+        copy.setResetStrategy(TemplateResetStrategy.NAME);
+        copy.setTemplateFolder(templateFolder);
+        copy.templateName = getTemplateName();
+        return copy;
+    }
+
+    private static Location relocate(Location location, String sourceWorld, World target) {
+        if (location == null) return null;
+        Location copy = location.clone();
+        if (location.getWorld() != null && location.getWorld().getName().equals(sourceWorld)) {
+            copy.setWorld(target);
+        }
+        return copy;
+    }
+
+    /**
+     * All configured locations that lie in the given world (same instances, not copies).
+     * Duplicates are dropped by identity: equal locations (e.g. lobby and spectator spawn at the same
+     * spot) are separate objects and each must be rebound when the world is reloaded.
+     */
+    public List<Location> getLocationsIn(World world) {
+        List<Location> all = new ArrayList<>();
+        all.add(lobbySpawn);
+        all.add(spectatorSpawn);
+        all.addAll(teamSpawns.values());
+        all.addAll(bedLocations.values());
+        all.addAll(generators.values());
+        for (Map<ShopType, Location> byType : shopLocations.values()) {
+            all.addAll(byType.values());
+        }
+
+        Set<Location> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Location> result = new ArrayList<>();
+        for (Location location : all) {
+            if (location != null && location.isWorldLoaded() && location.getWorld() == world
+                    && seen.add(location)) {
+                result.add(location);
+            }
+        }
+        return result;
+    }
+
     public static Arena fromConfig(ConfigurationSection section) {
         try {
             String name = section.getName();
@@ -94,6 +183,8 @@ public class Arena {
             int maxPlayers = section.getInt("max-players", 8);
 
             Arena arena = new Arena(name, lobbySpawn, spectatorSpawn, minPlayers, maxPlayers);
+            arena.setResetStrategy(section.getString("reset-strategy"));
+            arena.setTemplateFolder(section.getString("template-folder"));
 
             // Load team spawns and bed locations
             if (section.contains("teams")) {
@@ -150,4 +241,26 @@ public class Arena {
     public int getMaxPlayers() {
         return maxPlayers;
     }
+
+    public String getResetStrategy() {
+        return resetStrategy;
+    }
+
+    public String getTemplateFolder() {
+        return templateFolder;
+    }
+
+    /**
+     * Whether this arena is a pooled clone of another arena.
+     */
+    public boolean isInstance() {
+        return templateName != null;
+    }
+
+    /**
+     * Name of the configured arena (arenas.yml) this arena belongs to; its own name unless it is an instance.
+     */
+    public String getTemplateName() {
+        return templateName != null ? templateName : name;
+    }
 }
@@ -0,0 +1,375 @@
+package ch.framedev.bedwars.game;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs several matches of one arena at once on cloned worlds.
+ * <p>
+ * Notes:
+ * - An instance is a copy of the arena's template folder loaded as its own world
+ *   ({@code <world>_bwi_<n>}), played by its own {@link Game} with the arena's locations moved into it;
+ *   instances reset from the same template as the arena
+ * - Joins for an arena go to its fullest WAITING/STARTING game (arena or instance) that still has room,
+ *   so queues fill one match instead of spreading over empty instances
+ * - When a countdown starts a spare instance is prepared in the background (file copy off the main
+ *   thread, world load on it), so the next queue never waits for a world
+ * - At most arena-pool.max-instances clones per server; empty instances idle for longer than
+ *   arena-pool.idle-teardown-seconds are unloaded and deleted (configured arenas are never removed)
+ * - Only arenas with a template folder (reset-strategy: template) are pooled; instance folders left
+ *   by a crash are deleted on start, and instance ids start above theirs so a new instance never
+ *   shares a folder with a delete that is still running
+ */
+public class ArenaInstancePool {
+
+    /** Marks instance world folders (also used to find leftovers after a crash). */
+    private static final String INSTANCE_MARKER = "_bwi_";
+
+    /** How often idle instances are checked (ticks). */
+    private static final long MAINTENANCE_PERIOD_TICKS = 200L;
+
+    private final BedWarsPlugin plugin;
+    private final GameManager gameManager;
+
+    private final boolean enabled;
+    private final int maxInstances;
+    private final int spareInstances;
+    private final long idleTeardownMillis;
+
+    /** Instances per configured arena name. */
+    private final Map<String, List<Game>> instances = new HashMap<>();
+    /** Instances being copied/loaded per configured arena name. */
+    private final Map<String, Integer> creating = new HashMap<>();
+    /** Since when an instance has been empty (instance arena name -> millis). */
+    private final Map<String, Long> idleSince = new HashMap<>();
+
+    private int nextInstanceId;
+    private BukkitTask maintenanceTask;
+
+    public ArenaInstancePool(BedWarsPlugin plugin, GameManager gameManager) {
+        this.plugin = plugin;
+        this.gameManager = gameManager;
+
+        FileConfiguration config = plugin.getConfig();
+        this.enabled = config.getBoolean("arena-pool.enabled", false);
+        this.maxInstances = Math.max(0, config.getInt("arena-pool.max-instances", 4));
+        this.spareInstances = Math.max(0, config.getInt("arena-pool.spare-instances", 1));
+        this.idleTeardownMillis = Math.max(0, config.getLong("arena-pool.idle-teardown-seconds", 300)) * 1000L;
+
+        if (!enabled) return;
+
+        deleteLeftoverInstances();
+        maintenanceTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tearDownIdle,
+                MAINTENANCE_PERIOD_TICKS, MAINTENANCE_PERIOD_TICKS);
+        plugin.getDebugLogger().debug("Arena pool enabled: max-instances=" + maxInstances
+                + ", spare=" + spareInstances + ", idle-teardown=" + idleTeardownMillis / 1000 + "s");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Game of an arena for {@code slots} joining players: the fullest WAITING/STARTING game with room,
+     * or the arena's own game if none has room (callers report why it can't be joined).
+     */
+    public Game select(Game arenaGame, int slots) {
+        if (!enabled) return arenaGame;
+
+        Game best = null;
+        for (Game game : gamesOf(arenaGame)) {
+            if (!hasRoom(game, slots)) continue;
+            if (best == null || game.getPlayers().size() > best.getPlayers().size()) {
+                best = game;
+            }
+        }
+
+        if (best == null) {
+            // Nothing to join right now; the next join finds the new instance
+            ensureSpare(arenaGame, 1);
+            return arenaGame;
+        }
+        return best;
+    }
+
+    /**
+     * An empty WAITING game of an arena (for a whole queue), or the arena's own game if none is empty.
+     */
+    public Game selectEmpty(Game arenaGame) {
+        if (!enabled) return arenaGame;
+
+        for (Game game : gamesOf(arenaGame)) {
+            if (game.getState() == GameState.WAITING && game.getPlayers().isEmpty()) return game;
+        }
+        ensureSpare(arenaGame, 1);
+        return arenaGame;
+    }
+
+    /**
+     * A match of the arena is about to start: pre-warm a spare instance for the next queue.
+     */
+    public void onCountdownStarted(Game game) {
+        if (!enabled) return;
+
+        Game arenaGame = gameManager.getGame(game.getArena().getTemplateName());
+        if (arenaGame != null) {
+            ensureSpare(arenaGame, spareInstances);
+        }
+    }
+
+    public int getInstanceCount() {
+        int count = 0;
+        for (List<Game> games : instances.values()) count += games.size();
+        return count;
+    }
+
+    /**
+     * Stop maintenance and unload all instance worlds (their folders are deleted on the next start).
+     */
+    public void shutdown() {
+        if (maintenanceTask != null) {
+            maintenanceTask.cancel();
+            maintenanceTask = null;
+        }
+
+        for (List<Game> games : instances.values()) {
+            for (Game game : games) {
+                World world = Bukkit.getWorld(game.getArena().getWorldName());
+                if (world != null) Bukkit.unloadWorld(world, false);
+            }
+        }
+        instances.clear();
+        idleSince.clear();
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal                                                               */
+    /* --------------------------------------------------------------------- */
+
+    private List<Game> gamesOf(Game arenaGame) {
+        List<Game> games = new ArrayList<>();
+        games.add(arenaGame);
+        games.addAll(instances.getOrDefault(arenaGame.getArena().getName(), List.of()));
+        return games;
+    }
+
+    private static boolean hasRoom(Game game, int slots) {
+        GameState state = game.getState();
+        if (state != GameState.WAITING && state != GameState.STARTING) return false;
+        return game.getPlayers().size() + slots <= game.getArena().getMaxPlayers();
+    }
+
+    /**
+     * Start creating an instance unless {@code wanted} empty WAITING games (or ones being created) are there.
+     */
+    private void ensureSpare(Game arenaGame, int wanted) {
+        String name = arenaGame.getArena().getName();
+
+        int spare = creating.getOrDefault(name, 0);
+        for (Game game : gamesOf(arenaGame)) {
+            if (game.getState() == GameState.WAITING && game.getPlayers().isEmpty()) spare++;
+        }
+        if (spare >= wanted) return;
+
+        int total = getInstanceCount();
+        for (int pending : creating.values()) total += pending;
+        if (total >= maxInstances) {
+            plugin.getDebugLogger().debug("Arena pool full: arena=" + name + ", instances=" + total);
+            return;
+        }
+
+        createInstance(arenaGame.getArena());
+    }
+
+    private void createInstance(Arena arena) {
+        String templateFolder = TemplateResetStrategy.templateFolderOf(arena);
+        Path templateDir = plugin.getDataFolder().toPath().resolve(templateFolder).normalize();
+        if (arena.getWorldName() == null || !Files.isDirectory(templateDir)) {
+            plugin.getDebugLogger().debug("Arena pool: no template for arena " + arena.getName()
+                    + " (" + templateDir + "), not pooled");
+            return;
+        }
+
+        // Skip ids whose folder is still there (being deleted, or not ours to overwrite)
+        int id;
+        String worldName;
+        Path worldDir;
+        do {
+            id = ++nextInstanceId;
+            worldName = arena.getWorldName() + INSTANCE_MARKER + id;
+            worldDir = Bukkit.getWorldContainer().toPath().resolve(worldName);
+        } while (Files.exists(worldDir));
+        String instanceName = arena.getName() + "#" + id;
+
+        creating.merge(arena.getName(), 1, Integer::sum);
+        long start = System.nanoTime();
+        plugin.getDebugLogger().debug("Arena instance creating: " + instanceName + ", world=" + worldName);
+
+        String instanceWorld = worldName;
+        Path instanceDir = worldDir;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            boolean copied;
+            try {
+                TemplateResetStrategy.copyTree(templateDir, instanceDir);
+                copied = true;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to copy template for arena instance " + instanceName + ": " + e.getMessage());
+                copied = false;
+            }
+
+            boolean ok = copied;
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> loadInstance(arena, instanceName, instanceWorld, ok, start));
+        });
+    }
+
+    private void loadInstance(Arena arena, String instanceName, String worldName, boolean copied, long start) {
+        creating.computeIfPresent(arena.getName(), (k, v) -> v > 1 ? v - 1 : null);
+        if (!copied) return;
+
+        World world = new WorldCreator(worldName).createWorld();
+        if (world == null) {
+            plugin.getLogger().severe("Failed to load world " + worldName + " for arena instance " + instanceName);
+            deleteAsync(Bukkit.getWorldContainer().toPath().resolve(worldName));
+            return;
+        }
+        world.setAutoSave(false);
+
+        Game game = new Game(plugin, arena.forInstance(instanceName, world, TemplateResetStrategy.templateFolderOf(arena)));
+        instances.computeIfAbsent(arena.getName(), k -> new ArrayList<>()).add(game);
+        idleSince.put(instanceName, System.currentTimeMillis());
+        gameManager.registerInstance(game);
+
+        plugin.getDebugLogger().debug("Arena instance ready: " + instanceName + " in "
+                + (System.nanoTime() - start) / 1_000_000 + "ms, instances=" + getInstanceCount());
+    }
+
+    /**
+     * Remove instances that were empty for too long; while a match of the arena is running,
+     * spare-instances empty games (arena included) are kept for the next queue.
+     */
+    private void tearDownIdle() {
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<String, List<Game>> entry : instances.entrySet()) {
+            Game arenaGame = gameManager.getGame(entry.getKey());
+            List<Game> games = entry.getValue();
+
+            boolean busy = arenaGame != null && arenaGame.getState() != GameState.WAITING;
+            int keptIdle = arenaGame != null && isIdle(arenaGame) ? 1 : 0;
+            for (Game game : games) {
+                if (game.getState() != GameState.WAITING) busy = true;
+            }
+            int keepIdle = busy ? spareInstances : 0;
+
+            // Most recently emptied first: spares are kept from the freshest, the oldest are removed
+            games.sort(Comparator.comparingLong((Game game) -> idleSince.getOrDefault(game.getArena().getName(), now))
+                    .reversed());
+
+            Iterator<Game> it = games.iterator();
+            while (it.hasNext()) {
+                Game game = it.next();
+                String name = game.getArena().getName();
+                if (!isIdle(game)) {
+                    idleSince.remove(name);
+                    continue;
+                }
+
+                long since = idleSince.computeIfAbsent(name, k -> now);
+                if (now - since < idleTeardownMillis || keptIdle < keepIdle) {
+                    keptIdle++;
+                    continue;
+                }
+
+                if (tearDown(game)) it.remove();
+            }
+        }
+        instances.values().removeIf(List::isEmpty);
+    }
+
+    private static boolean isIdle(Game game) {
+        return game.getState() == GameState.WAITING && game.getPlayers().isEmpty() && game.getSpectators().isEmpty();
+    }
+
+    private boolean tearDown(Game game) {
+        String worldName = game.getArena().getWorldName();
+        World world = worldName == null ? null : Bukkit.getWorld(worldName);
+        if (world != null && !Bukkit.unloadWorld(world, false)) {
+            plugin.getDebugLogger().debug("Arena instance " + game.getArena().getName() + " could not be unloaded yet");
+            return false;
+        }
+
+        gameManager.unregisterInstance(game);
+        idleSince.remove(game.getArena().getName());
+        if (worldName != null) {
+            deleteAsync(Bukkit.getWorldContainer().toPath().resolve(worldName));
+        }
+        plugin.getDebugLogger().debug("Arena instance removed: " + game.getArena().getName()
+                + ", instances=" + (getInstanceCount() - 1));
+        return true;
+    }
+
+    /**
+     * Delete instance world folders left by a crash or a stop (instance worlds are never loaded at start).
+     * New instance ids start above the highest leftover id, so no create races these deletes.
+     */
+    private void deleteLeftoverInstances() {
+        File[] folders = Bukkit.getWorldContainer().listFiles(
+                file -> file.isDirectory() && file.getName().contains(INSTANCE_MARKER));
+        if (folders == null) return;
+
+        for (File folder : folders) {
+            nextInstanceId = Math.max(nextInstanceId, instanceId(folder.getName()));
+            if (Bukkit.getWorld(folder.getName()) != null) continue;
+            plugin.getDebugLogger().debug("Deleting leftover arena instance world: " + folder.getName());
+            deleteAsync(folder.toPath());
+        }
+    }
+
+    private static int instanceId(String worldName) {
+        try {
+            int start = worldName.lastIndexOf(INSTANCE_MARKER) + INSTANCE_MARKER.length();
+            return Integer.parseInt(worldName.substring(start));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void deleteAsync(Path dir) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                deleteTree(dir);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to delete arena instance world " + dir + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            List<Path> paths = new ArrayList<>();
+            walk.forEach(paths::add);
+            // Children before their folders
+            for (int i = paths.size() - 1; i >= 0; i--) {
+                Files.deleteIfExists(paths.get(i));
+            }
+        }
+    }
+}
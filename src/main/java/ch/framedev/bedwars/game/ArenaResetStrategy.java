@@ -0,0 +1,33 @@
+package ch.framedev.bedwars.game;
+
+/**
+ * Restores an arena to its pre-match state after a game.
+ * <p>
+ * Selected per arena via {@code reset-strategy} in arenas.yml:
+ * - journal: replay the blocks recorded by {@link WorldResetManager} (default)
+ * - template: reload the arena world from a read-only template folder
+ */
+public interface ArenaResetStrategy {
+
+    /**
+     * Short name used in arenas.yml and in logs.
+     */
+    String getName();
+
+    /**
+     * Whether there is anything to restore.
+     */
+    boolean needsReset();
+
+    /**
+     * Start restoring the arena. Must be called on the main thread.
+     * The listener is invoked on the main thread once the arena can be used again,
+     * which may happen before this method returns.
+     */
+    void reset(WorldResetManager.ResetListener listener);
+
+    /**
+     * Finish a running reset synchronously (e.g. on plugin disable).
+     */
+    void finishNow();
+}
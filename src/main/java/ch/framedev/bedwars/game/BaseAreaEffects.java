@@ -0,0 +1,196 @@
+package ch.framedev.bedwars.game;
+
+import ch.framedev.bedwars.player.GamePlayer;
+import ch.framedev.bedwars.team.Team;
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Team base area effects (heal pool, traps, auras...) of one game.
+ * <p>
+ * Notes:
+ * - Every effect gets one zone per team base, precomputed as an integer block box plus a squared
+ *   radius, so membership is a few int comparisons (no sqrt, no Location allocation)
+ * - One scan per run over the game's players serves all effects
+ * - Tracks who is inside each zone and reports enter / stay / leave to the effect, so effects
+ *   can refresh potions only when needed or trigger once on entry
+ * - Runs in the AREA_EFFECTS phase of the game's {@link GameTickLoop}
+ */
+public final class BaseAreaEffects {
+
+    /**
+     * An effect bound to the base area of the team that owns it.
+     */
+    public interface AreaEffect {
+
+        String getId();
+
+        /** Radius around the team base, in blocks. */
+        int getRadius();
+
+        /** True: applies to the owner's members (heal pool); false: to enemies (traps). */
+        boolean targetsOwnTeam();
+
+        /** Whether the owner team currently has this effect (e.g. bought the upgrade). */
+        boolean isActive(Team owner);
+
+        void onEnter(Player player, Team owner);
+
+        void onStay(Player player, Team owner);
+
+        void onLeave(Player player, Team owner);
+    }
+
+    private final Game game;
+    private final List<Zone> zones = new ArrayList<>();
+
+    /** Scratch location reused for player positions. */
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    BaseAreaEffects(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Add an effect; one zone is created around every team base.
+     */
+    public void register(AreaEffect effect) {
+        for (Team team : game.getTeams().values()) {
+            Location base = baseOf(team);
+            if (base == null) continue;
+            zones.add(new Zone(effect, team, base));
+        }
+    }
+
+    /**
+     * Drop all effects and occupancy (game start/end).
+     */
+    public void clear() {
+        zones.clear();
+    }
+
+    public boolean isEmpty() {
+        return zones.isEmpty();
+    }
+
+    /**
+     * Scan the game's players once and dispatch enter/stay/leave for all active zones.
+     */
+    void tick() {
+        boolean anyActive = false;
+        for (Zone zone : zones) {
+            zone.active = zone.effect.isActive(zone.owner);
+            anyActive |= zone.active;
+        }
+
+        if (anyActive) {
+            for (GamePlayer gp : game.getPlayers().values()) {
+                if (gp.isEliminated()) continue;
+                Player player = Bukkit.getPlayer(gp.getUuid());
+                if (player == null || player.getGameMode() == GameMode.SPECTATOR) continue;
+
+                player.getLocation(scratch);
+                World world = scratch.getWorld();
+                int x = scratch.getBlockX();
+                int y = scratch.getBlockY();
+                int z = scratch.getBlockZ();
+                Team team = gp.getTeam();
+
+                for (Zone zone : zones) {
+                    if (!zone.active) continue;
+                    if (zone.effect.targetsOwnTeam() != (team == zone.owner)) continue;
+                    if (world != zone.base.getWorld() || !zone.contains(x, y, z)) continue;
+
+                    zone.seen.add(gp.getUuid());
+                    if (zone.inside.contains(gp.getUuid())) {
+                        zone.effect.onStay(player, zone.owner);
+                    } else {
+                        zone.effect.onEnter(player, zone.owner);
+                    }
+                }
+            }
+        }
+
+        for (Zone zone : zones) {
+            zone.swap();
+        }
+        scratch.setWorld(null);
+    }
+
+    private static Location baseOf(Team team) {
+        if (team.getBedLocation() != null) return team.getBedLocation();
+        return team.getSpawnLocation();
+    }
+
+    /**
+     * Effect area around one team base.
+     */
+    private static final class Zone {
+        private final AreaEffect effect;
+        private final Team owner;
+        /** Kept as the arena's Location so a reloaded world (template reset) is picked up. */
+        private final Location base;
+        private final int centerX;
+        private final int centerY;
+        private final int centerZ;
+        private final int minX, maxX, minY, maxY, minZ, maxZ;
+        private final int radiusSquared;
+
+        private Set<UUID> inside = new HashSet<>();
+        private Set<UUID> seen = new HashSet<>();
+        private boolean active;
+
+        private Zone(AreaEffect effect, Team owner, Location base) {
+            this.effect = effect;
+            this.owner = owner;
+            this.base = base;
+
+            int radius = Math.max(0, effect.getRadius());
+            this.centerX = base.getBlockX();
+            this.centerY = base.getBlockY();
+            this.centerZ = base.getBlockZ();
+            this.minX = centerX - radius;
+            this.maxX = centerX + radius;
+            this.minY = centerY - radius;
+            this.maxY = centerY + radius;
+            this.minZ = centerZ - radius;
+            this.maxZ = centerZ + radius;
+            this.radiusSquared = radius * radius;
+        }
+
+        private boolean contains(int x, int y, int z) {
+            if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) return false;
+            int dx = x - centerX;
+            int dy = y - centerY;
+            int dz = z - centerZ;
+            return dx * dx + dy * dy + dz * dz <= radiusSquared;
+        }
+
+        /**
+         * Players inside last run but not this run have left; "seen" becomes the new occupancy.
+         */
+        private void swap() {
+            for (UUID id : inside) {
+                if (seen.contains(id)) continue;
+                Player player = Bukkit.getPlayer(id);
+                if (player != null) {
+                    effect.onLeave(player, owner);
+                }
+            }
+
+            Set<UUID> previous = inside;
+            inside = seen;
+            seen = previous;
+            seen.clear();
+        }
+    }
+}
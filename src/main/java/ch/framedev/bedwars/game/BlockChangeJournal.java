@@ -0,0 +1,209 @@
+package ch.framedev.bedwars.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only, memory-mapped journal of the block changes of one running match.
+ * <p>
+ * File layout:
+ * - {@code <arena>.<generation>.journal}: 16-byte header, then fixed-size 24-byte records
+ *   (op, world id, x, y, z, state id). The op is written last, so a zero op marks
+ *   the end of the committed records (the mapped tail is zero-filled).
+ * - {@code <arena>.<generation>.palette}: UTF-8 string table, one entry per line (world names and
+ *   BlockData strings); ids in the records are line numbers
+ * <p>
+ * The main thread only appends to an in-memory staging buffer; the store's writer thread
+ * group-commits staged records (palette first, then records, then force) at a fixed interval.
+ */
+public final class BlockChangeJournal {
+
+    static final int MAGIC = 0x42574A31; // "BWJ1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_INTS = 6;
+    static final int RECORD_BYTES = RECORD_INTS * Integer.BYTES;
+
+    static final int OP_PLACED = 1;
+    static final int OP_BROKEN = 2;
+
+    private static final int INITIAL_MAP_BYTES = HEADER_BYTES + RECORD_BYTES * 4096;
+
+    private final Path file;
+    private final Path paletteFile;
+
+    /* Main-thread side (guarded by this) */
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private List<String> pendingStrings = new ArrayList<>();
+    private int[] staging = new int[RECORD_INTS * 256];
+    private int stagingSize;
+
+    /* Writer-thread side */
+    private int[] spare = new int[RECORD_INTS * 256];
+    private FileChannel channel;
+    private FileChannel paletteChannel;
+    private MappedByteBuffer map;
+    private int writePos = HEADER_BYTES;
+    private boolean closed;
+
+    BlockChangeJournal(Path file, Path paletteFile) {
+        this.file = file;
+        this.paletteFile = paletteFile;
+    }
+
+    /**
+     * Journal a block placed by a player (restored to AIR on recovery).
+     */
+    public synchronized void appendPlaced(String worldName, int x, int y, int z) {
+        stage(OP_PLACED, intern(worldName), x, y, z, -1);
+    }
+
+    /**
+     * Journal the original state of a block that is about to change.
+     */
+    public synchronized void appendBroken(String worldName, int x, int y, int z, String blockData) {
+        stage(OP_BROKEN, intern(worldName), x, y, z, blockData == null ? -1 : intern(blockData));
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Writer thread                                                          */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Write all staged records to disk and force them. Writer thread only.
+     */
+    void commit() throws IOException {
+        if (closed) return;
+
+        int[] batch;
+        int batchSize;
+        List<String> strings;
+        synchronized (this) {
+            if (stagingSize == 0 && pendingStrings.isEmpty() && channel != null) return;
+
+            batch = staging;
+            batchSize = stagingSize;
+            staging = spare.length >= batch.length ? spare : new int[batch.length];
+            stagingSize = 0;
+
+            strings = pendingStrings;
+            pendingStrings = new ArrayList<>();
+        }
+        spare = batch;
+
+        open();
+
+        // Strings must be durable before the records that reference them
+        if (!strings.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (String s : strings) sb.append(s).append('\n');
+            ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) paletteChannel.write(bytes);
+            paletteChannel.force(false);
+        }
+
+        for (int i = 0; i < batchSize; i += RECORD_INTS) {
+            ensureCapacity(writePos + RECORD_BYTES);
+            for (int f = 1; f < RECORD_INTS; f++) {
+                map.putInt(writePos + f * Integer.BYTES, batch[i + f]);
+            }
+            // op last: a record only counts once it is complete
+            map.putInt(writePos, batch[i]);
+            writePos += RECORD_BYTES;
+        }
+        if (batchSize > 0) map.force();
+    }
+
+    /**
+     * Commit what is left and release the files. Writer thread only.
+     */
+    void close() throws IOException {
+        if (closed) return;
+        commit();
+        closed = true;
+        map = null;
+        if (channel != null) channel.close();
+        if (paletteChannel != null) paletteChannel.close();
+    }
+
+    /**
+     * Drop the journal: the arena has been restored. Writer thread only.
+     */
+    void delete() throws IOException {
+        closed = true;
+        map = null;
+        if (channel != null) channel.close();
+        if (paletteChannel != null) paletteChannel.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(paletteFile);
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal                                                               */
+    /* --------------------------------------------------------------------- */
+
+    private int intern(String value) {
+        Integer id = stringIds.get(value);
+        if (id != null) return id;
+
+        int next = stringIds.size();
+        stringIds.put(value, next);
+        pendingStrings.add(value);
+        return next;
+    }
+
+    private void stage(int op, int world, int x, int y, int z, int state) {
+        if (stagingSize + RECORD_INTS > staging.length) {
+            int[] grown = new int[staging.length * 2];
+            System.arraycopy(staging, 0, grown, 0, stagingSize);
+            staging = grown;
+        }
+        int i = stagingSize;
+        staging[i] = op;
+        staging[i + 1] = world;
+        staging[i + 2] = x;
+        staging[i + 3] = y;
+        staging[i + 4] = z;
+        staging[i + 5] = state;
+        stagingSize += RECORD_INTS;
+    }
+
+    private void open() throws IOException {
+        if (channel != null) return;
+
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        paletteChannel = FileChannel.open(paletteFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_MAP_BYTES);
+        map.putInt(0, MAGIC);
+        map.putInt(4, VERSION);
+        map.putInt(8, RECORD_BYTES);
+        map.force();
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (needed <= map.capacity()) return;
+
+        long size = map.capacity();
+        while (size < needed) size *= 2;
+        map.force();
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+}
@@ -0,0 +1,299 @@
+package ch.framedev.bedwars.game;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns the crash-safe block journals of all arenas (plugins/BedWars/journals).
+ * <p>
+ * - One writer thread group-commits every open journal at world.crash-journal.commit-interval-ms
+ * - All file I/O (create, commit, delete) runs on that thread
+ * - {@link #recover()} replays journals left over from an unclean shutdown, in reverse,
+ *   on the main thread before arenas are opened for players
+ * - Every game gets a journal of its own generation ({@code <arena>.<generation>.journal}), so a
+ *   journal recovery had to keep (world not loaded) is never overwritten by the next game
+ */
+public class BlockJournalStore {
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String PALETTE_SUFFIX = ".palette";
+
+    private final BedWarsPlugin plugin;
+    private final Path directory;
+    private final Set<BlockChangeJournal> openJournals = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService writer;
+    /** Last journal generation handed out (wall clock based, so it keeps growing across restarts). */
+    private final AtomicLong generation = new AtomicLong();
+
+    public BlockJournalStore(BedWarsPlugin plugin) {
+        this.plugin = plugin;
+        this.directory = plugin.getDataFolder().toPath().resolve("journals");
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "BedWars-BlockJournal");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = Math.max(10L, plugin.getConfig().getLong("world.crash-journal.commit-interval-ms", 200L));
+        writer.scheduleWithFixedDelay(this::commitAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start a fresh journal for an arena, as a new generation next to any kept one.
+     */
+    public BlockChangeJournal open(String arenaName) {
+        long now = System.currentTimeMillis();
+        String stem = arenaName.replaceAll("[^A-Za-z0-9_.-]", "_") + "."
+                + generation.updateAndGet(last -> Math.max(now, last + 1));
+        BlockChangeJournal journal = new BlockChangeJournal(
+                directory.resolve(stem + JOURNAL_SUFFIX),
+                directory.resolve(stem + PALETTE_SUFFIX));
+        openJournals.add(journal);
+        plugin.getDebugLogger().debug("Block journal opened: " + journal.getFile());
+        return journal;
+    }
+
+    /**
+     * The arena was restored; delete its journal.
+     */
+    public void discard(BlockChangeJournal journal) {
+        if (journal == null || !openJournals.remove(journal)) return;
+
+        writer.execute(() -> {
+            try {
+                journal.delete();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to delete block journal " + journal.getFile() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Commit and close all open journals (kept on disk for recovery) and stop the writer thread.
+     */
+    public void shutdown() {
+        writer.execute(() -> {
+            for (BlockChangeJournal journal : openJournals) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    plugin.getLogger().severe("Failed to close block journal " + journal.getFile() + ": " + e.getMessage());
+                }
+            }
+            openJournals.clear();
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Block journal writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replay every journal left over from an unclean shutdown, newest change first,
+     * then delete it. Must run on the main thread with the arena worlds loaded.
+     * <p>
+     * An arena's generations are replayed newest first; once one has to be kept, the older
+     * ones are kept too (they may only be reverted after it).
+     */
+    public void recover() {
+        if (!Files.isDirectory(directory)) return;
+
+        Map<String, List<JournalFile>> byArena = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + JOURNAL_SUFFIX)) {
+            for (Path file : files) {
+                JournalFile journal = JournalFile.parse(file);
+                if (journal == null) {
+                    plugin.getDebugLogger().debug("Ignoring unknown block journal file: " + file.getFileName());
+                    continue;
+                }
+                byArena.computeIfAbsent(journal.arena, arena -> new ArrayList<>()).add(journal);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to list block journals: " + e.getMessage());
+            return;
+        }
+
+        for (List<JournalFile> generations : byArena.values()) {
+            generations.sort(Comparator.comparingLong((JournalFile journal) -> journal.generation).reversed());
+            for (JournalFile journal : generations) {
+                // Never hand out a generation at or below one still on disk
+                generation.accumulateAndGet(journal.generation, Math::max);
+            }
+
+            for (JournalFile journal : generations) {
+                if (!recover(journal)) break;
+            }
+        }
+    }
+
+    /**
+     * @return false if the journal was kept for a later attempt
+     */
+    private boolean recover(JournalFile journal) {
+        Path palette = directory.resolve(journal.stem + PALETTE_SUFFIX);
+        try {
+            long start = System.nanoTime();
+            int restored = replay(journal.file, palette);
+            if (restored < 0) return false;
+
+            Files.deleteIfExists(journal.file);
+            Files.deleteIfExists(palette);
+            plugin.getLogger().info("Recovered arena " + journal.arena + " from block journal: " + restored
+                    + " changes reverted in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to recover block journal " + journal.file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal                                                               */
+    /* --------------------------------------------------------------------- */
+
+    private void commitAll() {
+        for (BlockChangeJournal journal : openJournals) {
+            try {
+                journal.commit();
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to commit block journal " + journal.getFile() + ": " + e.getMessage());
+            } catch (RuntimeException e) {
+                // Never let one journal kill the writer thread
+                plugin.getLogger().severe("Block journal writer error: " + e);
+            }
+        }
+    }
+
+    /**
+     * @return number of reverted changes, or -1 if the journal must be kept
+     */
+    private int replay(Path file, Path paletteFile) throws IOException {
+        List<String> strings = Files.exists(paletteFile)
+                ? Files.readAllLines(paletteFile, StandardCharsets.UTF_8)
+                : List.of();
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.BIG_ENDIAN);
+        }
+
+        if (buffer.capacity() < BlockChangeJournal.HEADER_BYTES
+                || buffer.getInt(0) != BlockChangeJournal.MAGIC
+                || buffer.getInt(8) != BlockChangeJournal.RECORD_BYTES) {
+            plugin.getLogger().warning("Ignoring invalid block journal " + file);
+            return 0;
+        }
+
+        // Committed records end at the first zero op
+        int count = 0;
+        int limit = (buffer.capacity() - BlockChangeJournal.HEADER_BYTES) / BlockChangeJournal.RECORD_BYTES;
+        while (count < limit && buffer.getInt(offset(count)) != 0) count++;
+
+        int reverted = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            int pos = offset(i);
+            int op = buffer.getInt(pos);
+            String worldName = lookup(strings, buffer.getInt(pos + 4));
+            int x = buffer.getInt(pos + 8);
+            int y = buffer.getInt(pos + 12);
+            int z = buffer.getInt(pos + 16);
+            String state = lookup(strings, buffer.getInt(pos + 20));
+
+            World world = worldName == null ? null : Bukkit.getWorld(worldName);
+            if (world == null) {
+                plugin.getLogger().warning("Block journal " + file.getFileName() + " references unloaded world "
+                        + worldName + ", keeping it for the next start");
+                return -1;
+            }
+
+            Block block = world.getBlockAt(x, y, z);
+            if (op == BlockChangeJournal.OP_PLACED) {
+                block.setType(Material.AIR, false);
+            } else if (op == BlockChangeJournal.OP_BROKEN && state != null) {
+                try {
+                    BlockData data = Bukkit.createBlockData(state);
+                    block.setBlockData(data, false);
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Invalid block state in journal: " + state);
+                    continue;
+                }
+            } else {
+                continue;
+            }
+            reverted++;
+        }
+        return reverted;
+    }
+
+    private static int offset(int record) {
+        return BlockChangeJournal.HEADER_BYTES + record * BlockChangeJournal.RECORD_BYTES;
+    }
+
+    private static String lookup(List<String> strings, int id) {
+        return id >= 0 && id < strings.size() ? strings.get(id) : null;
+    }
+
+    /**
+     * A journal file on disk: {@code <arena>.<generation>.journal}.
+     */
+    private static final class JournalFile {
+
+        private final Path file;
+        private final String stem;
+        private final String arena;
+        private final long generation;
+
+        private JournalFile(Path file, String stem, String arena, long generation) {
+            this.file = file;
+            this.stem = stem;
+            this.arena = arena;
+            this.generation = generation;
+        }
+
+        /**
+         * @return the parsed file, or null if its name has no generation
+         */
+        private static JournalFile parse(Path file) {
+            String name = file.getFileName().toString();
+            String stem = name.substring(0, name.length() - JOURNAL_SUFFIX.length());
+
+            int dot = stem.lastIndexOf('.');
+            if (dot <= 0) return null;
+            try {
+                return new JournalFile(file, stem, stem.substring(0, dot), Long.parseLong(stem.substring(dot + 1)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
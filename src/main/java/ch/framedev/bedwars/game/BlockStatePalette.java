@@ -0,0 +1,54 @@
+package ch.framedev.bedwars.game;
+
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-arena palette that interns identical block states, so the reset journal
+ * stores a small index per entry instead of its own cloned BlockData.
+ * <p>
+ * The palette lives as long as the arena: maps only ever contain a few dozen distinct
+ * states (wool, end stone, beds...), so entries are kept between matches.
+ */
+final class BlockStatePalette {
+
+    /** Rough size of one interned BlockData plus its map entry, for heap reports. */
+    private static final int BYTES_PER_STATE = 96;
+
+    private final Map<BlockData, Integer> ids = new HashMap<>();
+    private final List<BlockData> states = new ArrayList<>();
+
+    /**
+     * Index of the given state, interning a clone of it if it was not seen before.
+     * A null BlockData stands for the default state of the material.
+     */
+    int idFor(Material material, BlockData data) {
+        BlockData state = data != null ? data : (material == null ? Material.AIR : material).createBlockData();
+
+        Integer id = ids.get(state);
+        if (id != null) return id;
+
+        BlockData interned = state.clone();
+        int next = states.size();
+        states.add(interned);
+        ids.put(interned, next);
+        return next;
+    }
+
+    BlockData get(int id) {
+        return states.get(id);
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    long estimateBytes() {
+        return 64L + (long) states.size() * BYTES_PER_STATE;
+    }
+}
@@ -1,12 +1,17 @@
 package ch.framedev.bedwars.game;
 
 import ch.framedev.BedWarsPlugin;
+import ch.framedev.bedwars.achievements.AchievementsManager;
+import ch.framedev.bedwars.generators.GeneratorEngine;
+import ch.framedev.bedwars.generators.GeneratorSettings;
 import ch.framedev.bedwars.generators.ResourceGenerator;
 import ch.framedev.bedwars.player.GamePlayer;
 import ch.framedev.bedwars.shop.ShopType;
+import ch.framedev.bedwars.stats.MatchResult;
 import ch.framedev.bedwars.stats.PlayerStats;
 import ch.framedev.bedwars.team.Team;
 import ch.framedev.bedwars.team.TeamColor;
+import ch.framedev.bedwars.upgrades.HealPoolEffect;
 import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.*;
@@ -15,11 +20,10 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.*;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.potion.PotionEffect;
-import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a single BedWars game instance
@@ -28,6 +32,7 @@ import java.util.*;
  * - Keeps your existing structure but fixes common bugs/leaks:
  *   - prevents double countdown / double game start
  *   - cancels all tasks on end/reset (countdown, timer, heal pool, respawns)
+ *   - all periodic game work runs in one {@link GameTickLoop} (no task per feature/respawn)
  *   - clamps health safely
  *   - teleports/cleans up spectators as well
  *   - restores visibility after hidePlayer usage
@@ -52,19 +57,34 @@ public class Game {
     private final List<ResourceGenerator> generators;
     private final Map<TeamColor, Map<ShopType, UUID>> shopVillagers;
     private final WorldResetManager worldResetManager;
+    private final ArenaResetStrategy resetStrategy;
 
     private final Map<TeamColor, List<UUID>> dragonBuffs;
+    private final BaseAreaEffects areaEffects;
+
+    /* Tick loop job keys */
+    private static final String COUNTDOWN_JOB = "countdown";
+    private static final String GAME_TIMER_JOB = "game-timer";
+    private static final String AREA_EFFECTS_JOB = "area-effects";
+    private static final int AREA_EFFECTS_PERIOD_TICKS = 20;
+    private static final String END_JOB = "end";
 
     private GameState state;
     private int countdown;
     private int gameElapsedSeconds;
 
-    private BukkitRunnable countdownTask;
-    private BukkitRunnable gameTask;
-    private BukkitRunnable healPoolTask;
+    /** Maintained from Team alive-count changes; see {@link #onTeamAliveCountChanged}. */
+    private int alivePlayers;
+    private int aliveTeams;
+
+    /** Countdown, game timer, respawns, heal pool, scoreboard: one loop, one cancel. */
+    private final GameTickLoop tickLoop;
 
-    /** Per-player respawn countdown tasks (so we can cancel on end/reset). */
-    private final Map<UUID, BukkitRunnable> respawnTasks = new HashMap<>();
+    /** Crash-safe journal of this match's block changes (null if disabled). */
+    private BlockChangeJournal blockJournal;
+
+    /** Completes when the last match's stats are committed. */
+    private CompletableFuture<Void> matchSave = CompletableFuture.completedFuture(null);
 
     /** Scoreboard (optional) */
     private GameScoreboard gameScoreboard;
@@ -87,9 +107,12 @@ public class Game {
         this.generators = new ArrayList<>();
         this.shopVillagers = new HashMap<>();
         this.worldResetManager = new WorldResetManager();
+        this.resetStrategy = createResetStrategy();
         this.dragonBuffs = new HashMap<>();
+        this.areaEffects = new BaseAreaEffects(this);
 
         this.state = GameState.WAITING;
+        this.tickLoop = new GameTickLoop(plugin, arena.getName());
 
         initializeTeams();
         initializeGenerators();
@@ -99,7 +122,8 @@ public class Game {
         }
 
         plugin.getDebugLogger().debug("Game initialized for arena: " + arena.getName()
-                + ", teams=" + teams.size() + ", generators=" + generators.size());
+                + ", teams=" + teams.size() + ", generators=" + generators.size()
+                + ", reset=" + resetStrategy.getName());
     }
 
     /* --------------------------------------------------------------------- */
@@ -109,97 +133,46 @@ public class Game {
     private void initializeTeams() {
         for (TeamColor color : TeamColor.values()) {
             if (arena.getTeamSpawn(color) != null) {
-                teams.put(color, new Team(color, arena.getTeamSpawn(color), arena.getBedLocation(color)));
+                Team team = new Team(color, arena.getTeamSpawn(color), arena.getBedLocation(color));
+                team.setAliveListener(this::onTeamAliveCountChanged);
+                teams.put(color, team);
             }
         }
         plugin.getDebugLogger().debug("Teams initialized for arena: " + arena.getName()
                 + ", count=" + teams.size());
     }
 
+    private ArenaResetStrategy createResetStrategy() {
+        if (TemplateResetStrategy.NAME.equalsIgnoreCase(arena.getResetStrategy())) {
+            return new TemplateResetStrategy(plugin, arena, worldResetManager);
+        }
+        return new JournalResetStrategy(plugin, worldResetManager);
+    }
+
     private void initializeGenerators() {
         FileConfiguration config = plugin.getConfig();
 
-        boolean ironEnabled = config.getBoolean("generators.iron.enabled", true);
-        boolean goldEnabled = config.getBoolean("generators.gold.enabled", true);
-        boolean diamondEnabled = config.getBoolean("generators.diamond.enabled", true);
-        boolean emeraldEnabled = config.getBoolean("generators.emerald.enabled", true);
-
-        boolean onlyIronGold = config.getBoolean("generators.only-iron-gold", false);
-        if (onlyIronGold) {
-            diamondEnabled = false;
-            emeraldEnabled = false;
+        Map<ResourceGenerator.ResourceType, GeneratorSettings> settings = new EnumMap<>(ResourceGenerator.ResourceType.class);
+        for (ResourceGenerator.ResourceType type : ResourceGenerator.ResourceType.values()) {
+            settings.put(type, GeneratorSettings.fromConfig(config, type));
         }
 
-        int ironTier1Delay = secondsToTicks(config.getDouble("generators.iron.base-delay", 1));
-        int ironTier2Delay = secondsToTicks(config.getDouble("generators.iron.upgraded-delay", 1));
-        int ironSpawnAmount = config.getInt("generators.iron.spawn-amount", 1);
-        int ironMaxStack = config.getInt("generators.iron.max-stack", 64);
-
-        int goldTier1Delay = secondsToTicks(config.getDouble("generators.gold.base-delay", 8));
-        int goldTier2Delay = secondsToTicks(config.getDouble("generators.gold.upgraded-delay", 8));
-        int goldSpawnAmount = config.getInt("generators.gold.spawn-amount", 1);
-        int goldMaxStack = config.getInt("generators.gold.max-stack", 32);
-
-        int diamondTier1Delay = secondsToTicks(config.getDouble("generators.diamond.tier1-delay", 30));
-        int diamondTier2Delay = secondsToTicks(config.getDouble("generators.diamond.tier2-delay", 20));
-        int diamondSpawnAmount = config.getInt("generators.diamond.spawn-amount", 1);
-        int diamondMaxStack = config.getInt("generators.diamond.max-stack", 16);
-
-        int emeraldTier1Delay = secondsToTicks(config.getDouble("generators.emerald.tier1-delay", 60));
-        int emeraldTier2Delay = secondsToTicks(config.getDouble("generators.emerald.tier2-delay", 40));
-        int emeraldSpawnAmount = config.getInt("generators.emerald.spawn-amount", 1);
-        int emeraldMaxStack = config.getInt("generators.emerald.max-stack", 8);
+        ResourceGenerator.OutputMode outputMode =
+                ResourceGenerator.OutputMode.fromConfig(config.getString("generators.output-mode", "drop"));
 
         // Add arena-configured generators by name prefix
         for (Map.Entry<String, Location> entry : arena.getGenerators().entrySet()) {
             ResourceGenerator.ResourceType type = parseGeneratorType(entry.getKey());
             if (type == null) continue;
 
-            if (type == ResourceGenerator.ResourceType.DIAMOND && !diamondEnabled) continue;
-            if (type == ResourceGenerator.ResourceType.EMERALD && !emeraldEnabled) continue;
-            if (type == ResourceGenerator.ResourceType.IRON && !ironEnabled) continue;
-            if (type == ResourceGenerator.ResourceType.GOLD && !goldEnabled) continue;
-
-            int tier1Delay;
-            int tier2Delay;
-            int spawnAmount;
-            int maxStack;
-
-            switch (type) {
-                case IRON -> {
-                    tier1Delay = ironTier1Delay;
-                    tier2Delay = ironTier2Delay;
-                    spawnAmount = ironSpawnAmount;
-                    maxStack = ironMaxStack;
-                }
-                case GOLD -> {
-                    tier1Delay = goldTier1Delay;
-                    tier2Delay = goldTier2Delay;
-                    spawnAmount = goldSpawnAmount;
-                    maxStack = goldMaxStack;
-                }
-                case DIAMOND -> {
-                    tier1Delay = diamondTier1Delay;
-                    tier2Delay = diamondTier2Delay;
-                    spawnAmount = diamondSpawnAmount;
-                    maxStack = diamondMaxStack;
-                }
-                case EMERALD -> {
-                    tier1Delay = emeraldTier1Delay;
-                    tier2Delay = emeraldTier2Delay;
-                    spawnAmount = emeraldSpawnAmount;
-                    maxStack = emeraldMaxStack;
-                }
-                default -> {
-                    continue;
-                }
-            }
+            GeneratorSettings typeSettings = settings.get(type);
+            if (!typeSettings.isEnabled()) continue;
 
-            generators.add(new ResourceGenerator(entry.getValue(), type, 1, tier1Delay, tier2Delay, spawnAmount, maxStack));
+            generators.add(typeSettings.create(entry.getValue(), outputMode));
         }
 
         plugin.getDebugLogger().debug("Generators initialized for arena: " + arena.getName()
-                + ", count=" + generators.size());
+                + ", count=" + generators.size() + ", output=" + outputMode);
     }
 
     /* --------------------------------------------------------------------- */
@@ -217,6 +190,11 @@ public class Game {
             return;
         }
 
+        if (state == GameState.RESETTING) {
+            plugin.getMessageManager().sendMessage(player, "command.arena-resetting");
+            return;
+        }
+
         if (players.size() >= arena.getMaxPlayers()) {
             plugin.getMessageManager().sendMessage(player, "command.game-full");
             return;
@@ -260,8 +238,7 @@ public class Game {
                 + ", arena=" + arena.getName() + ", state=" + state);
 
         // Cancel respawn timer if any
-        BukkitRunnable respawn = respawnTasks.remove(player.getUniqueId());
-        if (respawn != null) respawn.cancel();
+        tickLoop.cancel(player.getUniqueId());
 
         GamePlayer gamePlayer = players.remove(player.getUniqueId());
         if (gamePlayer != null && gamePlayer.getTeam() != null) {
@@ -303,7 +280,7 @@ public class Game {
 
     private void startCountdown() {
         if (state != GameState.WAITING) return;
-        if (countdownTask != null) return;
+        if (tickLoop.isScheduled(COUNTDOWN_JOB)) return;
 
         state = GameState.STARTING;
         cfgCountdownSeconds = plugin.getConfig().getInt("game.countdown-time", 30);
@@ -314,31 +291,33 @@ public class Game {
         plugin.getDebugLogger().debug("Countdown started: arena=" + arena.getName()
                 + ", seconds=" + countdown);
 
-        countdownTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (players.size() < arena.getMinPlayers()) {
-                    cancelCountdown();
-                    return;
-                }
+        // Prepare the next instance of this map while this match runs
+        plugin.getGameManager().getInstancePool().onCountdownStarted(this);
 
-                if (countdown <= 0) {
-                    cancel();
-                    countdownTask = null;
-                    startGame();
-                    return;
-                }
+        tickLoop.schedule(GameTickLoop.Phase.TIMERS, COUNTDOWN_JOB, 0, 20, () -> {
+            if (players.size() < arena.getMinPlayers()) {
+                cancelCountdown();
+                return false;
+            }
 
-                if (shouldBroadcastCountdown(countdown, broadcastIntervals)) {
-                    String color = getCountdownColorCode(countdown);
-                    broadcast("game.countdown", countdown, color);
-                    sendCountdownVisuals(countdown, color);
-                }
+            if (countdown <= 0) {
+                tickLoop.cancel(COUNTDOWN_JOB);
+                startGame();
+                return false;
+            }
 
-                countdown--;
+            if (shouldBroadcastCountdown(countdown, broadcastIntervals)) {
+                int seconds = countdown;
+                String color = getCountdownColorCode(seconds);
+                tickLoop.post(() -> {
+                    broadcast("game.countdown", seconds, color);
+                    sendCountdownVisuals(seconds, color);
+                });
             }
-        };
-        countdownTask.runTaskTimer(plugin, 0L, 20L);
+
+            countdown--;
+            return true;
+        });
     }
 
     private void sendCountdownVisuals(int seconds, String colorCode) {
@@ -362,10 +341,7 @@ public class Game {
     }
 
     private void cancelCountdown() {
-        if (countdownTask != null) {
-            countdownTask.cancel();
-            countdownTask = null;
-        }
+        tickLoop.cancel(COUNTDOWN_JOB);
         if (state == GameState.STARTING) {
             state = GameState.WAITING;
             broadcast("game.countdown-cancelled");
@@ -375,12 +351,9 @@ public class Game {
 
     /** Force start the game (bypass countdown/min players). */
     public void forceStart() {
-        if (state == GameState.RUNNING || state == GameState.ENDING) return;
+        if (state == GameState.RUNNING || state == GameState.ENDING || state == GameState.RESETTING) return;
 
-        if (countdownTask != null) {
-            countdownTask.cancel();
-            countdownTask = null;
-        }
+        tickLoop.cancel(COUNTDOWN_JOB);
         startGame();
     }
 
@@ -399,7 +372,10 @@ public class Game {
                 + ", players=" + players.size());
 
         // Teleport players to their team spawns
+        AchievementsManager achievements = plugin.getAchievementsManager();
         for (GamePlayer gp : players.values()) {
+            if (achievements != null) achievements.beginMatch(gp.getUuid());
+
             Player p = Bukkit.getPlayer(gp.getUuid());
             if (p == null || !p.isOnline()) continue;
 
@@ -415,14 +391,16 @@ public class Game {
             setToMaxHealth(p);
         }
 
-        // Start resource generators
+        // Start resource generators (driven by the shared generator engine)
+        GeneratorEngine generatorEngine = plugin.getGameManager().getGeneratorEngine();
         for (ResourceGenerator generator : generators) {
-            generator.start(plugin);
+            generator.start(generatorEngine);
         }
 
+        openBlockJournal();
         spawnShopVillagers();
         startGameTimer();
-        startHealPoolTask();
+        startAreaEffects();
 
         if (gameScoreboard != null) {
             gameScoreboard.startUpdateTask();
@@ -430,38 +408,34 @@ public class Game {
     }
 
     private void startGameTimer() {
-        if (gameTask != null) return;
+        if (tickLoop.isScheduled(GAME_TIMER_JOB)) return;
 
-        final boolean[] upgraded = new boolean[]{false, false};
-
-        gameTask = new BukkitRunnable() {
+        tickLoop.schedule(GameTickLoop.Phase.TIMERS, GAME_TIMER_JOB, 0, 20, new GameTickLoop.TickJob() {
             int elapsed = 0;
+            boolean diamondUpgraded;
+            boolean emeraldUpgraded;
 
             @Override
-            public void run() {
-                if (state != GameState.RUNNING) {
-                    cancel();
-                    gameTask = null;
-                    return;
-                }
+            public boolean tick() {
+                if (state != GameState.RUNNING) return false;
 
                 elapsed++;
                 gameElapsedSeconds = elapsed;
 
-                if (!upgraded[0] && cfgDiamondUpgradeSeconds > 0 && elapsed >= cfgDiamondUpgradeSeconds) {
-                    upgraded[0] = true;
+                if (!diamondUpgraded && cfgDiamondUpgradeSeconds > 0 && elapsed >= cfgDiamondUpgradeSeconds) {
+                    diamondUpgraded = true;
                     upgradeGenerators(ResourceGenerator.ResourceType.DIAMOND);
-                    broadcast("game.diamond-upgrade");
+                    tickLoop.post(() -> broadcast("game.diamond-upgrade"));
                 }
 
-                if (!upgraded[1] && cfgEmeraldUpgradeSeconds > 0 && elapsed >= cfgEmeraldUpgradeSeconds) {
-                    upgraded[1] = true;
+                if (!emeraldUpgraded && cfgEmeraldUpgradeSeconds > 0 && elapsed >= cfgEmeraldUpgradeSeconds) {
+                    emeraldUpgraded = true;
                     upgradeGenerators(ResourceGenerator.ResourceType.EMERALD);
-                    broadcast("game.emerald-upgrade");
+                    tickLoop.post(() -> broadcast("game.emerald-upgrade"));
                 }
+                return true;
             }
-        };
-        gameTask.runTaskTimer(plugin, 0L, 20L);
+        });
     }
 
     /* --------------------------------------------------------------------- */
@@ -481,25 +455,17 @@ public class Game {
         boolean bedAlive = team != null && team.isBedAlive();
 
         // Cancel any previous respawn timer for this player
-        BukkitRunnable existing = respawnTasks.remove(player.getUniqueId());
-        if (existing != null) existing.cancel();
+        tickLoop.cancel(player.getUniqueId());
 
         if (bedAlive) {
-            BukkitRunnable task = new BukkitRunnable() {
+            // Keyed by UUID: a new death or leaving replaces/cancels the countdown
+            tickLoop.schedule(GameTickLoop.Phase.RESPAWNS, player.getUniqueId(), 0, 20, new GameTickLoop.TickJob() {
                 int remaining = cfgRespawnSeconds;
 
                 @Override
-                public void run() {
-                    if (state != GameState.RUNNING) {
-                        cancel();
-                        respawnTasks.remove(player.getUniqueId());
-                        return;
-                    }
-                    if (!player.isOnline()) {
-                        cancel();
-                        respawnTasks.remove(player.getUniqueId());
-                        return;
-                    }
+                public boolean tick() {
+                    if (state != GameState.RUNNING) return false;
+                    if (!player.isOnline()) return false;
 
                     if (remaining <= 0) {
                         player.spigot().respawn();
@@ -509,27 +475,23 @@ public class Game {
                         setToMaxHealth(player);
 
                         plugin.getMessageManager().sendMessage(player, "game.respawned");
-
-                        cancel();
-                        respawnTasks.remove(player.getUniqueId());
-                        return;
+                        return false;
                     }
 
                     plugin.getMessageManager().sendMessage(player, "game.respawning", remaining);
                     remaining--;
+                    return true;
                 }
-            };
-
-            respawnTasks.put(player.getUniqueId(), task);
-            task.runTaskTimer(plugin, 0L, 20L);
+            });
             return;
         }
 
         // Eliminated
-        gp.setEliminated(true);
-
         if (team != null) {
+            team.eliminate(gp);
             team.removePlayer(gp);
+        } else {
+            gp.setEliminated(true);
         }
 
         spectators.add(player.getUniqueId());
@@ -552,36 +514,40 @@ public class Game {
     }
 
     private void checkWinCondition() {
-        List<Team> aliveTeams = new ArrayList<>();
-        for (Team t : teams.values()) {
-            if (t.hasAlivePlayers()) aliveTeams.add(t);
+        if (aliveTeams > 1) return;
+
+        Team winner = null;
+        if (aliveTeams == 1) {
+            for (Team t : teams.values()) {
+                if (t.hasAlivePlayers()) {
+                    winner = t;
+                    break;
+                }
+            }
         }
+        endGame(winner);
+    }
 
-        if (aliveTeams.size() == 1) {
-            endGame(aliveTeams.get(0));
-        } else if (aliveTeams.isEmpty()) {
-            endGame(null);
+    private void onTeamAliveCountChanged(Team team, int previous, int current) {
+        alivePlayers += current - previous;
+        if (previous == 0 && current > 0) {
+            aliveTeams++;
+        } else if (previous > 0 && current == 0) {
+            aliveTeams--;
         }
     }
 
     public void endGame(Team winningTeam) {
-        if (state == GameState.ENDING) return;
+        if (state == GameState.ENDING || state == GameState.RESETTING) return;
 
         state = GameState.ENDING;
 
         plugin.getDebugLogger().debug("Game ending: arena=" + arena.getName()
                 + ", winner=" + (winningTeam != null ? winningTeam.getColor().name() : "none"));
 
-        // Stop tasks
-        if (gameScoreboard != null) gameScoreboard.stopUpdateTask();
-
-        if (countdownTask != null) { countdownTask.cancel(); countdownTask = null; }
-        if (gameTask != null) { gameTask.cancel(); gameTask = null; }
-
-        stopHealPoolTask();
-
-        for (BukkitRunnable r : respawnTasks.values()) r.cancel();
-        respawnTasks.clear();
+        // Stop tasks (countdown, timer, respawns, heal pool, scoreboard)
+        tickLoop.cancelAll();
+        areaEffects.clear();
 
         // Stop generators
         for (ResourceGenerator generator : generators) generator.stop();
@@ -589,33 +555,35 @@ public class Game {
         clearShopVillagers();
         clearDragonBuffs();
 
-        // Update player stats
+        // Update cached player stats and hand the whole match to the stats writer
+        MatchResult.Builder match = new MatchResult.Builder(arena.getName(),
+                winningTeam != null ? winningTeam.getColor().name() : null);
+        AchievementsManager achievements = plugin.getAchievementsManager();
         for (GamePlayer gp : participants.values()) {
             Player p = Bukkit.getPlayer(gp.getUuid());
             if (p == null) continue;
 
             PlayerStats stats = plugin.getStatsManager().getPlayerStats(p.getUniqueId());
+            boolean won = winningTeam != null && gp.getTeam() == winningTeam;
 
-            if (winningTeam != null && gp.getTeam() == winningTeam) {
+            if (won) {
                 stats.addWin();
-                if (plugin.getAchievementsManager() != null) {
-                    plugin.getAchievementsManager().recordWin(p.getUniqueId());
-                }
             } else {
                 stats.addLoss();
             }
 
-            if (plugin.getAchievementsManager() != null) {
-                plugin.getAchievementsManager().recordGamePlayed(p.getUniqueId());
-            }
-
             stats.setKills(stats.getKills() + gp.getKills());
             stats.setDeaths(stats.getDeaths() + gp.getDeaths());
             stats.setFinalKills(stats.getFinalKills() + gp.getFinalKills());
             stats.setBedsBroken(stats.getBedsBroken() + gp.getBedsBroken());
 
-            plugin.getStatsManager().savePlayerStats(p.getUniqueId(), p.getName());
+            match.addPlayer(new MatchResult.PlayerResult(p.getUniqueId(), p.getName(), won, gp.getKills(),
+                    gp.getDeaths(), gp.getFinalKills(), gp.getBedsBroken(), stats));
+            if (achievements != null) {
+                match.addAchievements(achievements.recordMatchEnd(p.getUniqueId(), won));
+            }
         }
+        matchSave = plugin.getStatsManager().recordMatch(match.build());
 
         if (winningTeam != null) {
             broadcast("game.winner-border");
@@ -626,22 +594,19 @@ public class Game {
         }
 
         // Teleport players back to lobby after delay, then reset game
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Teleport all current game players + spectators
-                for (UUID id : new HashSet<>(players.keySet())) {
-                    Player p = Bukkit.getPlayer(id);
-                    if (p != null) cleanupAndSendToLobby(p);
-                }
-                for (UUID id : new HashSet<>(spectators)) {
-                    Player p = Bukkit.getPlayer(id);
-                    if (p != null) cleanupAndSendToLobby(p);
-                }
-
-                resetGame();
+        tickLoop.scheduleOnce(GameTickLoop.Phase.TIMERS, END_JOB, 100, () -> {
+            // Teleport all current game players + spectators
+            for (UUID id : new HashSet<>(players.keySet())) {
+                Player p = Bukkit.getPlayer(id);
+                if (p != null) cleanupAndSendToLobby(p);
             }
-        }.runTaskLater(plugin, 100L);
+            for (UUID id : new HashSet<>(spectators)) {
+                Player p = Bukkit.getPlayer(id);
+                if (p != null) cleanupAndSendToLobby(p);
+            }
+
+            resetGame();
+        });
     }
 
     private void cleanupAndSendToLobby(Player player) {
@@ -680,23 +645,14 @@ public class Game {
 
     private void resetGame() {
         if (plugin.getConfig().getBoolean("world.reset-on-end", true)) {
-            int blocksReset = worldResetManager.getBlockChangeCount();
-            if (blocksReset > 0) {
-                worldResetManager.resetWorld();
-                broadcast("game.world-reset", blocksReset);
-                plugin.getDebugLogger().debug("World reset completed: blocks=" + blocksReset);
-            }
+            startArenaReset();
         }
 
         clearShopVillagers();
-        stopHealPoolTask();
+        tickLoop.cancelAll();
+        areaEffects.clear();
         clearDragonBuffs();
 
-        // Hide scoreboard from any remaining online players in this game
-        if (gameScoreboard != null) {
-            gameScoreboard.stopUpdateTask();
-        }
-
         spectators.clear();
         players.clear();
         participants.clear();
@@ -708,10 +664,77 @@ public class Game {
             team.reset();
         }
 
+        // A reset still in progress keeps the arena in RESETTING; its completion moves it back to WAITING
+        if (state == GameState.RESETTING) return;
+
+        discardBlockJournal();
         state = GameState.WAITING;
         plugin.getDebugLogger().debug("Game reset to WAITING: arena=" + arena.getName());
     }
 
+    /**
+     * Hand the arena over to its reset strategy. The arena stays in RESETTING (joins refused)
+     * until the strategy reports completion, which may already happen inside this call.
+     */
+    private void startArenaReset() {
+        if (!resetStrategy.needsReset()) return;
+
+        state = GameState.RESETTING;
+        worldResetManager.setJournal(null);
+        plugin.getDebugLogger().debug("Arena reset started: arena=" + arena.getName()
+                + ", strategy=" + resetStrategy.getName()
+                + ", blocks=" + worldResetManager.getBlockChangeCount()
+                + ", journal=[" + worldResetManager.describeHeapUsage() + "]");
+
+        resetStrategy.reset(new WorldResetManager.ResetListener() {
+            @Override
+            public void onProgress(int restored, int total) {
+                plugin.getDebugLogger().debug("World reset progress: arena=" + arena.getName()
+                        + ", " + restored + "/" + total + " (" + (restored * 100 / Math.max(1, total)) + "%)");
+            }
+
+            @Override
+            public void onComplete(int restored, long durationNanos) {
+                if (restored > 0) {
+                    broadcast("game.world-reset", restored);
+                }
+                plugin.getLogger().info("Arena " + arena.getName() + " reset via " + resetStrategy.getName()
+                        + " in " + formatMillis(durationNanos) + "ms (" + restored + " restored)");
+                discardBlockJournal();
+                state = GameState.WAITING;
+            }
+        });
+    }
+
+    private void openBlockJournal() {
+        BlockJournalStore store = plugin.getGameManager().getJournalStore();
+        if (store == null || blockJournal != null) return;
+        // Instance worlds are deleted after a crash, there is nothing to recover
+        if (arena.isInstance()) return;
+
+        blockJournal = store.open(arena.getName());
+        worldResetManager.setJournal(blockJournal);
+    }
+
+    /**
+     * The arena no longer needs recovery (restored, or reset disabled).
+     */
+    private void discardBlockJournal() {
+        worldResetManager.setJournal(null);
+        if (blockJournal == null) return;
+
+        plugin.getGameManager().getJournalStore().discard(blockJournal);
+        blockJournal = null;
+    }
+
+    /**
+     * Finish a running arena reset synchronously (used on shutdown).
+     */
+    public void finishReset() {
+        if (state != GameState.RESETTING) return;
+        resetStrategy.finishNow();
+    }
+
     private void spawnShopVillagers() {
         clearShopVillagers();
 
@@ -849,6 +872,20 @@ public class Game {
         return cfgEmeraldUpgradeSeconds > 0 ? cfgEmeraldUpgradeSeconds : plugin.getConfig().getInt("game.emerald-upgrade-time", 1440);
     }
 
+    /**
+     * Non-eliminated players across all teams (O(1)).
+     */
+    public int getAlivePlayerCount() {
+        return alivePlayers;
+    }
+
+    /**
+     * Teams with at least one non-eliminated player (O(1)).
+     */
+    public int getAliveTeamCount() {
+        return aliveTeams;
+    }
+
     public Arena getArena() {
         return arena;
     }
@@ -869,10 +906,29 @@ public class Game {
         return players.get(uuid);
     }
 
+    /**
+     * Completes once the stats of the last finished match are in the database.
+     */
+    public CompletableFuture<Void> getMatchSaveFuture() {
+        return matchSave;
+    }
+
+    public BaseAreaEffects getAreaEffects() {
+        return areaEffects;
+    }
+
+    public GameTickLoop getTickLoop() {
+        return tickLoop;
+    }
+
     public WorldResetManager getWorldResetManager() {
         return worldResetManager;
     }
 
+    public ArenaResetStrategy getResetStrategy() {
+        return resetStrategy;
+    }
+
     public Set<UUID> getSpectators() {
         return spectators;
     }
@@ -937,8 +993,8 @@ public class Game {
         if (team == null || upgradeId == null) return;
 
         String id = upgradeId.toLowerCase(Locale.ROOT);
-        if (id.equals("heal-pool")) {
-            startHealPoolTask();
+        if (id.equals(HealPoolEffect.ID)) {
+            startAreaEffects();
             return;
         }
 
@@ -947,51 +1003,22 @@ public class Game {
         }
     }
 
-    private void startHealPoolTask() {
-        if (healPoolTask != null) return;
-
-        double radius = plugin.getConfig().getDouble("upgrades.heal-pool.radius", 6.0);
-        int amplifier = plugin.getConfig().getInt("upgrades.heal-pool.amplifier", 0);
-        int durationTicks = plugin.getConfig().getInt("upgrades.heal-pool.duration-ticks", 60);
-
-        healPoolTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (state != GameState.RUNNING && state != GameState.ENDING) return;
-
-                for (Team team : teams.values()) {
-                    if (!team.getUpgrades().hasHealPool()) continue;
-
-                    Location base = getTeamBaseLocation(team);
-                    if (base == null || base.getWorld() == null) continue;
-
-                    for (GamePlayer gp : team.getPlayers()) {
-                        Player p = Bukkit.getPlayer(gp.getUuid());
-                        if (p == null) continue;
-                        if (p.getWorld() != base.getWorld()) continue;
-
-                        if (p.getLocation().distance(base) <= radius) {
-                            p.addPotionEffect(new PotionEffect(
-                                    PotionEffectType.REGENERATION,
-                                    durationTicks,
-                                    amplifier,
-                                    false,
-                                    false
-                            ));
-                        }
-                    }
-                }
-            }
-        };
-
-        healPoolTask.runTaskTimer(plugin, 0L, 20L);
-        plugin.getDebugLogger().debug("Heal pool task started: arena=" + arena.getName());
-    }
-
-    private void stopHealPoolTask() {
-        if (healPoolTask == null) return;
-        healPoolTask.cancel();
-        healPoolTask = null;
+    /**
+     * (Re)build the base area effects from config and run them once a second.
+     * Idempotent while running; heal pool and future base upgrades share the one scan.
+     */
+    private void startAreaEffects() {
+        if (tickLoop.isScheduled(AREA_EFFECTS_JOB)) return;
+
+        areaEffects.clear();
+        areaEffects.register(new HealPoolEffect(plugin.getConfig(), AREA_EFFECTS_PERIOD_TICKS));
+
+        tickLoop.schedule(GameTickLoop.Phase.AREA_EFFECTS, AREA_EFFECTS_JOB, 0, AREA_EFFECTS_PERIOD_TICKS, () -> {
+            if (state != GameState.RUNNING && state != GameState.ENDING) return true;
+            areaEffects.tick();
+            return true;
+        });
+        plugin.getDebugLogger().debug("Base area effects started: arena=" + arena.getName());
     }
 
     private void spawnDragonBuff(Team team) {
@@ -1068,8 +1095,8 @@ public class Game {
         return null;
     }
 
-    private int secondsToTicks(double seconds) {
-        return Math.max(1, (int) Math.round(seconds * 20.0));
+    private String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
     }
 
     private void setToMaxHealth(Player p) {
@@ -2,12 +2,18 @@ package ch.framedev.bedwars.game;
 
 import ch.framedev.BedWarsPlugin;
 import ch.framedev.bedwars.arena.ArenaManager;
+import ch.framedev.bedwars.generators.GeneratorEngine;
 import org.bukkit.entity.Player;
 
 import java.util.*;
 
 /**
  * Manages all BedWars games
+ * <p>
+ * Notes:
+ * - One game per configured arena, plus pooled instances of arenas (see {@link ArenaInstancePool}),
+ *   registered under their instance name (e.g. "castle#2")
+ * - Joins should go through {@link #getJoinableGame(String, int)} so they are spread over instances
  */
 public class GameManager {
 
@@ -15,14 +21,27 @@ public class GameManager {
     private final ArenaManager arenaManager;
     private final Map<String, Game> games;
     private final Map<UUID, Game> playerGames;
+    private final BlockJournalStore journalStore;
+    private final GeneratorEngine generatorEngine;
+    private final ArenaInstancePool instancePool;
 
     public GameManager(BedWarsPlugin plugin, ArenaManager arenaManager) {
         this.plugin = plugin;
         this.arenaManager = arenaManager;
         this.games = new HashMap<>();
         this.playerGames = new HashMap<>();
+        this.generatorEngine = new GeneratorEngine(plugin);
+
+        // Revert arenas left dirty by an unclean shutdown before anyone can join them
+        if (plugin.getConfig().getBoolean("world.crash-journal.enabled", true)) {
+            this.journalStore = new BlockJournalStore(plugin);
+            journalStore.recover();
+        } else {
+            this.journalStore = null;
+        }
 
         loadArenas();
+        this.instancePool = new ArenaInstancePool(plugin, this);
         plugin.getLogger().info("GameManager initialized with " + games.size() + " games loaded");
     }
 
@@ -43,6 +62,25 @@ public class GameManager {
         return games.get(name);
     }
 
+    /**
+     * Game of an arena that {@code slots} players can join (the arena's own game or one of its instances).
+     * Instance names resolve to that instance only.
+     */
+    public Game getJoinableGame(String name, int slots) {
+        Game game = games.get(name);
+        if (game == null || game.getArena().isInstance()) return game;
+        return instancePool.select(game, Math.max(1, slots));
+    }
+
+    /**
+     * Empty WAITING game of an arena for a whole queue (map voting), or the arena's own game.
+     */
+    public Game getEmptyGame(String name) {
+        Game game = games.get(name);
+        if (game == null || game.getArena().isInstance()) return game;
+        return instancePool.selectEmpty(game);
+    }
+
     public Game getPlayerGame(Player player) {
         return playerGames.get(player.getUniqueId());
     }
@@ -74,9 +112,44 @@ public class GameManager {
         }
     }
 
+    void registerInstance(Game game) {
+        games.put(game.getArena().getName(), game);
+    }
+
+    void unregisterInstance(Game game) {
+        games.remove(game.getArena().getName(), game);
+    }
+
+    public ArenaInstancePool getInstancePool() {
+        return instancePool;
+    }
+
+    public BlockJournalStore getJournalStore() {
+        return journalStore;
+    }
+
+    public GeneratorEngine getGeneratorEngine() {
+        return generatorEngine;
+    }
+
+    /**
+     * Unload arena instances, stop the generator engine and flush and close the block journals
+     * (call after {@link #stopAllGames()}).
+     */
+    public void shutdown() {
+        instancePool.shutdown();
+        generatorEngine.shutdown();
+        if (journalStore != null) {
+            journalStore.shutdown();
+        }
+    }
+
     public void stopAllGames() {
-        for (Game game : games.values()) {
-            if (game.getState() != GameState.WAITING) {
+        for (Game game : new ArrayList<>(games.values())) {
+            if (game.getState() == GameState.RESETTING) {
+                plugin.getDebugLogger().debug("Finishing arena reset: " + game.getArena().getName());
+                game.finishReset();
+            } else if (game.getState() != GameState.WAITING) {
                 plugin.getDebugLogger().debug("Stopping game: " + game.getArena().getName());
                 game.endGame(null);
             }
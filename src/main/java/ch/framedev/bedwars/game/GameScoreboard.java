@@ -2,11 +2,11 @@ package ch.framedev.bedwars.game;
 
 import ch.framedev.BedWarsPlugin;
 import ch.framedev.bedwars.player.GamePlayer;
+import ch.framedev.bedwars.player.PlayerDataCache;
 import ch.framedev.bedwars.team.Team;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
@@ -34,17 +34,18 @@ public class GameScoreboard {
         }
     }
 
+    private static final String UPDATE_JOB = "scoreboard";
+
     private final BedWarsPlugin plugin;
     private final Game game;
 
-    private BukkitRunnable updateTask;
-
-    // player -> (lineIndex -> team)
-    private final Map<UUID, Map<Integer, org.bukkit.scoreboard.Team>> lineTeams = new HashMap<>();
+    // player -> (lineIndex -> team); shared by all games (a player is in one game at a time)
+    private final PlayerDataCache<Map<Integer, org.bukkit.scoreboard.Team>> lineTeams;
 
     public GameScoreboard(BedWarsPlugin plugin, Game game) {
         this.plugin = plugin;
         this.game = game;
+        this.lineTeams = plugin.getPlayerDataService().getCache("scoreboard-lines");
     }
 
     public void show(Player player) {
@@ -65,6 +66,8 @@ public class GameScoreboard {
         }
 
         player.setScoreboard(sb);
+        // Teams cached for a previous scoreboard belong to that board
+        lineTeams.remove(player.getUniqueId());
         ensureTeams(player, sb);
         update(player);
     }
@@ -171,6 +174,11 @@ public class GameScoreboard {
             return lines;
         }
 
+        if (state == GameState.RESETTING) {
+            lines.add(ChatColor.GRAY + "Resetting arena...");
+            return lines;
+        }
+
         // RUNNING
         int elapsed = game.getGameElapsedSeconds();
         lines.add(ChatColor.AQUA + "Time: " + ChatColor.WHITE + formatTime(elapsed));
@@ -191,7 +199,7 @@ public class GameScoreboard {
 
         for (Team team : teams) {
             String bed = team.isBedAlive() ? (ChatColor.GREEN + "✓") : (ChatColor.RED + "✗");
-            long alive = team.getPlayers().stream().filter(p -> !p.isEliminated()).count();
+            int alive = team.aliveCount();
             lines.add(" " + team.getColor().getChatColor() + team.getColor().name()
                     + ChatColor.GRAY + ": " + bed + ChatColor.GRAY + " (" + alive + ")");
         }
@@ -275,41 +283,36 @@ public class GameScoreboard {
         }
     }
 
+    /**
+     * Refresh all viewers once a second in the game's SCOREBOARD tick phase.
+     */
     public void startUpdateTask() {
-        if (updateTask != null) return;
-
-        updateTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                GameState state = game.getState();
-                if (state != GameState.WAITING && state != GameState.STARTING
-                        && state != GameState.RUNNING && state != GameState.ENDING) {
-                    cancel();
-                    updateTask = null;
-                    return;
-                }
-
-                // Players
-                for (GamePlayer gp : game.getPlayers().values()) {
-                    Player p = Bukkit.getPlayer(gp.getUuid());
-                    if (p != null && p.isOnline()) update(p);
-                }
-                // Spectators
-                for (UUID specId : game.getSpectators()) {
-                    Player p = Bukkit.getPlayer(specId);
-                    if (p != null && p.isOnline()) update(p);
-                }
+        GameTickLoop loop = game.getTickLoop();
+        if (loop.isScheduled(UPDATE_JOB)) return;
+
+        // 1 Hz is fine for time; if you want smoother, use 10 ticks, but avoid heavy work
+        loop.schedule(GameTickLoop.Phase.SCOREBOARD, UPDATE_JOB, 20, 20, () -> {
+            GameState state = game.getState();
+            if (state != GameState.WAITING && state != GameState.STARTING
+                    && state != GameState.RUNNING && state != GameState.ENDING) {
+                return false;
             }
-        };
 
-        // 1 Hz is fine for time; if you want smoother, do 10 ticks, but avoid heavy work
-        updateTask.runTaskTimer(plugin, 20L, 20L);
+            // Players
+            for (GamePlayer gp : game.getPlayers().values()) {
+                Player p = Bukkit.getPlayer(gp.getUuid());
+                if (p != null && p.isOnline()) update(p);
+            }
+            // Spectators
+            for (UUID specId : game.getSpectators()) {
+                Player p = Bukkit.getPlayer(specId);
+                if (p != null && p.isOnline()) update(p);
+            }
+            return true;
+        });
     }
 
     public void stopUpdateTask() {
-        if (updateTask != null) {
-            updateTask.cancel();
-            updateTask = null;
-        }
+        game.getTickLoop().cancel(UPDATE_JOB);
     }
 }
\ No newline at end of file
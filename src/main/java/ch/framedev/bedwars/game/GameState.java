@@ -7,5 +7,6 @@ public enum GameState {
     WAITING, // Waiting for players
     STARTING, // Countdown before game starts
     RUNNING, // Game in progress
-    ENDING // Game ending/cleanup
+    ENDING, // Game ending/cleanup
+    RESETTING // Arena blocks are being restored; joins are refused
 }
@@ -0,0 +1,307 @@
+package ch.framedev.bedwars.game;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single tick loop of one game; replaces the per-feature BukkitRunnables.
+ * <p>
+ * Notes:
+ * - One scheduler task per game, running every tick only while work is registered
+ * - Work runs in fixed phase order: timers, respawns, area effects, scoreboard, broadcasts
+ * - Jobs are registered under a key (e.g. "countdown", a player UUID) with a delay and period;
+ *   registering the same key again replaces the job, a job returning false unregisters itself
+ * - Broadcasts posted during a tick are sent in the last phase, after timers and scoreboards
+ * - {@link #cancelAll()} stops all game work at once
+ * - Each phase is timed; averages/maxima go to the debug log once a minute
+ */
+public final class GameTickLoop {
+
+    /** Execution order within a tick. */
+    public enum Phase {
+        TIMERS,
+        RESPAWNS,
+        AREA_EFFECTS,
+        SCOREBOARD,
+        BROADCASTS
+    }
+
+    /**
+     * Work run by the loop.
+     */
+    @FunctionalInterface
+    public interface TickJob {
+        /**
+         * @return false to unregister the job
+         */
+        boolean tick();
+    }
+
+    /** How often (in ticks) phase timings go to the debug log. */
+    private static final int REPORT_INTERVAL_TICKS = 1200;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final BedWarsPlugin plugin;
+    private final String name;
+
+    @SuppressWarnings("unchecked")
+    private final List<Job>[] jobs = new List[PHASES.length];
+    private final boolean[] dirty = new boolean[PHASES.length];
+    private final Map<Object, Job> byKey = new HashMap<>();
+    private List<Runnable> broadcasts = new ArrayList<>();
+
+    private BukkitTask task;
+    private long currentTick;
+    private boolean ticking;
+
+    /* Timings over the current report window */
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final long[] phaseMaxNanos = new long[PHASES.length];
+    private int windowTicks;
+
+    GameTickLoop(BedWarsPlugin plugin, String name) {
+        this.plugin = plugin;
+        this.name = name;
+        for (int i = 0; i < PHASES.length; i++) {
+            jobs[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Register (or replace) a repeating job.
+     *
+     * @param delayTicks  ticks until the first run (0 = this/next tick)
+     * @param periodTicks ticks between runs
+     */
+    public void schedule(Phase phase, Object key, int delayTicks, int periodTicks, TickJob job) {
+        cancel(key);
+
+        Job entry = new Job(phase, key, Math.max(1, periodTicks), job);
+        entry.nextTick = currentTick + Math.max(0, delayTicks) + (ticking ? 1 : 0);
+        jobs[phase.ordinal()].add(entry);
+        byKey.put(key, entry);
+        ensureRunning();
+    }
+
+    /**
+     * Run a job once after {@code delayTicks}.
+     */
+    public void scheduleOnce(Phase phase, Object key, int delayTicks, Runnable action) {
+        schedule(phase, key, delayTicks, 1, () -> {
+            action.run();
+            return false;
+        });
+    }
+
+    /**
+     * Queue a broadcast for the BROADCASTS phase of the current (or next) tick.
+     */
+    public void post(Runnable broadcast) {
+        broadcasts.add(broadcast);
+        ensureRunning();
+    }
+
+    /**
+     * @return true if a job was registered under the key
+     */
+    public boolean cancel(Object key) {
+        Job job = byKey.remove(key);
+        if (job == null) return false;
+
+        job.cancelled = true;
+        dirty[job.phase.ordinal()] = true;
+        if (!ticking) {
+            compact();
+            stopIfIdle();
+        }
+        return true;
+    }
+
+    public boolean isScheduled(Object key) {
+        return byKey.containsKey(key);
+    }
+
+    /**
+     * Stop all work of this game (jobs and queued broadcasts).
+     */
+    public void cancelAll() {
+        for (Job job : byKey.values()) {
+            job.cancelled = true;
+            dirty[job.phase.ordinal()] = true;
+        }
+        byKey.clear();
+        broadcasts.clear();
+        if (!ticking) {
+            compact();
+            stopIfIdle();
+        }
+    }
+
+    public int getJobCount() {
+        return byKey.size();
+    }
+
+    /**
+     * Average time per tick spent in a phase over the current report window.
+     */
+    public long getAverageNanos(Phase phase) {
+        return windowTicks == 0 ? 0 : phaseNanos[phase.ordinal()] / windowTicks;
+    }
+
+    /**
+     * Longest single run of a phase in the current report window.
+     */
+    public long getMaxNanos(Phase phase) {
+        return phaseMaxNanos[phase.ordinal()];
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal                                                               */
+    /* --------------------------------------------------------------------- */
+
+    private void tick() {
+        long now = ++currentTick;
+        ticking = true;
+        try {
+            for (Phase phase : PHASES) {
+                long start = System.nanoTime();
+                if (phase == Phase.BROADCASTS) {
+                    flushBroadcasts();
+                }
+                runPhase(phase, now);
+                record(phase.ordinal(), System.nanoTime() - start);
+            }
+        } finally {
+            ticking = false;
+        }
+
+        compact();
+        report();
+        stopIfIdle();
+    }
+
+    private void runPhase(Phase phase, long now) {
+        List<Job> list = jobs[phase.ordinal()];
+        // Jobs added while running this phase start on a later tick
+        int size = list.size();
+        for (int i = 0; i < size; i++) {
+            Job job = list.get(i);
+            if (job.cancelled || now < job.nextTick) continue;
+
+            boolean keep;
+            try {
+                keep = job.body.tick();
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Game tick job " + job.key + " (" + name + ") failed, removing it: " + e);
+                keep = false;
+            }
+
+            if (!keep) {
+                cancel(job.key, job);
+            } else {
+                job.nextTick = now + job.period;
+            }
+        }
+    }
+
+    private void flushBroadcasts() {
+        if (broadcasts.isEmpty()) return;
+
+        List<Runnable> batch = broadcasts;
+        broadcasts = new ArrayList<>();
+        for (Runnable broadcast : batch) {
+            try {
+                broadcast.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Game broadcast (" + name + ") failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Unregister a job that ended itself (only if it wasn't replaced under the same key meanwhile).
+     */
+    private void cancel(Object key, Job job) {
+        if (byKey.get(key) == job) {
+            byKey.remove(key);
+        }
+        job.cancelled = true;
+        dirty[job.phase.ordinal()] = true;
+    }
+
+    private void compact() {
+        for (int i = 0; i < PHASES.length; i++) {
+            if (!dirty[i]) continue;
+            jobs[i].removeIf(job -> job.cancelled);
+            dirty[i] = false;
+        }
+    }
+
+    private void ensureRunning() {
+        if (task != null || !plugin.isEnabled()) return;
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private void stopIfIdle() {
+        if (task == null || !byKey.isEmpty() || !broadcasts.isEmpty()) return;
+
+        task.cancel();
+        task = null;
+    }
+
+    private void record(int phase, long nanos) {
+        phaseNanos[phase] += nanos;
+        if (nanos > phaseMaxNanos[phase]) phaseMaxNanos[phase] = nanos;
+    }
+
+    private void report() {
+        if (++windowTicks < REPORT_INTERVAL_TICKS) return;
+
+        if (plugin.getDebugLogger().isEnabled()) {
+            StringBuilder sb = new StringBuilder("Game tick: arena=").append(name)
+                    .append(", jobs=").append(byKey.size());
+            for (Phase phase : PHASES) {
+                sb.append(", ").append(phase.name().toLowerCase(Locale.ROOT)).append('=')
+                        .append(getAverageNanos(phase) / 1000).append("us/")
+                        .append(phaseMaxNanos[phase.ordinal()] / 1000).append("us");
+            }
+            plugin.getDebugLogger().debug(sb.append(" (avg/max)").toString());
+        }
+
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseNanos[i] = 0;
+            phaseMaxNanos[i] = 0;
+        }
+        windowTicks = 0;
+    }
+
+    private static final class Job {
+        private final Phase phase;
+        private final Object key;
+        private final int period;
+        private final TickJob body;
+        private long nextTick;
+        private boolean cancelled;
+
+        private Job(Phase phase, Object key, int period, TickJob body) {
+            this.phase = phase;
+            this.key = key;
+            this.period = period;
+            this.body = body;
+        }
+    }
+}
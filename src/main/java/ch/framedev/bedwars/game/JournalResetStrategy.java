@@ -0,0 +1,51 @@
+package ch.framedev.bedwars.game;
+
+import ch.framedev.BedWarsPlugin;
+
+/**
+ * Resets an arena by replaying the block journal of {@link WorldResetManager},
+ * either in one pass or incrementally (world.reset-mode).
+ */
+public class JournalResetStrategy implements ArenaResetStrategy {
+
+    public static final String NAME = "journal";
+
+    private final BedWarsPlugin plugin;
+    private final WorldResetManager worldResetManager;
+
+    public JournalResetStrategy(BedWarsPlugin plugin, WorldResetManager worldResetManager) {
+        this.plugin = plugin;
+        this.worldResetManager = worldResetManager;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean needsReset() {
+        return worldResetManager.getBlockChangeCount() > 0;
+    }
+
+    @Override
+    public void reset(WorldResetManager.ResetListener listener) {
+        String mode = plugin.getConfig().getString("world.reset-mode", "instant");
+        if ("incremental".equalsIgnoreCase(mode)) {
+            long budgetNanos = plugin.getConfig().getLong("world.reset-tick-budget-nanos", 2_000_000L);
+            if (worldResetManager.resetWorldIncremental(plugin, budgetNanos, listener)) {
+                return;
+            }
+        }
+
+        int blocks = worldResetManager.getBlockChangeCount();
+        long start = System.nanoTime();
+        worldResetManager.resetWorld();
+        listener.onComplete(blocks, System.nanoTime() - start);
+    }
+
+    @Override
+    public void finishNow() {
+        worldResetManager.finishIncrementalReset();
+    }
+}
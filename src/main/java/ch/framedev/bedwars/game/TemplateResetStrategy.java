@@ -0,0 +1,239 @@
+package ch.framedev.bedwars.game;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resets an arena by reloading its world from a read-only template folder.
+ * <p>
+ * Notes:
+ * - Auto-save is disabled on the arena world, so match changes normally never reach the disk
+ * - On reset the world is unloaded without saving; files that differ from the template
+ *   (size or modification time) are copied back and files the template doesn't have are deleted,
+ *   so only region files touched by a save are copied
+ * - Files are copied, not hard-linked: the server writes region files in place, which would
+ *   corrupt the template through a link
+ * - File work runs off the main thread; unloading/loading the world stays on the main thread
+ * - Falls back to the block journal when the world can't be unloaded (e.g. players still in it)
+ */
+public class TemplateResetStrategy implements ArenaResetStrategy {
+
+    public static final String NAME = "template";
+
+    /** Files owned by the running server, never copied from/to the template. */
+    private static final Set<String> SKIPPED_FILES = Set.of("session.lock", "uid.dat");
+
+    private final BedWarsPlugin plugin;
+    private final Arena arena;
+    private final WorldResetManager worldResetManager;
+    private final JournalResetStrategy fallback;
+    private final String worldName;
+    private final Path templateDir;
+
+    /** Reset waiting for its file sync / world reload, or null. */
+    private PendingReset pending;
+
+    public TemplateResetStrategy(BedWarsPlugin plugin, Arena arena, WorldResetManager worldResetManager) {
+        this.plugin = plugin;
+        this.arena = arena;
+        this.worldResetManager = worldResetManager;
+        this.fallback = new JournalResetStrategy(plugin, worldResetManager);
+        this.worldName = arena.getWorldName();
+
+        this.templateDir = plugin.getDataFolder().toPath().resolve(templateFolderOf(arena)).normalize();
+
+        prepareWorld();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean needsReset() {
+        // Entities, drops and unsaved chunks are discarded too, not only tracked blocks
+        return true;
+    }
+
+    @Override
+    public void reset(WorldResetManager.ResetListener listener) {
+        World world = worldName == null ? null : Bukkit.getWorld(worldName);
+        if (world == null || !Files.isDirectory(templateDir)) {
+            plugin.getLogger().warning("Template reset unavailable for arena " + arena.getName()
+                    + " (world=" + worldName + ", template=" + templateDir + "), using block journal");
+            fallback.reset(listener);
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<Location> bound = arena.getLocationsIn(world);
+        Path worldDir = world.getWorldFolder().toPath();
+
+        if (!Bukkit.unloadWorld(world, false)) {
+            plugin.getLogger().warning("Could not unload world " + worldName + " for arena " + arena.getName()
+                    + " (players still inside?), using block journal");
+            fallback.reset(listener);
+            return;
+        }
+
+        // Changes are discarded with the world; the journal is no longer needed
+        worldResetManager.clear();
+
+        PendingReset reset = new PendingReset(listener, bound, worldDir, start);
+        pending = reset;
+        plugin.getDebugLogger().debug("Template reset: unloaded " + worldName + ", syncing from " + templateDir);
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            int copied = syncFromTemplate(worldDir);
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> complete(reset, copied));
+        });
+    }
+
+    @Override
+    public void finishNow() {
+        PendingReset reset = pending;
+        if (reset == null) return;
+        complete(reset, syncFromTemplate(reset.worldDir));
+    }
+
+    /**
+     * Template folder of an arena, relative to the plugin folder.
+     */
+    static String templateFolderOf(Arena arena) {
+        String folder = arena.getTemplateFolder();
+        if (folder == null || folder.isBlank()) {
+            folder = "templates/" + arena.getWorldName();
+        }
+        return folder;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal                                                               */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Disable auto-save and create the template from the live world if it doesn't exist yet.
+     */
+    private void prepareWorld() {
+        World world = worldName == null ? null : Bukkit.getWorld(worldName);
+        if (world == null) {
+            plugin.getLogger().warning("Arena " + arena.getName() + " uses template reset but its world is not loaded");
+            return;
+        }
+
+        world.setAutoSave(false);
+        if (Files.isDirectory(templateDir)) return;
+
+        world.save();
+        try {
+            copyTree(world.getWorldFolder().toPath(), templateDir);
+            plugin.getLogger().info("Created template for arena " + arena.getName() + " at " + templateDir);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to create template for arena " + arena.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void complete(PendingReset reset, int copied) {
+        if (pending != reset) return; // already completed (finishNow)
+        pending = null;
+
+        World world = new WorldCreator(worldName).createWorld();
+        if (world == null) {
+            plugin.getLogger().severe("Failed to reload world " + worldName + " for arena " + arena.getName());
+        } else {
+            world.setAutoSave(false);
+            // Arena locations still point at the unloaded world instance
+            for (Location location : reset.bound) {
+                location.setWorld(world);
+            }
+        }
+
+        reset.listener.onComplete(copied, System.nanoTime() - reset.startNanos);
+    }
+
+    /**
+     * Make the world folder match the template.
+     *
+     * @return number of files copied or deleted
+     */
+    private synchronized int syncFromTemplate(Path worldDir) {
+        int changed = 0;
+        try {
+            for (Path source : listFiles(templateDir)) {
+                Path target = worldDir.resolve(templateDir.relativize(source).toString());
+                if (isUnchanged(source, target)) continue;
+
+                Files.createDirectories(target.getParent());
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                changed++;
+            }
+
+            for (Path file : listFiles(worldDir)) {
+                if (!Files.exists(templateDir.resolve(worldDir.relativize(file).toString()))) {
+                    Files.delete(file);
+                    changed++;
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to restore world " + worldName + " from template: " + e.getMessage());
+        }
+        return changed;
+    }
+
+    static void copyTree(Path from, Path to) throws IOException {
+        for (Path source : listFiles(from)) {
+            Path target = to.resolve(from.relativize(source).toString());
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+    /**
+     * Regular files below a folder, excluding server-owned files.
+     */
+    static List<Path> listFiles(Path root) throws IOException {
+        if (!Files.isDirectory(root)) return new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile)
+                    .filter(p -> !SKIPPED_FILES.contains(p.getFileName().toString()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isUnchanged(Path source, Path target) throws IOException {
+        if (!Files.exists(target)) return false;
+        BasicFileAttributes a = Files.readAttributes(source, BasicFileAttributes.class);
+        BasicFileAttributes b = Files.readAttributes(target, BasicFileAttributes.class);
+        return a.size() == b.size() && a.lastModifiedTime().equals(b.lastModifiedTime());
+    }
+
+    private static final class PendingReset {
+        private final WorldResetManager.ResetListener listener;
+        private final List<Location> bound;
+        private final Path worldDir;
+        private final long startNanos;
+
+        private PendingReset(WorldResetManager.ResetListener listener, List<Location> bound, Path worldDir, long startNanos) {
+            this.listener = listener;
+            this.bound = bound;
+            this.worldDir = worldDir;
+            this.startNanos = startNanos;
+        }
+    }
+}
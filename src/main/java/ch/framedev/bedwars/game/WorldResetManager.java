@@ -1,52 +1,76 @@
 package ch.framedev.bedwars.game;
 
+import ch.framedev.bedwars.utils.IntHashSet;
+import ch.framedev.bedwars.utils.IntIntHashMap;
+import ch.framedev.bedwars.utils.LongObjectHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 /**
  * Manages world changes during a game for reset after game ends.
  * <p>
  * Fixes / improvements:
- * - O(1) lookup for "isPlayerPlacedBlock" (no stream scan)
+ * - O(1), allocation-free lookup for "isPlayerPlacedBlock" (no stream scan)
  * - Correctly records BROKEN block "original state" BEFORE it is changed
- * - Avoids duplicate entries by keying by immutable BlockPos
+ * - Journal is keyed per world, grouped by chunk (packed long key), with packed int
+ *   chunk-local positions in primitive open-addressing tables (a few bytes per block)
+ * - Original states are interned in a per-arena palette; entries only store its index
+ * - Reset walks one chunk at a time, so each chunk is loaded and dirtied once
  * - Safer world handling (skips if world unloaded)
  * - Uses setType(..., false) / setBlockData(..., false) to avoid physics explosions during reset
+ * - Optional incremental reset that spreads the restore across ticks under a per-tick time budget
  */
 public class WorldResetManager {
 
-    /** Blocks placed by players during the match -> remove (set AIR) on reset. */
-    private final Set<BlockPos> placedBlocks = new HashSet<>();
+    /** How often (in ticks) an incremental reset reports progress. */
+    private static final int PROGRESS_INTERVAL_TICKS = 20;
 
-    /**
-     * Blocks broken/modified during the match -> restore original state on reset.
-     * Keyed by position to keep only the first/original state.
-     */
-    private final Map<BlockPos, SavedBlockState> brokenBlocks = new HashMap<>();
+    /** Chunk-local keys: bit 20 set (never 0), y + 2048 in bits 8..19, z in 4..7, x in 0..3. */
+    private static final int LOCAL_MARKER = 1 << 20;
+    private static final int Y_OFFSET = 2048;
+
+    /** World name -> (packed chunk key -> changes in that chunk). */
+    private Map<String, LongObjectHashMap<ChunkJournal>> worlds = new HashMap<>();
+
+    /** Interned original block states, shared by all entries (kept across matches). */
+    private final BlockStatePalette palette = new BlockStatePalette();
 
-    /** Optional tracking (not strictly needed, but kept in case you want special bed logic later). */
-    private final Set<BlockPos> originalBedLocations = new HashSet<>();
+    /** Total number of tracked changes (placed + broken). */
+    private int changeCount;
+
+    /** Running incremental reset, or null if none is in progress. */
+    private IncrementalReset incrementalReset;
+
+    /** Crash-safe on-disk copy of new entries, or null if disabled/detached. */
+    private BlockChangeJournal journal;
 
     /**
      * Record a block that was placed by a player.
      * On reset, this block will be removed.
      */
     public void recordPlacedBlock(Block block) {
-        if (block == null) {
-            return;
-        } else {
-            block.getWorld();
+        if (block == null) return;
+
+        String worldName = block.getWorld().getName();
+        ChunkJournal chunk = chunkFor(worldName, block.getX(), block.getZ());
+        if (chunk.placed.add(localKey(block.getX(), block.getY(), block.getZ()))) {
+            changeCount++;
+            if (journal != null) {
+                journal.appendPlaced(worldName, block.getX(), block.getY(), block.getZ());
+            }
         }
-        placedBlocks.add(BlockPos.from(block.getLocation()));
     }
 
     /**
@@ -56,28 +80,21 @@ public class WorldResetManager {
      * This stores the ORIGINAL state so we can restore it at reset.
      */
     public void recordBrokenBlock(Block block) {
-        if (block == null) {
-            return;
-        } else {
-            block.getWorld();
-        }
+        if (block == null) return;
 
-        BlockPos pos = BlockPos.from(block.getLocation());
-
-        // Only store the first/original state (don't overwrite if it gets modified multiple times)
-        brokenBlocks.putIfAbsent(pos, new SavedBlockState(block.getType(), block.getBlockData()));
+        recordOriginalState(block.getWorld().getName(), block.getX(), block.getY(), block.getZ(),
+                block.getType(), block.getBlockData());
     }
 
     /**
      * Record original bed location for restoration.
-     * Also stores the original bed block state in brokenBlocks (only once).
+     * Stores the original bed block state (only once).
      */
     public void recordBedLocation(Location location, Material material, BlockData data) {
         if (location == null || location.getWorld() == null) return;
 
-        BlockPos pos = BlockPos.from(location);
-        originalBedLocations.add(pos);
-        brokenBlocks.putIfAbsent(pos, new SavedBlockState(material, data));
+        recordOriginalState(location.getWorld().getName(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ(), material, data);
     }
 
     /**
@@ -85,7 +102,16 @@ public class WorldResetManager {
      */
     public boolean isPlayerPlacedBlock(Location location) {
         if (location == null || location.getWorld() == null) return false;
-        return placedBlocks.contains(BlockPos.from(location));
+        return isPlayerPlaced(location.getWorld().getName(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Check if a block was placed by a player (no Location allocation).
+     */
+    public boolean isPlayerPlacedBlock(Block block) {
+        if (block == null) return false;
+        return isPlayerPlaced(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
     }
 
     /**
@@ -93,98 +119,322 @@ public class WorldResetManager {
      * Should be called on the main server thread.
      */
     public void resetWorld() {
-        // Remove all player-placed blocks
-        for (BlockPos pos : placedBlocks) {
-            Block block = pos.getBlock();
-            if (block == null) continue;
-            block.setType(Material.AIR, false);
-        }
-
-        // Restore all broken blocks to their original state
-        for (Map.Entry<BlockPos, SavedBlockState> entry : brokenBlocks.entrySet()) {
-            Block block = entry.getKey().getBlock();
-            if (block == null) continue;
-
-            SavedBlockState state = entry.getValue();
-            block.setType(state.material, false);
-            if (state.blockData != null) {
-                block.setBlockData(state.blockData, false);
+        for (ChunkJournal journal : drainChunks()) {
+            Chunk chunk = journal.loadChunk();
+            if (chunk == null) continue;
+
+            for (int slot = 0; slot < journal.slotCount(); slot++) {
+                journal.restoreSlot(chunk, slot, palette);
             }
         }
+    }
 
-        clear();
+    /**
+     * Reset the world incrementally, restoring blocks over several ticks.
+     * <p>
+     * Each tick spends at most {@code tickBudgetNanos} of main-thread time on block updates
+     * (at least one block is always restored so the reset cannot stall). The tracked changes
+     * are taken over by the reset immediately, so this manager can record a new match right away.
+     *
+     * @return false if an incremental reset is already running
+     */
+    public boolean resetWorldIncremental(Plugin plugin, long tickBudgetNanos, ResetListener listener) {
+        if (incrementalReset != null) return false;
+
+        int total = changeCount;
+        incrementalReset = new IncrementalReset(drainChunks(), total, Math.max(1L, tickBudgetNanos), listener);
+        incrementalReset.runTaskTimer(plugin, 1L, 1L);
+        return true;
+    }
+
+    /**
+     * Finish a running incremental reset synchronously (e.g. on plugin disable).
+     */
+    public void finishIncrementalReset() {
+        if (incrementalReset == null) return;
+        incrementalReset.step(Long.MAX_VALUE);
+    }
+
+    /**
+     * Attach the on-disk journal that mirrors new entries (null to detach).
+     */
+    public void setJournal(BlockChangeJournal journal) {
+        this.journal = journal;
+    }
+
+    public boolean isResetting() {
+        return incrementalReset != null;
+    }
+
+    /**
+     * Progress of the running incremental reset in the range 0..1 (1 if none is running).
+     */
+    public double getResetProgress() {
+        IncrementalReset reset = incrementalReset;
+        if (reset == null || reset.total == 0) return 1.0;
+        return (double) reset.restored / reset.total;
     }
 
     /**
      * Number of blocks that need to be reset.
      */
     public int getBlockChangeCount() {
-        return placedBlocks.size() + brokenBlocks.size();
+        return changeCount;
+    }
+
+    /**
+     * Approximate heap used by the journal, for debug output.
+     * Counts the chunk tables, position sets/maps and the state palette.
+     */
+    public String describeHeapUsage() {
+        int chunks = 0;
+        int placed = 0;
+        int broken = 0;
+        long bytes = palette.estimateBytes();
+
+        for (LongObjectHashMap<ChunkJournal> chunkMap : worlds.values()) {
+            bytes += chunkMap.estimateBytes();
+            for (int i = 0; i < chunkMap.capacity(); i++) {
+                if (!chunkMap.isUsed(i)) continue;
+                ChunkJournal chunk = chunkMap.valueAt(i);
+                chunks++;
+                placed += chunk.placed.size();
+                broken += chunk.broken == null ? 0 : chunk.broken.size();
+                bytes += chunk.estimateBytes();
+            }
+        }
+
+        return "placed=" + placed + ", broken=" + broken + ", chunks=" + chunks
+                + ", palette=" + palette.size() + " states (" + Math.max(0, broken - palette.size()) + " copies saved)"
+                + ", heap~" + (bytes + 1023) / 1024 + "KiB";
     }
 
     /**
      * Clear all tracked blocks without resetting.
      */
     public void clear() {
-        placedBlocks.clear();
-        brokenBlocks.clear();
-        originalBedLocations.clear();
+        worlds = new HashMap<>();
+        changeCount = 0;
     }
 
     /* --------------------------------------------------------------------- */
     /* Internal                                                               */
     /* --------------------------------------------------------------------- */
 
-    private static final class SavedBlockState {
-        private final Material material;
-        private final BlockData blockData;
+    /**
+     * Callbacks for an incremental reset. Both are invoked on the main thread.
+     */
+    public interface ResetListener {
+        void onProgress(int restored, int total);
+
+        void onComplete(int restored, long durationNanos);
+    }
+
+    private void recordOriginalState(String worldName, int x, int y, int z, Material material, BlockData data) {
+        IntIntHashMap broken = chunkFor(worldName, x, z).broken();
+        int key = localKey(x, y, z);
+
+        // Only store the first/original state (don't overwrite if it gets modified multiple times)
+        if (broken.containsKey(key)) return;
+        int stateId = palette.idFor(material, data);
+        broken.putIfAbsent(key, stateId);
+        changeCount++;
+
+        if (journal != null) {
+            journal.appendBroken(worldName, x, y, z, palette.get(stateId).getAsString());
+        }
+    }
+
+    private boolean isPlayerPlaced(String worldName, int x, int y, int z) {
+        LongObjectHashMap<ChunkJournal> chunks = worlds.get(worldName);
+        if (chunks == null) return false;
+
+        ChunkJournal chunk = chunks.get(chunkKey(x >> 4, z >> 4));
+        return chunk != null && chunk.placed.contains(localKey(x, y, z));
+    }
 
-        private SavedBlockState(Material material, BlockData blockData) {
-            this.material = material == null ? Material.AIR : material;
-            this.blockData = blockData != null ? blockData.clone() : null;
+    private ChunkJournal chunkFor(String worldName, int x, int z) {
+        LongObjectHashMap<ChunkJournal> chunks = worlds.computeIfAbsent(worldName, k -> new LongObjectHashMap<>());
+
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        long key = chunkKey(chunkX, chunkZ);
+
+        ChunkJournal chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = new ChunkJournal(worldName, chunkX, chunkZ);
+            chunks.putIfAbsent(key, chunk);
         }
+        return chunk;
     }
 
     /**
-     * Immutable block position (world + x/y/z). Much cheaper than Location as a key.
+     * Hand over every tracked chunk and start a fresh journal.
      */
-    private static final class BlockPos {
+    private List<ChunkJournal> drainChunks() {
+        List<ChunkJournal> drained = new ArrayList<>();
+        for (LongObjectHashMap<ChunkJournal> chunks : worlds.values()) {
+            for (int slot = 0; slot < chunks.capacity(); slot++) {
+                if (chunks.isUsed(slot)) drained.add(chunks.valueAt(slot));
+            }
+        }
+        clear();
+        return drained;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int localKey(int x, int y, int z) {
+        return LOCAL_MARKER | ((y + Y_OFFSET) & 0xFFF) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    private static Block blockAt(Chunk chunk, int localKey) {
+        return chunk.getBlock(localKey & 15, ((localKey >> 8) & 0xFFF) - Y_OFFSET, (localKey >> 4) & 15);
+    }
+
+    /**
+     * Replays drained chunks, a time-budgeted slice per tick.
+     * Chunks are processed one after another; within a chunk, placed blocks are cleared first,
+     * then original states are restored (same order as {@link #resetWorld()}).
+     */
+    private final class IncrementalReset extends BukkitRunnable {
+        private final List<ChunkJournal> chunks;
+        private final long tickBudgetNanos;
+        private final ResetListener listener;
+        private final int total;
+        private final long startNanos;
+
+        private int chunkIndex;
+        private int slot;
+        private Chunk currentChunk;
+
+        private int restored;
+        private int ticks;
+
+        private IncrementalReset(List<ChunkJournal> chunks, int total, long tickBudgetNanos, ResetListener listener) {
+            this.chunks = chunks;
+            this.total = total;
+            this.tickBudgetNanos = tickBudgetNanos;
+            this.listener = listener;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            step(tickBudgetNanos);
+        }
+
+        private void step(long budgetNanos) {
+            long sliceStart = System.nanoTime();
+
+            do {
+                if (chunkIndex >= chunks.size()) break;
+
+                ChunkJournal journal = chunks.get(chunkIndex);
+                if (currentChunk == null) {
+                    currentChunk = journal.loadChunk();
+                    if (currentChunk == null) {
+                        // World unloaded: nothing to restore, count it as done
+                        restored += journal.size();
+                        nextChunk();
+                        continue;
+                    }
+                }
+
+                if (slot >= journal.slotCount()) {
+                    nextChunk();
+                    continue;
+                }
+
+                if (journal.restoreSlot(currentChunk, slot++, palette)) {
+                    restored++;
+                }
+            } while (System.nanoTime() - sliceStart < budgetNanos);
+
+            ticks++;
+            if (chunkIndex >= chunks.size()) {
+                complete();
+            } else if (listener != null && ticks % PROGRESS_INTERVAL_TICKS == 0) {
+                listener.onProgress(restored, total);
+            }
+        }
+
+        private void nextChunk() {
+            chunkIndex++;
+            slot = 0;
+            currentChunk = null;
+        }
+
+        private void complete() {
+            if (incrementalReset == this) {
+                incrementalReset = null;
+            }
+            cancel();
+            if (listener != null) {
+                listener.onComplete(restored, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /**
+     * Changes inside one chunk. Slots are walked placed-table first, then broken-table.
+     */
+    private static final class ChunkJournal {
         private final String worldName;
-        private final int x, y, z;
+        private final int chunkX;
+        private final int chunkZ;
+        private final IntHashSet placed = new IntHashSet(8);
+        private IntIntHashMap broken;
 
-        private BlockPos(String worldName, int x, int y, int z) {
+        private ChunkJournal(String worldName, int chunkX, int chunkZ) {
             this.worldName = worldName;
-            this.x = x;
-            this.y = y;
-            this.z = z;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
         }
 
-        static BlockPos from(Location loc) {
-            return new BlockPos(
-                    loc.getWorld().getName(),
-                    loc.getBlockX(),
-                    loc.getBlockY(),
-                    loc.getBlockZ()
-            );
+        private IntIntHashMap broken() {
+            if (broken == null) broken = new IntIntHashMap(4);
+            return broken;
         }
 
-        Block getBlock() {
-            World world = org.bukkit.Bukkit.getWorld(worldName);
+        private int size() {
+            return placed.size() + (broken == null ? 0 : broken.size());
+        }
+
+        private int slotCount() {
+            return placed.capacity() + (broken == null ? 0 : broken.capacity());
+        }
+
+        private Chunk loadChunk() {
+            World world = Bukkit.getWorld(worldName);
             if (world == null) return null;
-            return world.getBlockAt(x, y, z);
+            return world.getChunkAt(chunkX, chunkZ);
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof BlockPos other)) return false;
-            return x == other.x && y == other.y && z == other.z
-                    && Objects.equals(worldName, other.worldName);
+        /**
+         * Restore the entry in the given slot, if any.
+         *
+         * @return true if the slot held an entry
+         */
+        private boolean restoreSlot(Chunk chunk, int slot, BlockStatePalette palette) {
+            if (slot < placed.capacity()) {
+                if (!placed.isUsed(slot)) return false;
+                blockAt(chunk, placed.keyAt(slot)).setType(Material.AIR, false);
+                return true;
+            }
+
+            int brokenSlot = slot - placed.capacity();
+            if (!broken.isUsed(brokenSlot)) return false;
+
+            BlockData original = palette.get(broken.valueAt(brokenSlot));
+            blockAt(chunk, broken.keyAt(brokenSlot)).setBlockData(original, false);
+            return true;
         }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(worldName, x, y, z);
+        private long estimateBytes() {
+            return 48L + placed.estimateBytes() + (broken == null ? 0 : broken.estimateBytes());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,342 @@
+package ch.framedev.bedwars.generators;
+
+import ch.framedev.BedWarsPlugin;
+import ch.framedev.bedwars.utils.DebugLogger;
+import org.bukkit.entity.Item;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drives the resource generators of all games from one shared task.
+ * <p>
+ * Notes:
+ * - A single timer ticks once per server tick while at least one generator is scheduled
+ * - Generators sit in a hashed timing wheel (slot = fire tick mod wheel size); a tick only
+ *   visits the generators of its own slot, delays longer than one rotation just stay in the
+ *   slot until their fire tick comes around
+ * - Slots are intrusive doubly-linked lists through the generators, so scheduling, tier
+ *   changes and stopping are O(1) and allocation-free
+ * - Exposes active generator count and per-tick fire/spawn metrics
+ * - Keeps a dropped-item -> generator lookup so generators with a max stack track their
+ *   ground items from pickup/merge/despawn events instead of scanning nearby entities
+ */
+public class GeneratorEngine {
+
+    /** Wheel size (power of two); 512 ticks covers iron/gold and tier-2 diamonds in one rotation. */
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /** How often (in ticks) a metrics summary goes to the debug log. */
+    private static final int REPORT_INTERVAL_TICKS = 1200;
+
+    private final Plugin plugin;
+    private final ResourceGenerator[] wheel = new ResourceGenerator[WHEEL_SIZE];
+    private BukkitTask task;
+
+    /** Dropped item entity -> generator it counts towards (capped generators only). */
+    private final Map<UUID, ResourceGenerator> drops = new HashMap<>();
+
+    /** Ticks between nearby-entity recounts of a generator's stack (consistency check). */
+    private final int recountIntervalTicks;
+
+    /** Engine tick counter; keeps counting across task restarts. */
+    private long currentTick;
+    private int activeGenerators;
+
+    /* Metrics */
+    private int lastTickFired;
+    private int lastTickSpawns;
+    private long totalFired;
+    private long totalSpawns;
+    private int windowSpawns;
+    private int windowPeakSpawns;
+    private long windowNanos;
+    private int windowTicks;
+
+    /**
+     * @param plugin owning plugin, or null for a headless engine that is only advanced
+     *               through {@link #tick()} (simulator and benchmarks)
+     */
+    public GeneratorEngine(Plugin plugin) {
+        this.plugin = plugin;
+        int recountSeconds = plugin == null ? 30 : plugin.getConfig().getInt("generators.stack-recount-seconds", 30);
+        this.recountIntervalTicks = Math.max(1, recountSeconds) * 20;
+    }
+
+    /**
+     * Schedule a generator to fire every {@code delayTicks}, first in {@code delayTicks}.
+     * Rescheduling a generator that is already scheduled moves it to its new slot.
+     */
+    public void schedule(ResourceGenerator generator, int delayTicks) {
+        if (generator.isScheduled()) {
+            unlink(generator);
+        } else {
+            activeGenerators++;
+        }
+        link(generator, currentTick + Math.max(1, delayTicks));
+        ensureRunning();
+    }
+
+    /**
+     * Remove a generator from the wheel.
+     *
+     * @return true if it was scheduled
+     */
+    public boolean unschedule(ResourceGenerator generator) {
+        if (!generator.isScheduled()) return false;
+
+        unlink(generator);
+        removed();
+        return true;
+    }
+
+    /**
+     * Advance the wheel by one tick and fire every generator due in it.
+     */
+    public void tick() {
+        long start = System.nanoTime();
+        long now = ++currentTick;
+        int fired = 0;
+        int spawns = 0;
+
+        ResourceGenerator generator = wheel[(int) (now & WHEEL_MASK)];
+        while (generator != null) {
+            // Read next first: firing re-links the generator at the head of a slot
+            ResourceGenerator next = generator.wheelNext;
+            if (generator.fireTick <= now) {
+                unlink(generator);
+                fired++;
+                try {
+                    spawns += generator.fire();
+                } catch (RuntimeException e) {
+                    if (plugin != null) {
+                        plugin.getLogger().severe("Generator " + generator.getType() + " failed, stopping it: " + e);
+                    }
+                    // Already unlinked: only the count and (if it was the last one) the task are left
+                    removed();
+                    generator = next;
+                    continue;
+                }
+                link(generator, now + generator.getDelayTicks());
+            }
+            generator = next;
+        }
+
+        lastTickFired = fired;
+        lastTickSpawns = spawns;
+        totalFired += fired;
+        totalSpawns += spawns;
+        recordWindow(spawns, System.nanoTime() - start);
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Dropped item tracking (called from GeneratorDropListener)              */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * An item entity was (partially) picked up by an entity or inventory.
+     *
+     * @param taken number of items removed from the ground stack
+     * @param gone  true if the item entity is removed
+     */
+    public void onDropTaken(Item item, int taken, boolean gone) {
+        ResourceGenerator generator = gone ? drops.remove(item.getUniqueId()) : drops.get(item.getUniqueId());
+        if (generator != null) {
+            generator.adjustDropped(-taken);
+        }
+    }
+
+    /**
+     * Vanilla merged {@code source} into {@code target}; source is removed.
+     */
+    public void onDropMerged(Item source, Item target) {
+        ResourceGenerator from = drops.remove(source.getUniqueId());
+        ResourceGenerator to = drops.get(target.getUniqueId());
+        if (from == to) return; // same generator (or untracked): total unchanged
+
+        int amount = source.getItemStack().getAmount();
+        if (from != null && to == null) {
+            // Merged into a stray stack at the generator: adopt it, it counts towards the cap too
+            drops.put(target.getUniqueId(), from);
+            from.adjustDropped(target.getItemStack().getAmount());
+            return;
+        }
+        if (from != null) from.adjustDropped(-amount);
+        to.adjustDropped(amount);
+    }
+
+    /**
+     * An item entity despawned or was otherwise removed.
+     */
+    public void onDropRemoved(Item item) {
+        ResourceGenerator generator = drops.remove(item.getUniqueId());
+        if (generator != null) {
+            generator.adjustDropped(-item.getItemStack().getAmount());
+        }
+    }
+
+    public int getTrackedDrops() {
+        return drops.size();
+    }
+
+    void trackDrop(Item item, ResourceGenerator generator) {
+        drops.put(item.getUniqueId(), generator);
+    }
+
+    void forgetDrops(ResourceGenerator generator) {
+        drops.values().removeIf(owner -> owner == generator);
+    }
+
+    int getRecountIntervalTicks() {
+        return recountIntervalTicks;
+    }
+
+    /**
+     * Stop the timer and drop all generators (plugin disable).
+     */
+    public void shutdown() {
+        stopTask();
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            ResourceGenerator generator = wheel[i];
+            while (generator != null) {
+                ResourceGenerator next = generator.wheelNext;
+                generator.wheelPrev = null;
+                generator.wheelNext = null;
+                generator.wheelSlot = -1;
+                generator = next;
+            }
+            wheel[i] = null;
+        }
+        activeGenerators = 0;
+        drops.clear();
+    }
+
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    public int getActiveGenerators() {
+        return activeGenerators;
+    }
+
+    public int getLastTickFired() {
+        return lastTickFired;
+    }
+
+    public int getLastTickSpawns() {
+        return lastTickSpawns;
+    }
+
+    public long getTotalFired() {
+        return totalFired;
+    }
+
+    public long getTotalSpawns() {
+        return totalSpawns;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal                                                               */
+    /* --------------------------------------------------------------------- */
+
+    private void link(ResourceGenerator generator, long fireTick) {
+        int slot = (int) (fireTick & WHEEL_MASK);
+        ResourceGenerator head = wheel[slot];
+
+        generator.fireTick = fireTick;
+        generator.wheelSlot = slot;
+        generator.wheelPrev = null;
+        generator.wheelNext = head;
+        if (head != null) head.wheelPrev = generator;
+        wheel[slot] = generator;
+    }
+
+    private void unlink(ResourceGenerator generator) {
+        ResourceGenerator prev = generator.wheelPrev;
+        ResourceGenerator next = generator.wheelNext;
+
+        if (prev != null) {
+            prev.wheelNext = next;
+        } else {
+            wheel[generator.wheelSlot] = next;
+        }
+        if (next != null) next.wheelPrev = prev;
+
+        generator.wheelPrev = null;
+        generator.wheelNext = null;
+        generator.wheelSlot = -1;
+    }
+
+    /**
+     * A generator left the wheel: stop the task once none are left.
+     */
+    private void removed() {
+        activeGenerators--;
+        if (activeGenerators == 0) {
+            stopTask();
+        }
+    }
+
+    private void ensureRunning() {
+        if (task != null || plugin == null || !plugin.isEnabled()) return;
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+
+        DebugLogger logger = getDebugLogger();
+        if (logger != null) {
+            logger.debug("Generator engine started: generators=" + activeGenerators);
+        }
+    }
+
+    private void stopTask() {
+        if (task == null) return;
+
+        task.cancel();
+        task = null;
+        DebugLogger logger = getDebugLogger();
+        if (logger != null) {
+            logger.debug("Generator engine stopped: fired=" + totalFired + ", spawns=" + totalSpawns);
+        }
+    }
+
+    private void recordWindow(int spawns, long nanos) {
+        windowSpawns += spawns;
+        windowPeakSpawns = Math.max(windowPeakSpawns, spawns);
+        windowNanos += nanos;
+        if (++windowTicks < REPORT_INTERVAL_TICKS) return;
+
+        DebugLogger logger = getDebugLogger();
+        if (logger != null) {
+            logger.debug("Generator engine: generators=" + activeGenerators
+                    + ", spawns=" + windowSpawns + "/" + windowTicks + " ticks"
+                    + " (avg " + String.format("%.2f", windowSpawns / (double) windowTicks)
+                    + ", peak " + windowPeakSpawns + ")"
+                    + ", avgTick=" + (windowNanos / windowTicks / 1000) + "us");
+        }
+        windowSpawns = 0;
+        windowPeakSpawns = 0;
+        windowNanos = 0;
+        windowTicks = 0;
+    }
+
+    private DebugLogger getDebugLogger() {
+        if (plugin instanceof BedWarsPlugin bwPlugin) {
+            return bwPlugin.getDebugLogger();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package ch.framedev.bedwars.generators;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Configured timing and stack settings of one generator type (generators.* in config.yml).
+ * <p>
+ * Shared by the games and the offline generator simulator (test sources), so both read the same
+ * keys with the same defaults.
+ */
+public final class GeneratorSettings {
+
+    private final ResourceGenerator.ResourceType type;
+    private final boolean enabled;
+    private final int tier1DelayTicks;
+    private final int tier2DelayTicks;
+    private final int spawnAmount;
+    private final int maxStack;
+
+    private GeneratorSettings(ResourceGenerator.ResourceType type, boolean enabled, int tier1DelayTicks,
+            int tier2DelayTicks, int spawnAmount, int maxStack) {
+        this.type = type;
+        this.enabled = enabled;
+        this.tier1DelayTicks = tier1DelayTicks;
+        this.tier2DelayTicks = tier2DelayTicks;
+        this.spawnAmount = spawnAmount;
+        this.maxStack = maxStack;
+    }
+
+    /**
+     * Read the settings of a generator type from the plugin config (root section).
+     */
+    public static GeneratorSettings fromConfig(ConfigurationSection config, ResourceGenerator.ResourceType type) {
+        String base = "generators." + type.name().toLowerCase();
+        boolean enabled = config.getBoolean(base + ".enabled", true);
+
+        return switch (type) {
+            case IRON -> new GeneratorSettings(type, enabled,
+                    secondsToTicks(config.getDouble(base + ".base-delay", 1)),
+                    secondsToTicks(config.getDouble(base + ".upgraded-delay", 1)),
+                    config.getInt(base + ".spawn-amount", 1),
+                    config.getInt(base + ".max-stack", 64));
+            case GOLD -> new GeneratorSettings(type, enabled,
+                    secondsToTicks(config.getDouble(base + ".base-delay", 8)),
+                    secondsToTicks(config.getDouble(base + ".upgraded-delay", 8)),
+                    config.getInt(base + ".spawn-amount", 1),
+                    config.getInt(base + ".max-stack", 32));
+            case DIAMOND -> new GeneratorSettings(type,
+                    enabled && !config.getBoolean("generators.only-iron-gold", false),
+                    secondsToTicks(config.getDouble(base + ".tier1-delay", 30)),
+                    secondsToTicks(config.getDouble(base + ".tier2-delay", 20)),
+                    config.getInt(base + ".spawn-amount", 1),
+                    config.getInt(base + ".max-stack", 16));
+            case EMERALD -> new GeneratorSettings(type,
+                    enabled && !config.getBoolean("generators.only-iron-gold", false),
+                    secondsToTicks(config.getDouble(base + ".tier1-delay", 60)),
+                    secondsToTicks(config.getDouble(base + ".tier2-delay", 40)),
+                    config.getInt(base + ".spawn-amount", 1),
+                    config.getInt(base + ".max-stack", 8));
+        };
+    }
+
+    public ResourceGenerator create(Location location, ResourceGenerator.OutputMode outputMode) {
+        return new ResourceGenerator(location, type, 1, tier1DelayTicks, tier2DelayTicks, spawnAmount,
+                maxStack, outputMode);
+    }
+
+    public ResourceGenerator.ResourceType getType() {
+        return type;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTier1DelayTicks() {
+        return tier1DelayTicks;
+    }
+
+    public int getTier2DelayTicks() {
+        return tier2DelayTicks;
+    }
+
+    public int getSpawnAmount() {
+        return spawnAmount;
+    }
+
+    public int getMaxStack() {
+        return maxStack;
+    }
+
+    private static int secondsToTicks(double seconds) {
+        return Math.max(1, (int) Math.round(seconds * 20.0));
+    }
+}
@@ -9,11 +9,17 @@ import org.bukkit.entity.Item;
 import org.bukkit.entity.Entity;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 /**
- * Generates resources at a specific location
+ * Generates resources at a specific location.
+ * <p>
+ * Timing is driven by the shared {@link GeneratorEngine}; a generator has no task of its own.
+ * The max stack is enforced from a live count of the items this generator has on the ground
+ * (kept up to date by the engine from pickup/merge/despawn events); the nearby-entity scan
+ * only runs every generators.stack-recount-seconds to correct drift (lava, void, plugins...).
+ * <p>
+ * In {@link OutputMode#MERGE} the generator keeps a handle to its current ground stack and grows
+ * it in place; a new item entity is only spawned once that stack was picked up (or is full).
  */
 public class ResourceGenerator {
 
@@ -24,15 +30,34 @@ public class ResourceGenerator {
     private final int tier2DelayTicks;
     private final int spawnAmount;
     private final int maxStack;
-    private BukkitTask task;
+    private final OutputMode outputMode;
+    private GeneratorEngine engine;
     private Plugin plugin;
 
+    /** Items of this generator currently on the ground (only tracked with a max stack). */
+    private int droppedCount;
+    private long nextRecountTick;
+
+    /** MERGE mode: the item entity currently lying on the generator, or null. */
+    private Item groundStack;
+
+    /* Timing wheel links, owned by GeneratorEngine */
+    ResourceGenerator wheelPrev;
+    ResourceGenerator wheelNext;
+    int wheelSlot = -1;
+    long fireTick;
+
     public ResourceGenerator(Location location, ResourceType type, int level) {
         this(location, type, level, defaultDelayTicks(type, 1), defaultDelayTicks(type, 2), 1, 0);
     }
 
     public ResourceGenerator(Location location, ResourceType type, int level, int tier1DelayTicks,
             int tier2DelayTicks, int spawnAmount, int maxStack) {
+        this(location, type, level, tier1DelayTicks, tier2DelayTicks, spawnAmount, maxStack, OutputMode.DROP);
+    }
+
+    public ResourceGenerator(Location location, ResourceType type, int level, int tier1DelayTicks,
+            int tier2DelayTicks, int spawnAmount, int maxStack, OutputMode outputMode) {
         this.location = location;
         this.type = type;
         this.level = level;
@@ -40,10 +65,12 @@ public class ResourceGenerator {
         this.tier2DelayTicks = tier2DelayTicks;
         this.spawnAmount = Math.max(1, spawnAmount);
         this.maxStack = Math.max(0, maxStack);
+        this.outputMode = outputMode == null ? OutputMode.DROP : outputMode;
     }
 
-    public void start(Plugin plugin) {
-        this.plugin = plugin;
+    public void start(GeneratorEngine engine) {
+        this.engine = engine;
+        this.plugin = engine.getPlugin();
         int delay = getDelayTicks();
 
         DebugLogger logger = getDebugLogger();
@@ -52,18 +79,18 @@ public class ResourceGenerator {
                     + ", delayTicks=" + delay + ", location=" + formatLocation());
         }
 
-        task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                spawnResource();
-            }
-        }.runTaskTimer(plugin, delay, delay);
+        engine.schedule(this, delay);
     }
 
     public void stop() {
-        if (task != null) {
-            task.cancel();
-            task = null;
+        if (engine != null) {
+            engine.forgetDrops(this);
+        }
+        droppedCount = 0;
+        nextRecountTick = 0;
+        groundStack = null;
+
+        if (engine != null && engine.unschedule(this)) {
             DebugLogger logger = getDebugLogger();
             if (logger != null) {
                 logger.debug("Generator stopped: type=" + type + ", location=" + formatLocation());
@@ -71,24 +98,33 @@ public class ResourceGenerator {
         }
     }
 
-    private void spawnResource() {
+    /**
+     * Called by the engine when the generator is due.
+     *
+     * @return number of items spawned
+     */
+    int fire() {
+        return spawnResource();
+    }
+
+    boolean isScheduled() {
+        return wheelSlot >= 0;
+    }
+
+    private int spawnResource() {
         World world = location.getWorld();
         if (world == null) {
-            return;
+            return 0;
         }
 
         int existingCount = 0;
         if (maxStack > 0) {
-            for (Entity entity : world.getNearbyEntities(location, 1.5, 1.5, 1.5)) {
-                if (entity instanceof Item dropped) {
-                    ItemStack stack = dropped.getItemStack();
-                    if (stack.getType() == type.getMaterial()) {
-                        existingCount += stack.getAmount();
-                    }
-                }
+            if (engine.getCurrentTick() >= nextRecountTick) {
+                recountDrops(world);
             }
+            existingCount = droppedCount;
             if (existingCount >= maxStack) {
-                return;
+                return 0;
             }
         }
 
@@ -96,30 +132,98 @@ public class ResourceGenerator {
         if (maxStack > 0) {
             amount = Math.min(spawnAmount, maxStack - existingCount);
             if (amount <= 0) {
-                return;
+                return 0;
             }
         }
 
-        ItemStack item = new ItemStack(type.getMaterial(), amount);
-        Item droppedItem = world.dropItem(location, item);
-        droppedItem.setVelocity(droppedItem.getVelocity().zero());
+        // MERGE: grow the current ground stack first, only the rest needs a new entity
+        int toDrop = outputMode == OutputMode.MERGE ? growGroundStack(amount) : amount;
+        if (toDrop > 0) {
+            ItemStack item = new ItemStack(type.getMaterial(), toDrop);
+            Item droppedItem = world.dropItem(location, item);
+            droppedItem.setVelocity(droppedItem.getVelocity().zero());
+            if (outputMode == OutputMode.MERGE) {
+                groundStack = droppedItem;
+            }
+            if (maxStack > 0) {
+                engine.trackDrop(droppedItem, this);
+                droppedCount += toDrop;
+            }
+        }
 
         DebugLogger logger = getDebugLogger();
         if (logger != null && logger.isVerbose() && isGeneratorSpawnDebugEnabled()) {
             logger.verbose("Generator spawn: type=" + type + ", amount=" + amount
                     + ", location=" + formatLocation());
         }
+        return amount;
+    }
+
+    /**
+     * MERGE mode: add up to {@code amount} items to the current ground stack.
+     *
+     * @return the part of {@code amount} that still needs a new entity (0 if all merged)
+     */
+    private int growGroundStack(int amount) {
+        Item stack = groundStack;
+        if (stack == null || !stack.isValid()) {
+            groundStack = null;
+            return amount;
+        }
+
+        ItemStack items = stack.getItemStack();
+        int room = type.getMaterial().getMaxStackSize() - items.getAmount();
+        if (room <= 0) return amount; // full vanilla stack: start a new one
+
+        int merged = Math.min(amount, room);
+        items.setAmount(items.getAmount() + merged);
+        stack.setItemStack(items);
+        // Item age drives despawning; a growing stack should live as long as a fresh drop
+        stack.setTicksLived(1);
+        if (maxStack > 0) {
+            droppedCount += merged;
+        }
+        return amount - merged;
+    }
+
+    /**
+     * Consistency check: rebuild the tracked stack from the items actually lying at the generator.
+     */
+    private void recountDrops(World world) {
+        engine.forgetDrops(this);
+        int counted = 0;
+        for (Entity entity : world.getNearbyEntities(location, 1.5, 1.5, 1.5)) {
+            if (entity instanceof Item dropped) {
+                ItemStack stack = dropped.getItemStack();
+                if (stack.getType() == type.getMaterial()) {
+                    counted += stack.getAmount();
+                    engine.trackDrop(dropped, this);
+                }
+            }
+        }
+
+        DebugLogger logger = getDebugLogger();
+        if (logger != null && counted != droppedCount && logger.isVerbose()) {
+            logger.verbose("Generator stack recount: type=" + type + ", tracked=" + droppedCount
+                    + ", actual=" + counted + ", location=" + formatLocation());
+        }
+        droppedCount = counted;
+        nextRecountTick = engine.getCurrentTick() + engine.getRecountIntervalTicks();
     }
 
-    private int getDelayTicks() {
+    void adjustDropped(int delta) {
+        droppedCount = Math.max(0, droppedCount + delta);
+    }
+
+    int getDelayTicks() {
         int delay = level <= 1 ? tier1DelayTicks : tier2DelayTicks;
         return Math.max(1, delay);
     }
 
     public void upgrade() {
         level++;
-        if (plugin != null) {
-            restartTask();
+        if (engine != null && isScheduled()) {
+            rescheduleForTier();
         }
 
         DebugLogger logger = getDebugLogger();
@@ -129,23 +233,15 @@ public class ResourceGenerator {
         }
     }
 
-    private void restartTask() {
-        if (plugin == null) {
-            return;
-        }
-        stop();
+    private void rescheduleForTier() {
+        // Same as before the engine: next spawn one full new-tier delay after the upgrade
         int delay = getDelayTicks();
+        engine.schedule(this, delay);
         DebugLogger logger = getDebugLogger();
         if (logger != null) {
-            logger.debug("Generator task restarted: type=" + type + ", delayTicks=" + delay
+            logger.debug("Generator rescheduled: type=" + type + ", delayTicks=" + delay
                     + ", location=" + formatLocation());
         }
-        task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                spawnResource();
-            }
-        }.runTaskTimer(plugin, delay, delay);
     }
 
     private DebugLogger getDebugLogger() {
@@ -171,6 +267,18 @@ public class ResourceGenerator {
         return type;
     }
 
+    public int getLevel() {
+        return level;
+    }
+
+    int getSpawnAmount() {
+        return spawnAmount;
+    }
+
+    int getMaxStack() {
+        return maxStack;
+    }
+
     private static int defaultDelayTicks(ResourceType type, int tier) {
         return switch (type) {
             case IRON -> 20;
@@ -180,6 +288,20 @@ public class ResourceGenerator {
         };
     }
 
+    /**
+     * How spawned items reach the ground.
+     */
+    public enum OutputMode {
+        /** A new item entity per spawn; vanilla merges them (default, legacy behaviour). */
+        DROP,
+        /** Grow one ground stack in place; at most one entity per generator between pickups. */
+        MERGE;
+
+        public static OutputMode fromConfig(String value) {
+            return value != null && value.equalsIgnoreCase("merge") ? MERGE : DROP;
+        }
+    }
+
     public enum ResourceType {
         IRON(Material.IRON_INGOT),
         GOLD(Material.GOLD_INGOT),
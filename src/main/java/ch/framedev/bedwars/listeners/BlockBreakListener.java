@@ -76,7 +76,7 @@ public class BlockBreakListener implements Listener {
         }
 
         // Only allow breaking player-placed blocks
-        if (!game.getWorldResetManager().isPlayerPlacedBlock(block.getLocation())) {
+        if (!game.getWorldResetManager().isPlayerPlacedBlock(block)) {
             event.setCancelled(true);
             plugin.getMessageManager().sendMessage(player, "block.cannot-break-placed");
         }
@@ -149,6 +149,9 @@ public class BlockBreakListener implements Listener {
 
         if (plugin.getAchievementsManager() != null) {
             plugin.getAchievementsManager().recordBedBroken(player.getUniqueId());
+            for (GamePlayer member : bedTeam.getPlayers()) {
+                plugin.getAchievementsManager().recordBedLost(member.getUuid());
+            }
         }
 
         // Remove bed block (you may also want to remove the other half; depends on how you store bedLocation)
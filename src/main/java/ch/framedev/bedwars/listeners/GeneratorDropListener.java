@@ -0,0 +1,55 @@
+package ch.framedev.bedwars.listeners;
+
+import ch.framedev.BedWarsPlugin;
+import ch.framedev.bedwars.generators.GeneratorEngine;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+
+/**
+ * Keeps the generators' dropped-item counters up to date.
+ * <p>
+ * Notes:
+ * - MONITOR + ignoreCancelled: only outcomes that actually happen are counted
+ * - Lookups are a single map hit per event; items not dropped by a generator are ignored
+ */
+public class GeneratorDropListener implements Listener {
+
+    private final BedWarsPlugin plugin;
+
+    public GeneratorDropListener(BedWarsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        Item item = event.getItem();
+        int taken = item.getItemStack().getAmount() - event.getRemaining();
+        engine().onDropTaken(item, taken, event.getRemaining() <= 0);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHopperPickup(InventoryPickupItemEvent event) {
+        Item item = event.getItem();
+        engine().onDropTaken(item, item.getItemStack().getAmount(), true);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMerge(ItemMergeEvent event) {
+        engine().onDropMerged(event.getEntity(), event.getTarget());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDespawn(ItemDespawnEvent event) {
+        engine().onDropRemoved(event.getEntity());
+    }
+
+    private GeneratorEngine engine() {
+        return plugin.getGameManager().getGeneratorEngine();
+    }
+}
@@ -59,6 +59,10 @@ public class PlayerDeathListener implements Listener {
         // Victim team bed status decides final kill
         boolean victimBedAlive = victim.getTeam().isBedAlive();
 
+        if (plugin.getAchievementsManager() != null) {
+            plugin.getAchievementsManager().recordDeath(victimBukkit.getUniqueId());
+        }
+
         if (killerBukkit != null) {
             GamePlayer killer = game.getGamePlayer(killerBukkit);
 
@@ -20,13 +20,13 @@ public class PlayerJoinListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         plugin.getDebugLogger().debug("Player join: " + event.getPlayer().getName()
                 + " (" + event.getPlayer().getUniqueId() + ")");
-        // Load player stats asynchronously when they join
+        // Usually prefetched at login already (cache hits); otherwise joins the load still in flight
         plugin.getStatsManager().loadPlayerStats(event.getPlayer().getUniqueId());
-            if (plugin.getCosmeticsManager() != null) {
-                plugin.getCosmeticsManager().loadPlayerCosmetics(event.getPlayer().getUniqueId());
-            }
-            if (plugin.getAchievementsManager() != null) {
-                plugin.getAchievementsManager().loadPlayer(event.getPlayer().getUniqueId());
-            }
+        if (plugin.getCosmeticsManager() != null) {
+            plugin.getCosmeticsManager().loadPlayerCosmetics(event.getPlayer().getUniqueId());
+        }
+        if (plugin.getAchievementsManager() != null) {
+            plugin.getAchievementsManager().loadPlayer(event.getPlayer().getUniqueId());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package ch.framedev.bedwars.listeners;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Prefetches player data while the player logs in, so it is cached before they join.
+ * <p>
+ * Notes:
+ * - Runs on the async login thread: waiting here (bounded by {@code database.prefetch.timeout-ms})
+ *   delays only this login, never the main thread
+ * - Loads that don't finish in time keep running; until then the managers hand out placeholders
+ */
+public class PlayerPreLoginListener implements Listener {
+
+    private final BedWarsPlugin plugin;
+
+    public PlayerPreLoginListener(BedWarsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        UUID uuid = event.getUniqueId();
+        List<CompletableFuture<?>> loads = new ArrayList<>(3);
+        loads.add(plugin.getStatsManager().loadPlayerStats(uuid));
+        if (plugin.getCosmeticsManager() != null) {
+            loads.add(plugin.getCosmeticsManager().loadPlayerCosmetics(uuid));
+        }
+        if (plugin.getAchievementsManager() != null) {
+            loads.add(plugin.getAchievementsManager().loadPlayer(uuid));
+        }
+
+        long timeout = plugin.getConfig().getLong("database.prefetch.timeout-ms", 3000);
+        if (timeout <= 0) return;
+
+        long start = System.nanoTime();
+        try {
+            CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).get(timeout, TimeUnit.MILLISECONDS);
+            plugin.getDebugLogger().debug("Prefetched player data: " + event.getName()
+                    + ", took=" + (System.nanoTime() - start) / 1_000_000 + "ms");
+        } catch (TimeoutException e) {
+            plugin.getDebugLogger().debug("Prefetch timed out after " + timeout + "ms: " + event.getName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            plugin.getLogger().warning("Failed to prefetch data for " + event.getName() + ": "
+                    + e.getCause().getMessage());
+        }
+    }
+}
@@ -34,11 +34,17 @@ public class PlayerQuitListener implements Listener {
             }
         }
 
-        // Save player stats when they quit
-        plugin.getStatsManager().savePlayerStats(player.getUniqueId(), player.getName());
+        // Release cached stats (written by the next flush if changed, evicted once idle or,
+        // with a shared database, saved and dropped now)
+        plugin.getStatsManager().clearCache(player.getUniqueId(), player.getName());
 
-        // Clear cache to free memory
-        plugin.getStatsManager().clearCache(player.getUniqueId());
+        // Drop open menu state; cosmetics and achievements stay cached until idle
+        if (plugin.getCosmeticsManager() != null) {
+            plugin.getCosmeticsManager().releasePlayer(player.getUniqueId());
+        }
+        if (plugin.getAchievementsManager() != null) {
+            plugin.getAchievementsManager().releasePlayer(player.getUniqueId());
+        }
 
         if (plugin.getMapVoteManager() != null) {
             plugin.getMapVoteManager().removePlayer(player);
@@ -1,26 +1,42 @@
 package ch.framedev.bedwars.party;
 
 import ch.framedev.BedWarsPlugin;
+import ch.framedev.bedwars.database.DatabaseExecutor;
 import ch.framedev.bedwars.database.DatabaseManager;
 import ch.framedev.bedwars.party.Party.PartyRole;
 import ch.framedev.bedwars.utils.MessageManager;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Manages party creation, invites, and persistence.
+ * <p>
+ * Notes:
+ * - The in-memory parties, member index and invites are authoritative: commands only read them,
+ *   so a party command never waits for the database
+ * - Every change is queued on the database thread (see {@link DatabaseManager#update}) in order
+ * - State is read from the database at startup ({@link #loadParties()}) and when another server
+ *   reports a change over BungeeCord ({@link #syncParty(UUID)}, {@link #syncInvite(UUID)}); a server
+ *   reports its own changes once they are committed
+ * - Main thread only
  */
 public class PartyManager {
 
     private final BedWarsPlugin plugin;
     private final DatabaseManager database;
+    private final String upsertInvite;
+    private final String upsertMember;
     private final Map<UUID, Party> parties;
     private final Map<UUID, UUID> playerToParty;
     private final Map<UUID, PartyInvite> invites;
@@ -28,67 +44,77 @@ public class PartyManager {
     public PartyManager(BedWarsPlugin plugin, DatabaseManager database) {
         this.plugin = plugin;
         this.database = database;
+        this.upsertInvite = database.upsert("party_invites", List.of("target_uuid"),
+                List.of("target_uuid", "party_id", "inviter_uuid", "inviter_name", "expires_at"),
+                List.of("party_id", "inviter_uuid", "inviter_name", "expires_at"));
+        this.upsertMember = database.upsert("party_members", List.of("party_id", "member_uuid"),
+                List.of("party_id", "member_uuid", "role", "joined_at"),
+                List.of("role", "joined_at"));
         this.parties = new HashMap<>();
         this.playerToParty = new HashMap<>();
         this.invites = new HashMap<>();
     }
 
+    /**
+     * Load all parties and pending invites (startup, blocks until loaded).
+     */
     public void loadParties() {
         parties.clear();
         playerToParty.clear();
+        invites.clear();
 
-        try (ResultSet rs = database.executeQuery("SELECT id, leader_uuid FROM parties")) {
-            while (rs.next()) {
-                UUID partyId = UUID.fromString(rs.getString("id"));
-                UUID leader = UUID.fromString(rs.getString("leader_uuid"));
-                parties.put(partyId, new Party(partyId, leader));
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to load parties: " + e.getMessage());
-        }
-
-        try (ResultSet rs = database.executeQuery("SELECT party_id, member_uuid, role FROM party_members")) {
-            while (rs.next()) {
-                UUID partyId = UUID.fromString(rs.getString("party_id"));
-                UUID member = UUID.fromString(rs.getString("member_uuid"));
-                String role = rs.getString("role");
+        long now = System.currentTimeMillis();
+        Snapshot loaded;
+        try {
+            loaded = database.transaction(session -> {
+                Snapshot result = new Snapshot();
+                try (ResultSet rs = session.prepare("SELECT id, leader_uuid FROM parties").executeQuery()) {
+                    while (rs.next()) {
+                        UUID partyId = UUID.fromString(rs.getString("id"));
+                        UUID leader = UUID.fromString(rs.getString("leader_uuid"));
+                        result.parties.put(partyId, new Party(partyId, leader));
+                    }
+                }
 
-                Party party = parties.get(partyId);
-                if (party == null) {
-                    continue;
+                try (ResultSet rs = session.prepare("SELECT party_id, member_uuid, role FROM party_members")
+                        .executeQuery()) {
+                    while (rs.next()) {
+                        Party party = result.parties.get(UUID.fromString(rs.getString("party_id")));
+                        if (party != null) {
+                            addLoadedMember(party, UUID.fromString(rs.getString("member_uuid")), rs.getString("role"));
+                        }
+                    }
                 }
 
-                PartyRole partyRole = PartyRole.MEMBER;
-                if ("LEADER".equalsIgnoreCase(role)) {
-                    partyRole = PartyRole.LEADER;
-                    party.setLeader(member);
+                PreparedStatement expired = session.prepare("DELETE FROM party_invites WHERE expires_at < ?");
+                expired.setLong(1, now);
+                expired.executeUpdate();
+
+                try (ResultSet rs = session.prepare(
+                        "SELECT target_uuid, party_id, inviter_uuid, inviter_name, expires_at FROM party_invites")
+                        .executeQuery()) {
+                    while (rs.next()) {
+                        result.invites.put(UUID.fromString(rs.getString("target_uuid")), readInvite(rs));
+                    }
                 }
+                return result;
+            }).join();
+        } catch (CompletionException e) {
+            plugin.getLogger().severe("Failed to load parties: " + e.getCause().getMessage());
+            return;
+        }
 
-                party.addMember(member, partyRole);
-                playerToParty.put(member, partyId);
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to load party members: " + e.getMessage());
+        for (Party party : loaded.parties.values()) {
+            register(party);
         }
+        invites.putAll(loaded.invites);
 
-        plugin.getDebugLogger().debug("Loaded parties: count=" + parties.size());
+        plugin.getDebugLogger().debug("Loaded parties: count=" + parties.size() + ", invites=" + invites.size());
     }
 
     public Party getParty(UUID playerUuid) {
         UUID partyId = playerToParty.get(playerUuid);
-        if (partyId == null) {
-            partyId = getPartyIdForPlayer(playerUuid);
-            if (partyId == null) {
-                return null;
-            }
-            playerToParty.put(playerUuid, partyId);
-        }
-
-        Party party = parties.get(partyId);
-        if (party == null) {
-            party = loadParty(partyId);
-        }
-        return party;
+        return partyId == null ? null : parties.get(partyId);
     }
 
     public boolean isLeader(UUID playerUuid) {
@@ -110,7 +136,7 @@ public class PartyManager {
         playerToParty.put(leader.getUniqueId(), partyId);
 
         persistParty(party);
-        persistMember(partyId, leader.getUniqueId(), PartyRole.LEADER);
+        publish(leader, partyId, persistMember(partyId, leader.getUniqueId(), PartyRole.LEADER));
 
         mm.sendMessage(leader, "party.created");
         plugin.getDebugLogger().debug("Party created: " + partyId + " leader=" + leader.getName());
@@ -139,7 +165,7 @@ public class PartyManager {
             return;
         }
 
-        if (getPartyIdForPlayer(targetUuid) != null) {
+        if (playerToParty.containsKey(targetUuid)) {
             mm.sendMessage(leader, "party.invite-already-in-party");
             return;
         }
@@ -150,7 +176,7 @@ public class PartyManager {
             return;
         }
 
-        PartyInvite existingInvite = loadInvite(targetUuid);
+        PartyInvite existingInvite = invites.get(targetUuid);
         if (existingInvite != null && !existingInvite.isExpired()) {
             mm.sendMessage(leader, "party.invite-already-sent");
             return;
@@ -159,8 +185,9 @@ public class PartyManager {
         long expiresAt = System.currentTimeMillis()
                 + (plugin.getConfig().getInt("party.invite-expire-seconds", 60) * 1000L);
         PartyInvite invite = new PartyInvite(party.getId(), leader.getUniqueId(), leader.getName(), expiresAt);
+        invites.values().removeIf(PartyInvite::isExpired);
         invites.put(targetUuid, invite);
-        saveInvite(targetUuid, invite);
+        CompletableFuture<?> saved = saveInvite(targetUuid, invite);
 
         String resolvedName = targetName == null ? getPlayerName(targetUuid) : targetName;
         mm.sendMessage(leader, "party.invited", resolvedName);
@@ -168,9 +195,9 @@ public class PartyManager {
         Player targetPlayer = Bukkit.getPlayer(targetUuid);
         if (targetPlayer != null) {
             mm.sendMessage(targetPlayer, "party.invite-received", leader.getName());
-        } else if (plugin.getBungeeManager().isEnabled()) {
-            plugin.getBungeeManager().forwardBedWarsMessage(leader, "party-invite",
-                    targetUuid.toString(), leader.getName());
+        } else {
+            // The target's server loads the invite when notified, so only notify once it is committed
+            afterWrite(saved, () -> forward(leader, "party-invite", targetUuid.toString(), leader.getName()));
         }
 
         plugin.getDebugLogger().debug("Party invite: leader=" + leader.getName() + " target=" + resolvedName);
@@ -178,7 +205,7 @@ public class PartyManager {
 
     public void acceptInvite(Player player, String inviterName) {
         MessageManager mm = plugin.getMessageManager();
-        PartyInvite invite = loadInvite(player.getUniqueId());
+        PartyInvite invite = invites.get(player.getUniqueId());
         if (invite == null || invite.isExpired()) {
             invites.remove(player.getUniqueId());
             deleteInvite(player.getUniqueId());
@@ -191,15 +218,12 @@ public class PartyManager {
             return;
         }
 
-        if (getPartyIdForPlayer(player.getUniqueId()) != null) {
+        if (playerToParty.containsKey(player.getUniqueId())) {
             mm.sendMessage(player, "party.already-in-party");
             return;
         }
 
         Party party = parties.get(invite.getPartyId());
-        if (party == null) {
-            party = loadParty(invite.getPartyId());
-        }
         if (party == null) {
             mm.sendMessage(player, "party.invite-expired");
             invites.remove(player.getUniqueId());
@@ -220,7 +244,7 @@ public class PartyManager {
         persistMember(party.getId(), player.getUniqueId(), PartyRole.MEMBER);
 
         invites.remove(player.getUniqueId());
-        deleteInvite(player.getUniqueId());
+        publish(player, party.getId(), deleteInvite(player.getUniqueId()));
 
         sendPartyMessage(party, "party.joined", player.getName());
         plugin.getDebugLogger().debug("Party join: player=" + player.getName() + " party=" + party.getId());
@@ -228,7 +252,7 @@ public class PartyManager {
 
     public void denyInvite(Player player, String inviterName) {
         MessageManager mm = plugin.getMessageManager();
-        PartyInvite invite = loadInvite(player.getUniqueId());
+        PartyInvite invite = invites.get(player.getUniqueId());
         if (invite == null || invite.isExpired()) {
             invites.remove(player.getUniqueId());
             deleteInvite(player.getUniqueId());
@@ -242,7 +266,8 @@ public class PartyManager {
         }
 
         invites.remove(player.getUniqueId());
-        deleteInvite(player.getUniqueId());
+        CompletableFuture<?> deleted = deleteInvite(player.getUniqueId());
+        afterWrite(deleted, () -> forward(player, "party-invite-removed", player.getUniqueId().toString()));
         mm.sendMessage(player, "party.invite-denied", invite.getInviterName());
 
         Player inviter = Bukkit.getPlayer(invite.getInviterUuid());
@@ -262,11 +287,11 @@ public class PartyManager {
         boolean wasLeader = party.getLeader().equals(player.getUniqueId());
         party.removeMember(player.getUniqueId());
         playerToParty.remove(player.getUniqueId());
-        deleteMember(party.getId(), player.getUniqueId());
+        CompletableFuture<?> written = deleteMember(party.getId(), player.getUniqueId());
 
         if (party.getSize() == 0) {
-            deleteParty(party.getId());
             parties.remove(party.getId());
+            publish(player, party.getId(), deleteParty(party.getId()));
             return;
         }
 
@@ -276,10 +301,11 @@ public class PartyManager {
                 UUID newLeader = nextLeader.get();
                 party.setLeader(newLeader);
                 updateLeader(party.getId(), newLeader);
-                updateMemberRole(party.getId(), newLeader, PartyRole.LEADER);
+                written = updateMemberRole(party.getId(), newLeader, PartyRole.LEADER);
                 sendPartyMessage(party, "party.promoted", getPlayerName(newLeader));
             }
         }
+        publish(player, party.getId(), written);
 
         sendPartyMessage(party, "party.left", player.getName());
         mm.sendMessage(player, "party.left-self");
@@ -302,8 +328,8 @@ public class PartyManager {
             playerToParty.remove(member);
         }
 
-        deleteParty(party.getId());
         parties.remove(party.getId());
+        publish(leader, party.getId(), deleteParty(party.getId()));
         plugin.getDebugLogger().debug("Party disbanded: " + party.getId());
     }
 
@@ -325,7 +351,7 @@ public class PartyManager {
 
         party.removeMember(target.getUniqueId());
         playerToParty.remove(target.getUniqueId());
-        deleteMember(party.getId(), target.getUniqueId());
+        publish(leader, party.getId(), deleteMember(party.getId(), target.getUniqueId()));
 
         mm.sendMessage(target, "party.kicked");
         sendPartyMessage(party, "party.kicked-other", target.getName());
@@ -352,7 +378,7 @@ public class PartyManager {
 
         party.setLeader(target.getUniqueId());
         updateLeader(party.getId(), target.getUniqueId());
-        updateMemberRole(party.getId(), target.getUniqueId(), PartyRole.LEADER);
+        publish(leader, party.getId(), updateMemberRole(party.getId(), target.getUniqueId(), PartyRole.LEADER));
 
         sendPartyMessage(party, "party.promoted", target.getName());
     }
@@ -393,106 +419,165 @@ public class PartyManager {
 
     public void shutdown() {
         invites.clear();
+        playerToParty.clear();
+        parties.clear();
     }
 
-    private UUID getPartyIdForPlayer(UUID uuid) {
-        UUID partyId = playerToParty.get(uuid);
-        if (partyId != null) {
-            return partyId;
-        }
+    /* --------------------------------------------------------------------- */
+    /* Cross-server sync                                                      */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Reload a party another server changed (async, applied on the main thread).
+     */
+    public void syncParty(UUID partyId) {
+        database.transaction(session -> readParty(session, partyId)).whenComplete((party, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to sync party: " + error.getMessage());
+                return;
+            }
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> applySync(partyId, party));
+            }
+        });
+    }
 
-        try (ResultSet rs = database.executeQuery(
-                "SELECT party_id FROM party_members WHERE member_uuid = ?",
-                uuid.toString())) {
-            if (rs.next()) {
-                return UUID.fromString(rs.getString("party_id"));
+    /**
+     * Reload a player's invite another server changed (async, applied on the main thread).
+     */
+    public void syncInvite(UUID targetUuid) {
+        database.query(
+                "SELECT party_id, inviter_uuid, inviter_name, expires_at FROM party_invites WHERE target_uuid = ?",
+                rs -> rs.next() ? readInvite(rs) : null,
+                targetUuid.toString()).whenComplete((invite, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to sync party invite: " + error.getMessage());
+                return;
+            }
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (invite == null || invite.isExpired()) {
+                    invites.remove(targetUuid);
+                } else {
+                    invites.put(targetUuid, invite);
+                }
+            });
+        });
+    }
+
+    private void applySync(UUID partyId, Party party) {
+        Party previous = parties.remove(partyId);
+        if (previous != null) {
+            for (UUID member : previous.getMemberUuids()) {
+                playerToParty.remove(member, partyId);
             }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to lookup party membership: " + e.getMessage());
         }
+        if (party != null) {
+            register(party);
+            for (UUID member : party.getMemberUuids()) {
+                invites.remove(member);
+            }
+        }
+        plugin.getDebugLogger().debug("Party synced: " + partyId
+                + (party == null ? " (removed)" : ", members=" + party.getSize()));
+    }
 
-        return null;
+    /**
+     * Tell the other servers to reload the party once its queued writes are committed.
+     */
+    private void publish(Player via, UUID partyId, CompletableFuture<?> written) {
+        afterWrite(written, () -> forward(via, "party-sync", partyId.toString()));
     }
 
-    private Party loadParty(UUID partyId) {
-        try (ResultSet rs = database.executeQuery(
-                "SELECT id, leader_uuid FROM parties WHERE id = ?", partyId.toString())) {
-            if (!rs.next()) {
-                return null;
-            }
-            UUID leader = UUID.fromString(rs.getString("leader_uuid"));
-            Party party = new Party(partyId, leader);
-
-            try (ResultSet members = database.executeQuery(
-                    "SELECT member_uuid, role FROM party_members WHERE party_id = ?", partyId.toString())) {
-                while (members.next()) {
-                    UUID member = UUID.fromString(members.getString("member_uuid"));
-                    String role = members.getString("role");
-                    PartyRole partyRole = "LEADER".equalsIgnoreCase(role) ? PartyRole.LEADER : PartyRole.MEMBER;
-                    if (partyRole == PartyRole.LEADER) {
-                        party.setLeader(member);
-                    }
-                    party.addMember(member, partyRole);
-                    playerToParty.put(member, partyId);
-                }
+    /**
+     * Run a cross-server notification on the main thread after the write (no-op without BungeeCord).
+     */
+    private void afterWrite(CompletableFuture<?> written, Runnable notification) {
+        if (!plugin.getBungeeManager().isEnabled()) return;
+        written.whenComplete((ignored, error) -> {
+            if (error == null && plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, notification);
             }
+        });
+    }
 
-            parties.put(partyId, party);
-            return party;
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to load party: " + e.getMessage());
-            return null;
+    private void forward(Player via, String action, String... fields) {
+        // Plugin messages need a connected player; the one who acted may have left meanwhile
+        Player sender = via.isOnline() ? via : Bukkit.getOnlinePlayers().stream().findFirst().orElse(null);
+        if (sender != null) {
+            plugin.getBungeeManager().forwardBedWarsMessage(sender, action, fields);
         }
     }
 
-    private PartyInvite loadInvite(UUID targetUuid) {
-        PartyInvite cached = invites.get(targetUuid);
-        if (cached != null && !cached.isExpired()) {
-            return cached;
+    /* --------------------------------------------------------------------- */
+    /* Database                                                               */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Party with its members, or null if it no longer exists (database thread).
+     */
+    private static Party readParty(DatabaseExecutor.Session session, UUID partyId) throws SQLException {
+        PreparedStatement partyQuery = session.prepare("SELECT id, leader_uuid FROM parties WHERE id = ?");
+        partyQuery.setString(1, partyId.toString());
+        Party result;
+        try (ResultSet rs = partyQuery.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            result = new Party(partyId, UUID.fromString(rs.getString("leader_uuid")));
         }
 
-        try (ResultSet rs = database.executeQuery(
-                "SELECT party_id, inviter_uuid, inviter_name, expires_at FROM party_invites WHERE target_uuid = ?",
-                targetUuid.toString())) {
-            if (rs.next()) {
-                PartyInvite invite = new PartyInvite(
-                        UUID.fromString(rs.getString("party_id")),
-                        UUID.fromString(rs.getString("inviter_uuid")),
-                        rs.getString("inviter_name"),
-                        rs.getLong("expires_at"));
-                invites.put(targetUuid, invite);
-                return invite;
+        PreparedStatement memberQuery = session.prepare(
+                "SELECT member_uuid, role FROM party_members WHERE party_id = ?");
+        memberQuery.setString(1, partyId.toString());
+        try (ResultSet members = memberQuery.executeQuery()) {
+            while (members.next()) {
+                addLoadedMember(result, UUID.fromString(members.getString("member_uuid")),
+                        members.getString("role"));
             }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to load party invite: " + e.getMessage());
         }
+        return result;
+    }
 
-        return null;
+    private static PartyInvite readInvite(ResultSet rs) throws SQLException {
+        return new PartyInvite(
+                UUID.fromString(rs.getString("party_id")),
+                UUID.fromString(rs.getString("inviter_uuid")),
+                rs.getString("inviter_name"),
+                rs.getLong("expires_at"));
     }
 
-    private void saveInvite(UUID targetUuid, PartyInvite invite) {
-        try {
-            database.executeUpdate(
-                    "INSERT OR REPLACE INTO party_invites (target_uuid, party_id, inviter_uuid, inviter_name, expires_at) "
-                            + "VALUES (?, ?, ?, ?, ?)",
-                    targetUuid.toString(),
-                    invite.getPartyId().toString(),
-                    invite.getInviterUuid().toString(),
-                    invite.getInviterName(),
-                    invite.getExpiresAt());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to persist party invite: " + e.getMessage());
+    /**
+     * Applies a loaded member row (runs on the database thread, on a party not yet registered).
+     */
+    private static void addLoadedMember(Party party, UUID member, String role) {
+        PartyRole partyRole = "LEADER".equalsIgnoreCase(role) ? PartyRole.LEADER : PartyRole.MEMBER;
+        if (partyRole == PartyRole.LEADER) {
+            party.setLeader(member);
         }
+        party.addMember(member, partyRole);
     }
 
-    private void deleteInvite(UUID targetUuid) {
-        try {
-            database.executeUpdate("DELETE FROM party_invites WHERE target_uuid = ?", targetUuid.toString());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to delete party invite: " + e.getMessage());
+    private void register(Party party) {
+        parties.put(party.getId(), party);
+        for (UUID member : party.getMemberUuids()) {
+            playerToParty.put(member, party.getId());
         }
     }
 
+    private CompletableFuture<Integer> saveInvite(UUID targetUuid, PartyInvite invite) {
+        return database.update(upsertInvite,
+                targetUuid.toString(),
+                invite.getPartyId().toString(),
+                invite.getInviterUuid().toString(),
+                invite.getInviterName(),
+                invite.getExpiresAt());
+    }
+
+    private CompletableFuture<Integer> deleteInvite(UUID targetUuid) {
+        return database.update("DELETE FROM party_invites WHERE target_uuid = ?", targetUuid.toString());
+    }
+
     private void sendPartyMessage(Party party, String key, Object... args) {
         MessageManager mm = plugin.getMessageManager();
         for (UUID member : party.getMemberUuids()) {
@@ -513,66 +598,50 @@ public class PartyManager {
     }
 
     private void persistParty(Party party) {
-        try {
-            database.executeUpdate("INSERT INTO parties (id, leader_uuid, created_at) VALUES (?, ?, ?)",
-                    party.getId().toString(),
-                    party.getLeader().toString(),
-                    System.currentTimeMillis());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to persist party: " + e.getMessage());
-        }
+        database.update("INSERT INTO parties (id, leader_uuid, created_at) VALUES (?, ?, ?)",
+                party.getId().toString(),
+                party.getLeader().toString(),
+                System.currentTimeMillis());
     }
 
-    private void persistMember(UUID partyId, UUID memberUuid, PartyRole role) {
-        try {
-            database.executeUpdate("INSERT OR REPLACE INTO party_members (party_id, member_uuid, role, joined_at) "
-                    + "VALUES (?, ?, ?, ?)",
-                    partyId.toString(),
-                    memberUuid.toString(),
-                    role.name(),
-                    System.currentTimeMillis());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to persist party member: " + e.getMessage());
-        }
+    private CompletableFuture<Integer> persistMember(UUID partyId, UUID memberUuid, PartyRole role) {
+        return database.update(upsertMember,
+                partyId.toString(),
+                memberUuid.toString(),
+                role.name(),
+                System.currentTimeMillis());
     }
 
     private void updateLeader(UUID partyId, UUID leaderUuid) {
-        try {
-            database.executeUpdate("UPDATE parties SET leader_uuid = ? WHERE id = ?",
-                    leaderUuid.toString(),
-                    partyId.toString());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to update party leader: " + e.getMessage());
-        }
+        database.update("UPDATE parties SET leader_uuid = ? WHERE id = ?",
+                leaderUuid.toString(),
+                partyId.toString());
     }
 
-    private void updateMemberRole(UUID partyId, UUID memberUuid, PartyRole role) {
-        try {
-            database.executeUpdate("UPDATE party_members SET role = ? WHERE party_id = ? AND member_uuid = ?",
-                    role.name(),
-                    partyId.toString(),
-                    memberUuid.toString());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to update party member role: " + e.getMessage());
-        }
+    private CompletableFuture<Integer> updateMemberRole(UUID partyId, UUID memberUuid, PartyRole role) {
+        return database.update("UPDATE party_members SET role = ? WHERE party_id = ? AND member_uuid = ?",
+                role.name(),
+                partyId.toString(),
+                memberUuid.toString());
     }
 
-    private void deleteMember(UUID partyId, UUID memberUuid) {
-        try {
-            database.executeUpdate("DELETE FROM party_members WHERE party_id = ? AND member_uuid = ?",
-                    partyId.toString(),
-                    memberUuid.toString());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to delete party member: " + e.getMessage());
-        }
+    private CompletableFuture<Integer> deleteMember(UUID partyId, UUID memberUuid) {
+        return database.update("DELETE FROM party_members WHERE party_id = ? AND member_uuid = ?",
+                partyId.toString(),
+                memberUuid.toString());
     }
 
-    private void deleteParty(UUID partyId) {
-        try {
-            database.executeUpdate("DELETE FROM party_members WHERE party_id = ?", partyId.toString());
-            database.executeUpdate("DELETE FROM parties WHERE id = ?", partyId.toString());
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to delete party: " + e.getMessage());
-        }
+    private CompletableFuture<Integer> deleteParty(UUID partyId) {
+        // Writes run in queue order: the party is gone once the second one completes
+        database.update("DELETE FROM party_members WHERE party_id = ?", partyId.toString());
+        return database.update("DELETE FROM parties WHERE id = ?", partyId.toString());
+    }
+
+    /**
+     * Parties and invites read at startup (built on the database thread).
+     */
+    private static final class Snapshot {
+        private final Map<UUID, Party> parties = new HashMap<>();
+        private final Map<UUID, PartyInvite> invites = new HashMap<>();
     }
 }
@@ -0,0 +1,302 @@
+package ch.framedev.bedwars.player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent per-player cache with a size bound and an idle-time bound.
+ * <p>
+ * Notes:
+ * - Reads and writes are safe from any thread; eviction only happens in {@link #sweep()}, which
+ *   {@link PlayerDataService} runs on the main thread, so eviction listeners may snapshot and
+ *   save main-thread state
+ * - Pinned players (online, see the service) and retained entries are never evicted
+ * - Over the size bound, the least recently used entries go first; an overflow requests an
+ *   early sweep instead of evicting inline
+ * - Hit, miss and eviction counters are kept per cache
+ */
+public final class PlayerDataCache<V> {
+
+    public enum Cause {
+        /** Not accessed for longer than the idle bound. */
+        IDLE,
+        /** Least recently used while the cache was over its size bound. */
+        SIZE,
+        /** Removed through {@link #invalidate(UUID)}. */
+        EXPLICIT
+    }
+
+    /**
+     * Called after an entry was evicted (main thread); flush dirty state here.
+     */
+    @FunctionalInterface
+    public interface EvictionListener<V> {
+        void onEvict(UUID uuid, V value, Cause cause);
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long idleNanos;
+    private final Predicate<UUID> pinned;
+    private final Runnable overflowSweep;
+    private final Map<UUID, Node<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweepRequested = new AtomicBoolean();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile EvictionListener<V> listener = (uuid, value, cause) -> { };
+    private volatile BiPredicate<UUID, V> retained = (uuid, value) -> false;
+
+    PlayerDataCache(String name, int maxSize, long idleNanos, Predicate<UUID> pinned, Runnable overflowSweep) {
+        this.name = name;
+        this.maxSize = Math.max(1, maxSize);
+        this.idleNanos = idleNanos;
+        this.pinned = pinned;
+        this.overflowSweep = overflowSweep;
+    }
+
+    /**
+     * Listener called for every evicted entry.
+     */
+    public PlayerDataCache<V> onEvict(EvictionListener<V> listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Entries matching the predicate are never evicted (e.g. not loaded or not saved yet).
+     */
+    public PlayerDataCache<V> retainIf(BiPredicate<UUID, V> retained) {
+        this.retained = retained;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Access                                                                 */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Cached value (counts a hit or miss and refreshes the entry), or null.
+     */
+    public V get(UUID uuid) {
+        Node<V> node = entries.get(uuid);
+        if (node == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        node.touch();
+        return node.value;
+    }
+
+    /**
+     * Cached value without touching the entry or the counters, or null.
+     */
+    public V peek(UUID uuid) {
+        Node<V> node = entries.get(uuid);
+        return node == null ? null : node.value;
+    }
+
+    public boolean contains(UUID uuid) {
+        return entries.containsKey(uuid);
+    }
+
+    public void put(UUID uuid, V value) {
+        entries.put(uuid, new Node<>(value));
+        checkSize();
+    }
+
+    /**
+     * Cache the value unless the player already has one; returns the existing value or null.
+     */
+    public V putIfAbsent(UUID uuid, V value) {
+        Node<V> existing = entries.putIfAbsent(uuid, new Node<>(value));
+        if (existing != null) {
+            existing.touch();
+            return existing.value;
+        }
+        checkSize();
+        return null;
+    }
+
+    /**
+     * Cached value, or the one created by {@code factory} (counts a hit or miss).
+     */
+    public V computeIfAbsent(UUID uuid, Function<UUID, V> factory) {
+        Node<V> node = entries.get(uuid);
+        if (node != null) {
+            hits.incrementAndGet();
+            node.touch();
+            return node.value;
+        }
+
+        misses.incrementAndGet();
+        boolean[] created = {false};
+        node = entries.computeIfAbsent(uuid, key -> {
+            created[0] = true;
+            return new Node<>(factory.apply(key));
+        });
+        if (created[0]) checkSize();
+        return node.value;
+    }
+
+    /**
+     * Remove without notifying the listener (the caller handles the value); returns it or null.
+     */
+    public V remove(UUID uuid) {
+        Node<V> node = entries.remove(uuid);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Remove only if still mapped to {@code value}, without notifying the listener.
+     */
+    public boolean remove(UUID uuid, V value) {
+        Node<V> node = entries.get(uuid);
+        return node != null && node.value == value && entries.remove(uuid, node);
+    }
+
+    /**
+     * Remove and notify the listener (main thread).
+     */
+    public void invalidate(UUID uuid) {
+        Node<V> node = entries.remove(uuid);
+        if (node != null) notifyEvicted(uuid, node.value, Cause.EXPLICIT);
+    }
+
+    /**
+     * Snapshot of the cached values (weakly consistent).
+     */
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>(entries.size());
+        for (Node<V> node : entries.values()) {
+            values.add(node.value);
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop everything without notifying the listener (shutdown; managers flush themselves).
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Eviction                                                               */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Evict idle entries, then the least recently used ones while over the size bound (main thread).
+     *
+     * @return number of evicted entries
+     */
+    public int sweep() {
+        sweepRequested.set(false);
+        long now = System.nanoTime();
+        int evicted = 0;
+
+        List<Map.Entry<UUID, Node<V>>> candidates = new ArrayList<>();
+        for (Map.Entry<UUID, Node<V>> entry : entries.entrySet()) {
+            UUID uuid = entry.getKey();
+            Node<V> node = entry.getValue();
+            if (pinned.test(uuid) || retained.test(uuid, node.value)) continue;
+
+            if (idleNanos > 0 && now - node.lastAccess > idleNanos) {
+                if (evict(uuid, node, Cause.IDLE)) evicted++;
+            } else {
+                candidates.add(entry);
+            }
+        }
+
+        int excess = entries.size() - maxSize;
+        if (excess > 0) {
+            candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            for (int i = 0; i < candidates.size() && excess > 0; i++) {
+                Map.Entry<UUID, Node<V>> entry = candidates.get(i);
+                if (evict(entry.getKey(), entry.getValue(), Cause.SIZE)) {
+                    evicted++;
+                    excess--;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public String describe() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return name + ": size=" + entries.size() + "/" + maxSize
+                + ", hits=" + hitCount
+                + ", misses=" + misses.get()
+                + ", hitRate=" + (total == 0 ? "-" : String.format("%.1f%%", hitCount * 100.0 / total))
+                + ", evictions=" + evictions.get();
+    }
+
+    private boolean evict(UUID uuid, Node<V> node, Cause cause) {
+        if (!entries.remove(uuid, node)) return false;
+        notifyEvicted(uuid, node.value, cause);
+        return true;
+    }
+
+    private void notifyEvicted(UUID uuid, V value, Cause cause) {
+        evictions.incrementAndGet();
+        listener.onEvict(uuid, value, cause);
+    }
+
+    private void checkSize() {
+        if (entries.size() > maxSize && sweepRequested.compareAndSet(false, true)) {
+            overflowSweep.run();
+        }
+    }
+
+    /**
+     * Value plus its last access time.
+     */
+    private static final class Node<V> {
+
+        private final V value;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Node(V value) {
+            this.value = value;
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ch.framedev.bedwars.player;
+
+import ch.framedev.BedWarsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the per-player data caches (one per data type) and evicts from them on the main thread.
+ * <p>
+ * Notes:
+ * - Bounds come from {@code player-cache} in config.yml, overridable per cache name
+ *   ({@code player-cache.<name>.max-size} / {@code idle-minutes})
+ * - Online players are pinned: only data of players who left is evicted, so memory stays flat
+ *   no matter how many unique players a server sees
+ * - Cache metrics are written to the debug log once a minute
+ */
+public class PlayerDataService {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final BedWarsPlugin plugin;
+    private final Map<String, PlayerDataCache<?>> caches = new ConcurrentHashMap<>();
+    private final BukkitTask sweepTask;
+    private long lastReport = System.nanoTime();
+
+    public PlayerDataService(BedWarsPlugin plugin) {
+        this.plugin = plugin;
+
+        long interval = Math.max(1, plugin.getConfig().getInt("player-cache.sweep-interval-seconds", 60)) * 20L;
+        this.sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, interval, interval);
+    }
+
+    /**
+     * Cache named {@code name} (its config overrides and metrics name), created on first use.
+     * Every caller of one name shares the cache, so a name must always be used with the same value type.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> PlayerDataCache<V> getCache(String name) {
+        return (PlayerDataCache<V>) caches.computeIfAbsent(name, this::newCache);
+    }
+
+    private <V> PlayerDataCache<V> newCache(String name) {
+        int maxSize = plugin.getConfig().getInt("player-cache." + name + ".max-size",
+                plugin.getConfig().getInt("player-cache.max-size", 2000));
+        int idleMinutes = plugin.getConfig().getInt("player-cache." + name + ".idle-minutes",
+                plugin.getConfig().getInt("player-cache.idle-minutes", 15));
+
+        PlayerDataCache<V> cache = new PlayerDataCache<>(name, maxSize, TimeUnit.MINUTES.toNanos(idleMinutes),
+                uuid -> Bukkit.getPlayer(uuid) != null, this::requestSweep);
+        plugin.getDebugLogger().debug("Player cache created: " + name + ", maxSize=" + maxSize
+                + ", idle=" + idleMinutes + "m");
+        return cache;
+    }
+
+    /**
+     * Run eviction on every cache (main thread).
+     */
+    public void sweep() {
+        long start = System.nanoTime();
+        int evicted = 0;
+        for (PlayerDataCache<?> cache : caches.values()) {
+            evicted += cache.sweep();
+        }
+        if (evicted > 0) {
+            plugin.getDebugLogger().debug("Player caches swept: evicted=" + evicted
+                    + ", took=" + (System.nanoTime() - start) / 1000 + "us");
+        }
+        report();
+    }
+
+    public String describeMetrics() {
+        return caches.values().stream().map(PlayerDataCache::describe).sorted().collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Stop evicting; caches are cleared by their owners (which flush first).
+     */
+    public void shutdown() {
+        sweepTask.cancel();
+        plugin.getDebugLogger().debug("Player caches: " + describeMetrics());
+        caches.clear();
+    }
+
+    private void requestSweep() {
+        // Called from any thread when a cache grows past its bound
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, this::sweep);
+        }
+    }
+
+    private void report() {
+        long now = System.nanoTime();
+        if (now - lastReport < REPORT_INTERVAL_NANOS) return;
+        lastReport = now;
+
+        if (plugin.getDebugLogger().isEnabled()) {
+            plugin.getDebugLogger().debug("Player caches: " + describeMetrics());
+        }
+    }
+}
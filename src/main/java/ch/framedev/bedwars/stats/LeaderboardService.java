@@ -0,0 +1,247 @@
+package ch.framedev.bedwars.stats;
+
+import ch.framedev.BedWarsPlugin;
+import ch.framedev.bedwars.database.DatabaseManager;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory leaderboards: one {@link RankedIndex} per stat, loaded once at startup and updated on every
+ * stats save, so top lists and ranks never query the database.
+ * <p>
+ * Notes:
+ * - Top-N and pages are returned in rank order; a player's rank is an O(log n) lookup
+ * - Thread-safe (one lock), so holograms or GUIs may read from async tasks
+ * - Updates that arrive while the initial load runs win over the loaded (older) values
+ * - With a shared backend (several servers on one database) the other servers' saves never reach
+ *   this index, so it is re-read every {@code database.leaderboard-refresh-seconds}; stored rows then
+ *   overwrite the indexed scores (a local save that lands meanwhile is re-applied on its next flush)
+ */
+public class LeaderboardService {
+
+    public enum Type {
+        WINS,
+        KILLS,
+        FINAL_KILLS,
+        BEDS_BROKEN;
+
+        int score(PlayerStats stats) {
+            switch (this) {
+                case WINS:
+                    return stats.getWins();
+                case KILLS:
+                    return stats.getKills();
+                case FINAL_KILLS:
+                    return stats.getFinalKills();
+                default:
+                    return stats.getBedsBroken();
+            }
+        }
+    }
+
+    /**
+     * One ranked row.
+     */
+    public static final class Entry {
+
+        private final int rank;
+        private final UUID uuid;
+        private final String name;
+        private final int score;
+
+        private Entry(int rank, UUID uuid, String name, int score) {
+            this.rank = rank;
+            this.uuid = uuid;
+            this.name = name;
+            this.score = score;
+        }
+
+        public int getRank() { return rank; }
+        public UUID getUuid() { return uuid; }
+        public String getName() { return name; }
+        public int getScore() { return score; }
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final BedWarsPlugin plugin;
+    private final Map<Type, RankedIndex> indexes = new EnumMap<>(Type.class);
+    private final Map<UUID, Tracked> players = new HashMap<>();
+    private volatile boolean loaded;
+    private BukkitTask refreshTask;
+
+    public LeaderboardService(BedWarsPlugin plugin) {
+        this.plugin = plugin;
+        for (Type type : TYPES) {
+            indexes.put(type, new RankedIndex());
+        }
+    }
+
+    /**
+     * Load all stored players (async, on the read pool); with a shared backend, re-read them periodically.
+     */
+    public void load(DatabaseManager database) {
+        read(database, false);
+
+        if (database.getBackend().isShared()) {
+            long interval = Math.max(10,
+                    plugin.getConfig().getInt("database.leaderboard-refresh-seconds", 60)) * 20L;
+            refreshTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> read(database, true), interval, interval);
+        }
+    }
+
+    /**
+     * Stop the periodic refresh (plugin disable).
+     */
+    public void shutdown() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Read all stored players; {@code refresh} overwrites indexed scores, the initial load only adds.
+     */
+    private void read(DatabaseManager database, boolean refresh) {
+        long start = System.nanoTime();
+        database.read("SELECT uuid, player_name, wins, kills, final_kills, beds_broken FROM player_stats", rs -> {
+            int count = 0;
+            int[] scores = new int[TYPES.length];
+            while (rs.next()) {
+                scores[Type.WINS.ordinal()] = rs.getInt("wins");
+                scores[Type.KILLS.ordinal()] = rs.getInt("kills");
+                scores[Type.FINAL_KILLS.ordinal()] = rs.getInt("final_kills");
+                scores[Type.BEDS_BROKEN.ordinal()] = rs.getInt("beds_broken");
+                UUID uuid = UUID.fromString(rs.getString("uuid"));
+                String name = rs.getString("player_name");
+                if (refresh) {
+                    set(uuid, name, scores);
+                    count++;
+                } else if (putIfAbsent(uuid, name, scores)) {
+                    count++;
+                }
+            }
+            return count;
+        }).whenComplete((count, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to " + (refresh ? "refresh" : "load") + " leaderboards: "
+                        + error.getMessage());
+                return;
+            }
+            loaded = true;
+            plugin.getDebugLogger().debug("Leaderboards " + (refresh ? "refreshed" : "loaded") + ": players="
+                    + count + ", took=" + (System.nanoTime() - start) / 1_000_000 + "ms");
+        });
+    }
+
+    /**
+     * Apply a player's current stats (called when they are saved).
+     */
+    public void update(PlayerStats stats, String name) {
+        int[] scores = new int[TYPES.length];
+        for (Type type : TYPES) {
+            scores[type.ordinal()] = type.score(stats);
+        }
+
+        set(stats.getUuid(), name, scores);
+    }
+
+    /**
+     * Entries from 1-based rank {@code from}, at most {@code limit}, in rank order.
+     */
+    public synchronized List<Entry> getPage(Type type, int from, int limit) {
+        List<RankedIndex.Node> nodes = indexes.get(type).range(from, limit);
+        if (nodes.isEmpty()) return Collections.emptyList();
+
+        List<Entry> entries = new ArrayList<>(nodes.size());
+        int rank = from;
+        for (RankedIndex.Node node : nodes) {
+            entries.add(new Entry(rank++, node.uuid, players.get(node.uuid).name, node.score));
+        }
+        return entries;
+    }
+
+    public List<Entry> getTop(Type type, int limit) {
+        return getPage(type, 1, limit);
+    }
+
+    /**
+     * 1-based rank of the player, or 0 if they have no stats yet.
+     */
+    public synchronized int getRank(Type type, UUID uuid) {
+        Tracked tracked = players.get(uuid);
+        return tracked == null ? 0 : indexes.get(type).rank(uuid, tracked.scores[type.ordinal()]);
+    }
+
+    /**
+     * Current score of the player, or 0 if they have no stats yet.
+     */
+    public synchronized int getScore(Type type, UUID uuid) {
+        Tracked tracked = players.get(uuid);
+        return tracked == null ? 0 : tracked.scores[type.ordinal()];
+    }
+
+    public synchronized int size() {
+        return players.size();
+    }
+
+    private synchronized void set(UUID uuid, String name, int[] scores) {
+        Tracked tracked = players.get(uuid);
+        if (tracked == null) {
+            add(uuid, name, scores.clone());
+            return;
+        }
+
+        if (name != null) tracked.name = name;
+        for (Type type : TYPES) {
+            int score = scores[type.ordinal()];
+            int old = tracked.scores[type.ordinal()];
+            if (score == old) continue;
+
+            RankedIndex index = indexes.get(type);
+            index.remove(uuid, old);
+            index.insert(uuid, score);
+            tracked.scores[type.ordinal()] = score;
+        }
+    }
+
+    private synchronized boolean putIfAbsent(UUID uuid, String name, int[] scores) {
+        if (players.containsKey(uuid)) return false;
+        add(uuid, name, scores.clone());
+        return true;
+    }
+
+    private void add(UUID uuid, String name, int[] scores) {
+        players.put(uuid, new Tracked(name != null ? name : "Unknown", scores));
+        for (Type type : TYPES) {
+            indexes.get(type).insert(uuid, scores[type.ordinal()]);
+        }
+    }
+
+    /**
+     * Indexed scores of one player (needed to find their nodes again).
+     */
+    private static final class Tracked {
+
+        private String name;
+        private final int[] scores;
+
+        private Tracked(String name, int[] scores) {
+            this.name = name;
+            this.scores = scores;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ch.framedev.bedwars.stats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable outcome of one match, handed from the main thread to the stats writer.
+ * <p>
+ * Notes:
+ * - Per participant: this match's deltas and the resulting totals (the totals are what is written,
+ *   so a write is idempotent and ordered saves of the same player can't double count)
+ * - Achievement progress changed by the match end, written in the same transaction
+ */
+public final class MatchResult {
+
+    private final String arenaName;
+    private final String winnerTeam;
+    private final long endedAt;
+    private final List<PlayerResult> players;
+    private final List<AchievementChange> achievements;
+
+    private MatchResult(String arenaName, String winnerTeam, long endedAt,
+                        List<PlayerResult> players, List<AchievementChange> achievements) {
+        this.arenaName = arenaName;
+        this.winnerTeam = winnerTeam;
+        this.endedAt = endedAt;
+        this.players = Collections.unmodifiableList(new ArrayList<>(players));
+        this.achievements = Collections.unmodifiableList(new ArrayList<>(achievements));
+    }
+
+    public String getArenaName() {
+        return arenaName;
+    }
+
+    /**
+     * Winning team color name, or null for no winner.
+     */
+    public String getWinnerTeam() {
+        return winnerTeam;
+    }
+
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    public List<PlayerResult> getPlayers() {
+        return players;
+    }
+
+    public List<AchievementChange> getAchievements() {
+        return achievements;
+    }
+
+    public boolean isEmpty() {
+        return players.isEmpty() && achievements.isEmpty();
+    }
+
+    /**
+     * The same result without the given participants' stats (their achievement changes are kept).
+     */
+    public MatchResult withoutPlayers(Set<UUID> excluded) {
+        List<PlayerResult> remaining = new ArrayList<>(players.size());
+        for (PlayerResult player : players) {
+            if (!excluded.contains(player.getUuid())) remaining.add(player);
+        }
+        return new MatchResult(arenaName, winnerTeam, endedAt, remaining, achievements);
+    }
+
+    /**
+     * Collects a match result on the main thread.
+     */
+    public static final class Builder {
+
+        private final String arenaName;
+        private final String winnerTeam;
+        private final List<PlayerResult> players = new ArrayList<>();
+        private final List<AchievementChange> achievements = new ArrayList<>();
+
+        public Builder(String arenaName, String winnerTeam) {
+            this.arenaName = arenaName;
+            this.winnerTeam = winnerTeam;
+        }
+
+        public Builder addPlayer(PlayerResult player) {
+            players.add(player);
+            return this;
+        }
+
+        public Builder addAchievements(List<AchievementChange> changes) {
+            achievements.addAll(changes);
+            return this;
+        }
+
+        public MatchResult build() {
+            return new MatchResult(arenaName, winnerTeam, System.currentTimeMillis(), players, achievements);
+        }
+    }
+
+    /**
+     * One participant: match deltas plus a snapshot of the totals after the match.
+     */
+    public static final class PlayerResult {
+
+        private final UUID uuid;
+        private final String name;
+        private final boolean won;
+        private final int kills;
+        private final int deaths;
+        private final int finalKills;
+        private final int bedsBroken;
+
+        /* Totals after this match */
+        private final int totalWins;
+        private final int totalLosses;
+        private final int totalKills;
+        private final int totalDeaths;
+        private final int totalFinalKills;
+        private final int totalBedsBroken;
+        private final int totalGamesPlayed;
+
+        public PlayerResult(UUID uuid, String name, boolean won, int kills, int deaths, int finalKills,
+                            int bedsBroken, PlayerStats totals) {
+            this.uuid = uuid;
+            this.name = name;
+            this.won = won;
+            this.kills = kills;
+            this.deaths = deaths;
+            this.finalKills = finalKills;
+            this.bedsBroken = bedsBroken;
+
+            this.totalWins = totals.getWins();
+            this.totalLosses = totals.getLosses();
+            this.totalKills = totals.getKills();
+            this.totalDeaths = totals.getDeaths();
+            this.totalFinalKills = totals.getFinalKills();
+            this.totalBedsBroken = totals.getBedsBroken();
+            this.totalGamesPlayed = totals.getGamesPlayed();
+        }
+
+        public UUID getUuid() { return uuid; }
+        public String getName() { return name; }
+        public boolean isWon() { return won; }
+        public int getKills() { return kills; }
+        public int getDeaths() { return deaths; }
+        public int getFinalKills() { return finalKills; }
+        public int getBedsBroken() { return bedsBroken; }
+
+        public int getTotalWins() { return totalWins; }
+        public int getTotalLosses() { return totalLosses; }
+        public int getTotalKills() { return totalKills; }
+        public int getTotalDeaths() { return totalDeaths; }
+        public int getTotalFinalKills() { return totalFinalKills; }
+        public int getTotalBedsBroken() { return totalBedsBroken; }
+        public int getTotalGamesPlayed() { return totalGamesPlayed; }
+    }
+
+    /**
+     * New progress of one achievement of one player.
+     */
+    public static final class AchievementChange {
+
+        private final UUID uuid;
+        private final String achievementId;
+        private final int progress;
+        private final long unlockedAt;
+
+        public AchievementChange(UUID uuid, String achievementId, int progress, long unlockedAt) {
+            this.uuid = uuid;
+            this.achievementId = achievementId;
+            this.progress = progress;
+            this.unlockedAt = unlockedAt;
+        }
+
+        public UUID getUuid() { return uuid; }
+        public String getAchievementId() { return achievementId; }
+        public int getProgress() { return progress; }
+        public long getUnlockedAt() { return unlockedAt; }
+    }
+}
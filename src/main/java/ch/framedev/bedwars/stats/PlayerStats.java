@@ -16,6 +16,9 @@ public class PlayerStats {
     private int bedsBroken;
     private int gamesPlayed;
 
+    /** Incremented on every change; compared with the last saved version to find dirty stats. */
+    private int version;
+
     public PlayerStats(UUID uuid) {
         this.uuid = uuid;
         this.wins = 0;
@@ -28,28 +31,34 @@ public class PlayerStats {
     }
 
     public void addWin() {
+        version++;
         wins++;
         gamesPlayed++;
     }
 
     public void addLoss() {
+        version++;
         losses++;
         gamesPlayed++;
     }
 
     public void addKill() {
+        version++;
         kills++;
     }
 
     public void addDeath() {
+        version++;
         deaths++;
     }
 
     public void addFinalKill() {
+        version++;
         finalKills++;
     }
 
     public void addBedBroken() {
+        version++;
         bedsBroken++;
     }
 
@@ -59,6 +68,21 @@ public class PlayerStats {
         return (double) kills / deaths;
     }
 
+    /**
+     * Detached copy (e.g. to hand the current values to a writer thread).
+     */
+    public PlayerStats copy() {
+        PlayerStats copy = new PlayerStats(uuid);
+        copy.wins = wins;
+        copy.losses = losses;
+        copy.kills = kills;
+        copy.deaths = deaths;
+        copy.finalKills = finalKills;
+        copy.bedsBroken = bedsBroken;
+        copy.gamesPlayed = gamesPlayed;
+        return copy;
+    }
+
     public double getWinRate() {
         int total = wins + losses;
         if (total == 0)
@@ -66,6 +90,10 @@ public class PlayerStats {
         return (double) wins / total * 100;
     }
 
+    int getVersion() {
+        return version;
+    }
+
     public UUID getUuid() {
         return uuid;
     }
@@ -100,30 +128,37 @@ public class PlayerStats {
 
     // Setters for database loading
     public void setWins(int wins) {
+        version++;
         this.wins = wins;
     }
 
     public void setLosses(int losses) {
+        version++;
         this.losses = losses;
     }
 
     public void setKills(int kills) {
+        version++;
         this.kills = kills;
     }
 
     public void setDeaths(int deaths) {
+        version++;
         this.deaths = deaths;
     }
 
     public void setFinalKills(int finalKills) {
+        version++;
         this.finalKills = finalKills;
     }
 
     public void setBedsBroken(int bedsBroken) {
+        version++;
         this.bedsBroken = bedsBroken;
     }
 
     public void setGamesPlayed(int gamesPlayed) {
+        version++;
         this.gamesPlayed = gamesPlayed;
     }
 }
@@ -0,0 +1,179 @@
+package ch.framedev.bedwars.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Players ordered by score (highest first, ties by UUID) with O(log n) rank lookups.
+ * <p>
+ * Notes:
+ * - Indexable skip list: every link stores how many nodes it skips (its span), so walking down
+ *   the levels sums up the rank, and the k-th node is found the same way
+ * - Not thread-safe: guarded by {@link LeaderboardService}
+ */
+final class RankedIndex {
+
+    private static final int MAX_LEVEL = 24;
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(UUID uuid, int score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], score, uuid)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(uuid, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    boolean remove(UUID uuid, int score) {
+        Node[] update = new Node[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], score, uuid)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node node = x.next[0];
+        if (node == null || node.score != score || !node.uuid.equals(uuid)) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * 1-based rank of the entry, or 0 if it isn't indexed.
+     */
+    int rank(UUID uuid, int score) {
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (before(x.next[i], score, uuid) || x.next[i].is(uuid, score))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && x.is(uuid, score)) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Up to {@code limit} entries starting at 1-based rank {@code from}, in rank order.
+     */
+    List<Node> range(int from, int limit) {
+        List<Node> result = new ArrayList<>(Math.max(0, Math.min(limit, size - from + 1)));
+        Node x = nodeAt(from);
+        while (x != null && result.size() < limit) {
+            result.add(x);
+            x = x.next[0];
+        }
+        return result;
+    }
+
+    private Node nodeAt(int rank) {
+        if (rank < 1 || rank > size) return null;
+
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether {@code node} ranks before (score, uuid).
+     */
+    private static boolean before(Node node, int score, UUID uuid) {
+        if (node.score != score) return node.score > score;
+        return node.uuid.compareTo(uuid) < 0;
+    }
+
+    private static int randomLevel() {
+        int level = 1;
+        // p = 1/4 per level
+        while (level < MAX_LEVEL && (ThreadLocalRandom.current().nextInt() & 3) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    static final class Node {
+
+        final UUID uuid;
+        final int score;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(UUID uuid, int score, int level) {
+            this.uuid = uuid;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        private boolean is(UUID uuid, int score) {
+            return this.score == score && this.uuid.equals(uuid);
+        }
+    }
+}
@@ -2,230 +2,371 @@ package ch.framedev.bedwars.stats;
 
 import ch.framedev.BedWarsPlugin;
 import ch.framedev.bedwars.database.DatabaseManager;
+import ch.framedev.bedwars.player.PlayerDataCache;
+import ch.framedev.bedwars.utils.SingleFlight;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scheduler.BukkitTask;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Manages player statistics using SQLite database
+ * <p>
+ * Notes:
+ * - Write-behind: changes only touch the cache; dirty entries (changed since their last save) are
+ *   written in one batch every flush interval, so a crash loses at most one interval
+ * - A match end is written right away (one transaction, see {@link StatsWriter}) and counts as a save
+ * - Entries live in a bounded player cache: data of players who left stays warm until it is idle
+ *   (or the cache is full); a dirty entry is saved when it is evicted
+ * - Stats are changed and snapshotted on the main thread only; saves complete on the database thread
+ * - Loads are prefetched at login and collapsed per player (one query in flight). A miss on the main
+ *   thread never waits: it gets a placeholder that counts from zero and is merged with the stored
+ *   stats once they arrive; placeholders are not written until then. A failed load keeps the
+ *   placeholder and is retried, it never counts as a new player
  */
 public class StatsManager {
 
+    /** Delay before a failed load is retried. */
+    private static final long LOAD_RETRY_TICKS = 200L;
+
     private final BedWarsPlugin plugin;
     private final DatabaseManager database;
-    private final Map<UUID, PlayerStats> statsCache;
+    private final PlayerDataCache<CachedStats> statsCache;
+    private final StatsWriter writer;
+    private final LeaderboardService leaderboards;
+    private final SingleFlight<UUID, PlayerStats> loads = new SingleFlight<>();
+    private final BukkitTask flushTask;
+    private CompletableFuture<Void> pendingFlush = CompletableFuture.completedFuture(null);
 
     public StatsManager(BedWarsPlugin plugin, DatabaseManager database) {
         this.plugin = plugin;
         this.database = database;
-        this.statsCache = new HashMap<>();
+        this.statsCache = plugin.getPlayerDataService().<CachedStats>getCache("stats")
+                .retainIf((uuid, cached) -> cached.placeholder)
+                .onEvict((uuid, cached, cause) -> {
+                    if (cached.isDirty()) save(List.of(cached));
+                });
+        this.writer = new StatsWriter(plugin, database);
+        this.leaderboards = new LeaderboardService(plugin);
+        leaderboards.load(database);
+
+        long interval = Math.max(1, plugin.getConfig().getInt("database.write-behind.flush-interval-seconds", 30)) * 20L;
+        this.flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flushDirty, interval, interval);
+
         plugin.getLogger().info("StatsManager initialized with database connection");
-        plugin.getDebugLogger().debug("StatsManager ready");
+        plugin.getDebugLogger().debug("StatsManager ready: flush every " + interval / 20 + "s");
     }
 
     /**
-     * Load player stats from database (async)
+     * Load player stats from database (async); concurrent loads of one player share one query
      */
     public CompletableFuture<PlayerStats> loadPlayerStats(UUID uuid) {
-        return CompletableFuture.supplyAsync(() -> {
-            // Check cache first
-            if (statsCache.containsKey(uuid)) {
-                return statsCache.get(uuid);
-            }
+        // Check cache first
+        CachedStats cached = statsCache.get(uuid);
+        if (cached != null && !cached.placeholder) {
+            return CompletableFuture.completedFuture(cached.stats);
+        }
+        return loads.load(uuid, this::queryStats);
+    }
 
-            plugin.getDebugLogger().debug("Loading stats: " + uuid);
-
-            String query = "SELECT * FROM player_stats WHERE uuid = ?";
-            try (ResultSet rs = database.executeQuery(query, uuid.toString())) {
-                if (rs.next()) {
-                    PlayerStats stats = new PlayerStats(uuid);
-                    stats.setWins(rs.getInt("wins"));
-                    stats.setLosses(rs.getInt("losses"));
-                    stats.setKills(rs.getInt("kills"));
-                    stats.setDeaths(rs.getInt("deaths"));
-                    stats.setFinalKills(rs.getInt("final_kills"));
-                    stats.setBedsBroken(rs.getInt("beds_broken"));
-                    stats.setGamesPlayed(rs.getInt("games_played"));
-
-                    statsCache.put(uuid, stats);
-                    return stats;
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to load stats for " + uuid + ": " + e.getMessage());
-                e.printStackTrace();
-            }
+    /**
+     * Save one player's stats now if they changed (async, on the database thread)
+     */
+    public CompletableFuture<Void> savePlayerStats(UUID uuid, String playerName) {
+        CachedStats cached = statsCache.peek(uuid);
+        if (cached == null || cached.placeholder || !cached.isDirty())
+            return CompletableFuture.completedFuture(null);
 
-            // Create new stats if player doesn't exist
-            PlayerStats newStats = new PlayerStats(uuid);
-            statsCache.put(uuid, newStats);
-            plugin.getDebugLogger().debug("Created new stats: " + uuid);
-            return newStats;
-        });
+        cached.playerName = playerName;
+        plugin.getDebugLogger().debug("Saving stats: " + uuid + " (" + playerName + ")");
+        return save(List.of(cached));
     }
 
     /**
-     * Save player stats to database (async)
+     * Persist a finished match (all participants and achievement changes) in one transaction.
+     * The cached stats must already contain the match.
      */
-    public CompletableFuture<Void> savePlayerStats(UUID uuid, String playerName) {
-        return CompletableFuture.runAsync(() -> {
-            PlayerStats stats = statsCache.get(uuid);
-            if (stats == null)
-                return;
-
-            plugin.getDebugLogger().debug("Saving stats: " + uuid + " (" + playerName + ")");
-
-            String query = """
-                    INSERT INTO player_stats (uuid, player_name, wins, losses, kills, deaths,
-                        final_kills, beds_broken, games_played, last_played, created_at)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                    ON CONFLICT(uuid) DO UPDATE SET
-                        player_name = excluded.player_name,
-                        wins = excluded.wins,
-                        losses = excluded.losses,
-                        kills = excluded.kills,
-                        deaths = excluded.deaths,
-                        final_kills = excluded.final_kills,
-                        beds_broken = excluded.beds_broken,
-                        games_played = excluded.games_played,
-                        last_played = excluded.last_played
-                    """;
-
-            try {
-                long now = System.currentTimeMillis();
-                database.executeUpdate(query,
-                        uuid.toString(),
-                        playerName,
-                        stats.getWins(),
-                        stats.getLosses(),
-                        stats.getKills(),
-                        stats.getDeaths(),
-                        stats.getFinalKills(),
-                        stats.getBedsBroken(),
-                        stats.getGamesPlayed(),
-                        now,
-                        now);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to save stats for " + uuid + ": " + e.getMessage());
-                e.printStackTrace();
+    public CompletableFuture<Void> recordMatch(MatchResult result) {
+        Map<CachedStats, Integer> versions = new HashMap<>();
+        Set<UUID> pending = new HashSet<>();
+        for (MatchResult.PlayerResult player : result.getPlayers()) {
+            CachedStats cached = statsCache.peek(player.getUuid());
+            if (cached == null) continue;
+            cached.playerName = player.getName();
+            if (cached.placeholder) {
+                // Totals are only this session's: written by the next flush after the merge
+                pending.add(player.getUuid());
+                continue;
             }
-        });
+            versions.put(cached, cached.stats.getVersion());
+            leaderboards.update(cached.stats, player.getName());
+        }
+
+        CompletableFuture<Void> future = writer.submit(pending.isEmpty() ? result : result.withoutPlayers(pending));
+        future.thenRun(() -> versions.forEach(CachedStats::markSaved));
+        return future;
     }
 
     /**
-     * Save all cached stats to database
+     * Write all dirty stats (bounded by {@code database.write-behind.shutdown-timeout-seconds}), e.g. on disable
      */
     public void saveAllStats() {
-        for (Map.Entry<UUID, PlayerStats> entry : statsCache.entrySet()) {
-            savePlayerStats(entry.getKey(), "Unknown").join(); // Join to ensure completion
+        flushTask.cancel();
+        leaderboards.shutdown();
+
+        List<CachedStats> dirty = new ArrayList<>();
+        for (CachedStats cached : statsCache.values()) {
+            if (!cached.placeholder && cached.isDirty()) dirty.add(cached);
         }
-        plugin.getLogger().info("Saved " + statsCache.size() + " player statistics to database.");
-        plugin.getDebugLogger().debug("Saved all stats: count=" + statsCache.size());
+
+        long timeout = plugin.getConfig().getLong("database.write-behind.shutdown-timeout-seconds", 10);
+        try {
+            save(dirty).get(timeout, TimeUnit.SECONDS);
+            plugin.getLogger().info("Saved " + dirty.size() + " player statistics to database.");
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Saving " + dirty.size() + " player statistics did not finish within "
+                    + timeout + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            plugin.getLogger().severe("Failed to save player statistics: " + e.getCause().getMessage());
+        }
+        plugin.getDebugLogger().debug("Saved all stats: dirty=" + dirty.size() + ", cached=" + statsCache.size());
     }
 
     /**
-     * Get player stats from cache (synchronous)
+     * Get player stats from cache (never blocks). On a miss the load is started and a placeholder is
+     * returned; changes to it are kept and added to the stored stats when they arrive (main thread only).
      */
     public PlayerStats getPlayerStats(UUID uuid) {
-        if (statsCache.containsKey(uuid)) {
-            return statsCache.get(uuid);
-        } else {
-            return loadPlayerStats(uuid).join(); // Load asynchronously but return null for now
+        CachedStats cached = statsCache.get(uuid);
+        if (cached != null) {
+            return cached.stats;
+        }
+
+        CachedStats placeholder = new CachedStats(new PlayerStats(uuid));
+        placeholder.placeholder = true;
+        cached = statsCache.putIfAbsent(uuid, placeholder);
+        if (cached != null) {
+            return cached.stats;
         }
+
+        plugin.getDebugLogger().debug("Stats cache miss, using placeholder: " + uuid);
+        loads.load(uuid, this::queryStats);
+        return placeholder.stats;
     }
 
     /**
-     * Get top players by wins
+     * In-memory leaderboards (top lists, pages and ranks)
      */
-    public CompletableFuture<Map<String, Integer>> getTopWins(int limit) {
-        return CompletableFuture.supplyAsync(() -> {
-            Map<String, Integer> topPlayers = new HashMap<>();
-            String query = "SELECT player_name, wins FROM player_stats ORDER BY wins DESC LIMIT ?";
+    public LeaderboardService getLeaderboards() {
+        return leaderboards;
+    }
 
-            plugin.getDebugLogger().debug("Leaderboard query: wins limit=" + limit);
+    /**
+     * Release the cached stats of a player who left; the player cache evicts them once idle
+     * (saved first if still dirty). With a shared database they are saved and dropped right away:
+     * the player may play on another server next, so this copy of the totals must not be used again.
+     */
+    public void clearCache(UUID uuid, String playerName) {
+        CachedStats cached = statsCache.peek(uuid);
+        if (cached == null) return;
 
-            try (ResultSet rs = database.executeQuery(query, limit)) {
-                while (rs.next()) {
-                    topPlayers.put(rs.getString("player_name"), rs.getInt("wins"));
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to get top wins: " + e.getMessage());
-            }
+        cached.playerName = playerName;
+        plugin.getDebugLogger().debug("Stats cache released: " + uuid + ", dirty=" + cached.isDirty());
+        if (database.getBackend().isShared() && !cached.placeholder) {
+            // Saved by the eviction listener; a reload on this server is queued behind the save
+            statsCache.invalidate(uuid);
+        }
+    }
 
-            return topPlayers;
+    /**
+     * Get total number of players in database
+     */
+    public CompletableFuture<Integer> getTotalPlayers() {
+        String query = "SELECT COUNT(*) as total FROM player_stats";
+        plugin.getDebugLogger().debug("Total players query");
+        return database.read(query, rs -> rs.next() ? rs.getInt("total") : 0).exceptionally(e -> {
+            plugin.getLogger().severe("Failed to get total players: " + e.getMessage());
+            return 0;
         });
     }
+    /* --------------------------------------------------------------------- */
+    /* Loading                                                                */
+    /* --------------------------------------------------------------------- */
 
     /**
-     * Get top players by kills
+     * Query one player's stats (database thread) and cache them, or merge them into a placeholder.
      */
-    public CompletableFuture<Map<String, Integer>> getTopKills(int limit) {
-        return CompletableFuture.supplyAsync(() -> {
-            Map<String, Integer> topPlayers = new HashMap<>();
-            String query = "SELECT player_name, kills FROM player_stats ORDER BY kills DESC LIMIT ?";
+    private CompletableFuture<PlayerStats> queryStats(UUID uuid) {
+        plugin.getDebugLogger().debug("Loading stats: " + uuid);
 
-            plugin.getDebugLogger().debug("Leaderboard query: kills limit=" + limit);
+        String query = "SELECT * FROM player_stats WHERE uuid = ?";
+        return database.query(query, rs -> {
+            if (!rs.next()) return null;
 
-            try (ResultSet rs = database.executeQuery(query, limit)) {
-                while (rs.next()) {
-                    topPlayers.put(rs.getString("player_name"), rs.getInt("kills"));
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to get top kills: " + e.getMessage());
+            PlayerStats stats = new PlayerStats(uuid);
+            stats.setWins(rs.getInt("wins"));
+            stats.setLosses(rs.getInt("losses"));
+            stats.setKills(rs.getInt("kills"));
+            stats.setDeaths(rs.getInt("deaths"));
+            stats.setFinalKills(rs.getInt("final_kills"));
+            stats.setBedsBroken(rs.getInt("beds_broken"));
+            stats.setGamesPlayed(rs.getInt("games_played"));
+            return stats;
+        }, uuid.toString()).handle((stats, error) -> {
+            if (error != null) {
+                // Not a new player: zeros must never overwrite the stored totals
+                plugin.getLogger().severe("Failed to load stats for " + uuid + ": " + error.getMessage());
+                return keepPlaceholder(uuid);
             }
+            if (stats == null) {
+                // Create new stats if player doesn't exist
+                stats = new PlayerStats(uuid);
+                plugin.getDebugLogger().debug("Created new stats: " + uuid);
+            }
+            CachedStats loaded = new CachedStats(stats);
+            CachedStats existing = statsCache.putIfAbsent(uuid, loaded);
+            if (existing == null) return stats;
 
-            return topPlayers;
+            if (existing.placeholder && plugin.isEnabled()) {
+                // Placeholder stats are only touched on the main thread
+                PlayerStats stored = stats;
+                Bukkit.getScheduler().runTask(plugin, () -> existing.merge(stored));
+            }
+            return existing.stats;
         });
     }
 
     /**
-     * Get top players by beds broken
+     * A load failed: keep (or create) the unmerged placeholder, which is never written, and retry later.
      */
-    public CompletableFuture<Map<String, Integer>> getTopBedsBroken(int limit) {
-        return CompletableFuture.supplyAsync(() -> {
-            Map<String, Integer> topPlayers = new HashMap<>();
-            String query = "SELECT player_name, beds_broken FROM player_stats ORDER BY beds_broken DESC LIMIT ?";
-
-            plugin.getDebugLogger().debug("Leaderboard query: beds limit=" + limit);
+    private PlayerStats keepPlaceholder(UUID uuid) {
+        CachedStats placeholder = new CachedStats(new PlayerStats(uuid));
+        placeholder.placeholder = true;
+        CachedStats existing = statsCache.putIfAbsent(uuid, placeholder);
+        CachedStats cached = existing != null ? existing : placeholder;
 
-            try (ResultSet rs = database.executeQuery(query, limit)) {
-                while (rs.next()) {
-                    topPlayers.put(rs.getString("player_name"), rs.getInt("beds_broken"));
+        if (cached.placeholder && plugin.isEnabled()) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                CachedStats current = statsCache.peek(uuid);
+                if (current != null && current.placeholder) {
+                    loads.load(uuid, this::queryStats);
                 }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to get top beds broken: " + e.getMessage());
+            }, LOAD_RETRY_TICKS);
+        }
+        return cached.stats;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Write-behind                                                           */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Write every dirty entry in one batch (main thread).
+     */
+    private void flushDirty() {
+        // Still writing the previous flush (database backed up): its rows would be written twice
+        if (!pendingFlush.isDone()) return;
+
+        List<CachedStats> dirty = new ArrayList<>();
+        for (CachedStats cached : statsCache.values()) {
+            if (!cached.placeholder && cached.isDirty()) {
+                dirty.add(cached);
             }
+        }
+        if (dirty.isEmpty()) return;
 
-            return topPlayers;
-        });
+        long start = System.nanoTime();
+        pendingFlush = save(dirty);
+        pendingFlush.thenRun(() -> plugin.getDebugLogger().debug("Stats flushed: rows=" + dirty.size()
+                + ", took=" + (System.nanoTime() - start) / 1000 + "us"));
     }
 
     /**
-     * Clear stats cache for a player
+     * Snapshot the entries (main thread) and write them in one transaction.
      */
-    public void clearCache(UUID uuid) {
-        statsCache.remove(uuid);
-        plugin.getDebugLogger().debug("Stats cache cleared: " + uuid);
+    private CompletableFuture<Void> save(List<CachedStats> entries) {
+        if (entries.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        List<StatsWriter.Row> rows = new ArrayList<>(entries.size());
+        Map<CachedStats, Integer> versions = new HashMap<>();
+        for (CachedStats cached : entries) {
+            rows.add(new StatsWriter.Row(cached.stats.copy(), cached.resolveName()));
+            versions.put(cached, cached.stats.getVersion());
+            leaderboards.update(cached.stats, cached.playerName);
+        }
+
+        CompletableFuture<Void> future = writer.saveStats(rows);
+        future.thenRun(() -> versions.forEach(CachedStats::markSaved));
+        return future;
     }
 
     /**
-     * Get total number of players in database
+     * Cached stats plus their write-behind state.
      */
-    public CompletableFuture<Integer> getTotalPlayers() {
-        return CompletableFuture.supplyAsync(() -> {
-            String query = "SELECT COUNT(*) as total FROM player_stats";
-            plugin.getDebugLogger().debug("Total players query");
-            try (ResultSet rs = database.executeQuery(query)) {
-                if (rs.next()) {
-                    return rs.getInt("total");
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to get total players: " + e.getMessage());
+    private static final class CachedStats {
+
+        private final PlayerStats stats;
+        /** Version of the last committed save; written on the database thread. */
+        private volatile int savedVersion;
+        private volatile String playerName;
+        /** Handed out before the stored stats were loaded; holds only the changes since. */
+        private volatile boolean placeholder;
+
+        private CachedStats(PlayerStats stats) {
+            this.stats = stats;
+            this.savedVersion = stats.getVersion();
+        }
+
+        private boolean isDirty() {
+            return stats.getVersion() != savedVersion;
+        }
+
+        private void markSaved(int version) {
+            // Saves complete in submission order, but a match write may carry a newer version
+            if (version - savedVersion > 0) {
+                savedVersion = version;
             }
-            return 0;
-        });
+        }
+
+        /**
+         * Add the stored stats to the placeholder's changes (main thread).
+         */
+        private void merge(PlayerStats stored) {
+            if (!placeholder) return;
+
+            boolean changed = isDirty();
+            stats.setWins(stored.getWins() + stats.getWins());
+            stats.setLosses(stored.getLosses() + stats.getLosses());
+            stats.setKills(stored.getKills() + stats.getKills());
+            stats.setDeaths(stored.getDeaths() + stats.getDeaths());
+            stats.setFinalKills(stored.getFinalKills() + stats.getFinalKills());
+            stats.setBedsBroken(stored.getBedsBroken() + stats.getBedsBroken());
+            stats.setGamesPlayed(stored.getGamesPlayed() + stats.getGamesPlayed());
+            if (!changed) {
+                savedVersion = stats.getVersion();
+            }
+            placeholder = false;
+        }
+
+        private String resolveName() {
+            if (playerName == null) {
+                OfflinePlayer player = Bukkit.getOfflinePlayer(stats.getUuid());
+                playerName = player.getName() != null ? player.getName() : "Unknown";
+            }
+            return playerName;
+        }
     }
 }
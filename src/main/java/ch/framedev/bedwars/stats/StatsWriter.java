@@ -0,0 +1,152 @@
+package ch.framedev.bedwars.stats;
+
+import ch.framedev.BedWarsPlugin;
+import ch.framedev.bedwars.database.DatabaseExecutor;
+import ch.framedev.bedwars.database.DatabaseManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes player statistics through the database thread.
+ * <p>
+ * Notes:
+ * - Writes never run on the main thread and are applied in submission order (a quit save can't
+ *   overtake a match result); statements come from the executor's statement cache
+ * - A {@link MatchResult} is one transaction: batched UPSERTs for all participants' stats and all
+ *   achievement changes, rolled back as a whole on failure
+ * - Returned futures complete once the data is committed (exceptionally if the write failed)
+ */
+public class StatsWriter {
+
+    private final BedWarsPlugin plugin;
+    private final DatabaseManager database;
+    private final String upsertStats;
+    private final String upsertAchievement;
+
+    public StatsWriter(BedWarsPlugin plugin, DatabaseManager database) {
+        this.plugin = plugin;
+        this.database = database;
+        // created_at is only written for new rows
+        this.upsertStats = database.upsert("player_stats", List.of("uuid"),
+                List.of("uuid", "player_name", "wins", "losses", "kills", "deaths", "final_kills", "beds_broken",
+                        "games_played", "last_played", "created_at"),
+                List.of("player_name", "wins", "losses", "kills", "deaths", "final_kills", "beds_broken",
+                        "games_played", "last_played"));
+        this.upsertAchievement = database.upsert("player_achievements", List.of("uuid", "achievement_id"),
+                List.of("uuid", "achievement_id", "progress", "unlocked_at", "updated_at"),
+                List.of("progress", "unlocked_at", "updated_at"));
+    }
+
+    /**
+     * Write a match result in one transaction.
+     */
+    public CompletableFuture<Void> submit(MatchResult result) {
+        if (result.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        long start = System.nanoTime();
+        return inTransaction(session -> {
+            long now = result.getEndedAt();
+            PreparedStatement stats = session.prepare(upsertStats);
+            for (MatchResult.PlayerResult player : result.getPlayers()) {
+                bindStats(stats, player.getUuid(), player.getName(), player.getTotalWins(),
+                        player.getTotalLosses(), player.getTotalKills(), player.getTotalDeaths(),
+                        player.getTotalFinalKills(), player.getTotalBedsBroken(),
+                        player.getTotalGamesPlayed(), now);
+                stats.addBatch();
+            }
+            if (!result.getPlayers().isEmpty()) stats.executeBatch();
+
+            PreparedStatement achievements = session.prepare(upsertAchievement);
+            for (MatchResult.AchievementChange change : result.getAchievements()) {
+                achievements.setString(1, change.getUuid().toString());
+                achievements.setString(2, change.getAchievementId());
+                achievements.setInt(3, change.getProgress());
+                achievements.setLong(4, change.getUnlockedAt());
+                achievements.setLong(5, now);
+                achievements.addBatch();
+            }
+            if (!result.getAchievements().isEmpty()) achievements.executeBatch();
+
+            plugin.getDebugLogger().debug("Match stats saved: arena=" + result.getArenaName()
+                    + ", players=" + result.getPlayers().size()
+                    + ", achievements=" + result.getAchievements().size()
+                    + ", took=" + (System.nanoTime() - start) / 1000 + "us");
+        });
+    }
+
+    /**
+     * Write players' stats (detached copies, see {@link PlayerStats#copy()}) in one batched transaction.
+     */
+    public CompletableFuture<Void> saveStats(List<Row> rows) {
+        if (rows.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        return inTransaction(session -> {
+            long now = System.currentTimeMillis();
+            PreparedStatement statement = session.prepare(upsertStats);
+            for (Row row : rows) {
+                PlayerStats stats = row.stats;
+                bindStats(statement, stats.getUuid(), row.playerName, stats.getWins(), stats.getLosses(),
+                        stats.getKills(), stats.getDeaths(), stats.getFinalKills(), stats.getBedsBroken(),
+                        stats.getGamesPlayed(), now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        });
+    }
+
+    /**
+     * One player's stats to write.
+     */
+    static final class Row {
+
+        private final PlayerStats stats;
+        private final String playerName;
+
+        Row(PlayerStats stats, String playerName) {
+            this.stats = stats;
+            this.playerName = playerName;
+        }
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal (database thread)                                             */
+    /* --------------------------------------------------------------------- */
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run(DatabaseExecutor.Session session) throws SQLException;
+    }
+
+    private CompletableFuture<Void> inTransaction(SqlWork work) {
+        CompletableFuture<Void> future = database.transaction(session -> {
+            work.run(session);
+            return null;
+        });
+        future.whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to save stats: " + error.getMessage());
+            }
+        });
+        return future;
+    }
+
+    private static void bindStats(PreparedStatement statement, UUID uuid, String playerName, int wins, int losses,
+                                  int kills, int deaths, int finalKills, int bedsBroken, int gamesPlayed,
+                                  long now) throws SQLException {
+        statement.setString(1, uuid.toString());
+        statement.setString(2, playerName);
+        statement.setInt(3, wins);
+        statement.setInt(4, losses);
+        statement.setInt(5, kills);
+        statement.setInt(6, deaths);
+        statement.setInt(7, finalKills);
+        statement.setInt(8, bedsBroken);
+        statement.setInt(9, gamesPlayed);
+        statement.setLong(10, now);
+        statement.setLong(11, now);
+    }
+}
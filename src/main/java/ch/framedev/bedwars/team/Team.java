@@ -13,9 +13,18 @@ import java.util.*;
  * - Uses a Set to avoid duplicate GamePlayers
  * - Exposes an unmodifiable view of members
  * - Adds small helper methods used often by game logic
+ * - Keeps a running count of non-eliminated members (updated on add/remove/eliminate), so
+ *   alive checks are O(1); eliminate members through {@link #eliminate(GamePlayer)}
  */
 public class Team {
 
+    /**
+     * Notified whenever the number of alive members changes.
+     */
+    public interface AliveListener {
+        void onAliveCountChanged(Team team, int previous, int current);
+    }
+
     private final TeamColor color;
     private final Location spawnLocation;
     private final Location bedLocation;
@@ -26,6 +35,9 @@ public class Team {
     private final TeamUpgrades upgrades;
     private boolean bedAlive;
 
+    private int alivePlayers;
+    private AliveListener aliveListener;
+
     public Team(TeamColor color, Location spawnLocation, Location bedLocation) {
         this.color = Objects.requireNonNull(color, "color");
         this.spawnLocation = Objects.requireNonNull(spawnLocation, "spawnLocation");
@@ -41,7 +53,9 @@ public class Team {
      */
     public void addPlayer(GamePlayer player) {
         if (player == null) return;
-        players.add(player);
+        if (players.add(player) && !player.isEliminated()) {
+            setAlivePlayers(alivePlayers + 1);
+        }
     }
 
     /**
@@ -49,7 +63,20 @@ public class Team {
      */
     public void removePlayer(GamePlayer player) {
         if (player == null) return;
-        players.remove(player);
+        if (players.remove(player) && !player.isEliminated()) {
+            setAlivePlayers(alivePlayers - 1);
+        }
+    }
+
+    /**
+     * Marks a member as eliminated. Idempotent.
+     */
+    public void eliminate(GamePlayer player) {
+        if (player == null || player.isEliminated()) return;
+        player.setEliminated(true);
+        if (players.contains(player)) {
+            setAlivePlayers(alivePlayers - 1);
+        }
     }
 
     public boolean isMember(GamePlayer player) {
@@ -65,26 +92,20 @@ public class Team {
     }
 
     public boolean hasAlivePlayers() {
-        for (GamePlayer player : players) {
-            if (player != null && !player.isEliminated()) {
-                return true;
-            }
-        }
-        return false;
+        return alivePlayers > 0;
     }
 
     public int aliveCount() {
-        int count = 0;
-        for (GamePlayer player : players) {
-            if (player != null && !player.isEliminated()) {
-                count++;
-            }
-        }
-        return count;
+        return alivePlayers;
+    }
+
+    public void setAliveListener(AliveListener aliveListener) {
+        this.aliveListener = aliveListener;
     }
 
     public void reset() {
         players.clear();
+        setAlivePlayers(0);
         bedAlive = true;
         upgrades.reset();
     }
@@ -115,4 +136,12 @@ public class Team {
     public boolean isBedAlive() {
         return bedAlive;
     }
+
+    private void setAlivePlayers(int count) {
+        int previous = alivePlayers;
+        alivePlayers = count;
+        if (previous != count && aliveListener != null) {
+            aliveListener.onAliveCountChanged(this, previous, count);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package ch.framedev.bedwars.upgrades;
+
+import ch.framedev.bedwars.game.BaseAreaEffects;
+import ch.framedev.bedwars.team.Team;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Heal pool upgrade: Regeneration for team members inside their base area.
+ * <p>
+ * A fresh effect is applied on every scan (like the old heal-pool task): Regeneration heals when its
+ * remaining duration passes a multiple of its heal interval, so resetting it each scan keeps one heal
+ * per scan period. A stronger Regeneration (e.g. golden apple) is left alone.
+ */
+public class HealPoolEffect implements BaseAreaEffects.AreaEffect {
+
+    public static final String ID = "heal-pool";
+
+    private final int radius;
+    private final int amplifier;
+    private final int durationTicks;
+
+    /**
+     * @param config      plugin config (upgrades.heal-pool.*)
+     * @param scanPeriod  ticks between area scans; the duration is kept above it so the effect can't lapse
+     */
+    public HealPoolEffect(ConfigurationSection config, int scanPeriod) {
+        this.radius = (int) Math.round(config.getDouble("upgrades.heal-pool.radius", 6.0));
+        this.amplifier = config.getInt("upgrades.heal-pool.amplifier", 0);
+        this.durationTicks = Math.max(scanPeriod + 1, config.getInt("upgrades.heal-pool.duration-ticks", 60));
+    }
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public int getRadius() {
+        return radius;
+    }
+
+    @Override
+    public boolean targetsOwnTeam() {
+        return true;
+    }
+
+    @Override
+    public boolean isActive(Team owner) {
+        return owner.getUpgrades().hasHealPool();
+    }
+
+    @Override
+    public void onEnter(Player player, Team owner) {
+        refresh(player);
+    }
+
+    @Override
+    public void onStay(Player player, Team owner) {
+        refresh(player);
+    }
+
+    @Override
+    public void onLeave(Player player, Team owner) {
+        // The remaining Regeneration simply runs out
+    }
+
+    private void refresh(Player player) {
+        PotionEffect current = player.getPotionEffect(PotionEffectType.REGENERATION);
+        if (current != null && current.getAmplifier() > amplifier) {
+            return;
+        }
+        player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, durationTicks, amplifier, false, false));
+    }
+}
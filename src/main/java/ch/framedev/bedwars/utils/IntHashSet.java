@@ -0,0 +1,119 @@
+package ch.framedev.bedwars.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of primitive ints (linear probing, no boxing).
+ * <p>
+ * Notes:
+ * - The key 0 is reserved as the empty-slot marker and cannot be stored
+ * - No removal (callers clear or drop the whole set)
+ * - Slots can be walked by index via {@link #capacity()} / {@link #isUsed(int)} / {@link #keyAt(int)}
+ */
+public final class IntHashSet {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int size;
+    private int resizeAt;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * @return true if the key was not present before
+     */
+    public boolean add(int key) {
+        if (key == 0) throw new IllegalArgumentException("key 0 is reserved");
+
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+        return true;
+    }
+
+    public boolean contains(int key) {
+        if (key == 0) return false;
+
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    /** Number of slots in the backing table (for index-based iteration). */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean isUsed(int slot) {
+        return keys[slot] != 0;
+    }
+
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    /** Approximate heap footprint of the backing table in bytes. */
+    public long estimateBytes() {
+        return 16L + (long) keys.length * Integer.BYTES;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] old = keys;
+        allocate(newCapacity);
+
+        int mask = keys.length - 1;
+        for (int key : old) {
+            if (key == 0) continue;
+            int slot = mix(key) & mask;
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = key;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(2, expectedSize) / LOAD_FACTOR);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,133 @@
+package ch.framedev.bedwars.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from primitive int keys to primitive int values (linear probing, no boxing).
+ * <p>
+ * Notes:
+ * - The key 0 is reserved as the empty-slot marker and cannot be stored
+ * - No removal (callers clear or drop the whole map)
+ * - Slots can be walked by index via {@link #capacity()} / {@link #isUsed(int)} / {@link #keyAt(int)}
+ */
+public final class IntIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        allocate(IntHashSet.tableSizeFor(expectedSize));
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) return defaultValue;
+
+        int mask = keys.length - 1;
+        int slot = IntHashSet.mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) return false;
+
+        int mask = keys.length - 1;
+        int slot = IntHashSet.mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Store the value only if the key is not mapped yet.
+     *
+     * @return true if the value was stored
+     */
+    public boolean putIfAbsent(int key, int value) {
+        if (key == 0) throw new IllegalArgumentException("key 0 is reserved");
+
+        int mask = keys.length - 1;
+        int slot = IntHashSet.mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    /** Number of slots in the backing table (for index-based iteration). */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean isUsed(int slot) {
+        return keys[slot] != 0;
+    }
+
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    /** Approximate heap footprint of the backing tables in bytes. */
+    public long estimateBytes() {
+        return 32L + (long) keys.length * (Integer.BYTES + Integer.BYTES);
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int slot = IntHashSet.mix(oldKeys[i]) & mask;
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+}
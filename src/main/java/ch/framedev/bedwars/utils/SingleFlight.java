@@ -0,0 +1,51 @@
+package ch.framedev.bedwars.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into one in-flight future.
+ * <p>
+ * Notes:
+ * - The first caller starts the load, every caller until it completes gets the same future
+ * - The key is released before the future completes, so dependents that load again start a new load
+ * - Thread-safe; the loader itself runs on the caller's thread (it should only submit async work)
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> load(K key, Function<K, CompletableFuture<V>> loader) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) return existing;
+
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) return existing;
+
+        try {
+            loader.apply(key).whenComplete((value, error) -> {
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    public boolean isLoading(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+}
@@ -142,7 +142,7 @@ public class MapVoteManager {
             return;
         }
 
-        Game game = plugin.getGameManager().getGame(arenaName);
+        Game game = plugin.getGameManager().getEmptyGame(arenaName);
         if (game == null) {
             mm.sendMessage(admin, "map-vote.admin-invalid-arena", arenaName);
             return;
@@ -289,7 +289,7 @@ public class MapVoteManager {
             return;
         }
 
-        Game game = plugin.getGameManager().getGame(winner);
+        Game game = plugin.getGameManager().getEmptyGame(winner);
         if (game == null || game.getState() != GameState.WAITING) {
             broadcastQueue("map-vote.no-available-arenas");
             return;
@@ -319,7 +319,7 @@ public class MapVoteManager {
                 if (eligible.isEmpty()) {
                     return null;
                 }
-                return eligible.get((int) (Math.random() * eligible.size())).getArena().getName();
+                return eligible.get((int) (Math.random() * eligible.size())).getArena().getTemplateName();
             }
         }
 
@@ -426,9 +426,11 @@ public class MapVoteManager {
             return plugin.getCloudNetManager().getGameServices();
         }
 
+        // Pooled instances are voted for under their arena's name
         List<String> names = new ArrayList<>();
         for (Game game : getEligibleGames()) {
-            names.add(game.getArena().getName());
+            String name = game.getArena().getTemplateName();
+            if (!names.contains(name)) names.add(name);
         }
         return names;
     }
@@ -0,0 +1,193 @@
+package ch.framedev.bedwars.generators;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of one {@link GeneratorEngine} tick with real {@link ResourceGenerator}s.
+ * <p>
+ * Notes:
+ * - Generators are built like Game#startGenerators does (generators.* defaults through
+ *   {@link GeneratorSettings}), so the measured path is the real spawn path: max-stack accounting,
+ *   drop tracking, MERGE stack growth and the periodic nearby-entity recount
+ * - The world and its item entities are dynamic proxies, so no server is needed; the server's own
+ *   cost of spawning an entity is not part of the result
+ * - Ground items are picked up every {@code pickupTicks} through
+ *   {@link GeneratorEngine#onDropTaken}, like GeneratorDropListener does, so capped generators keep
+ *   spawning instead of idling at their cap
+ * - Run with {@code mvn -Pjmh verify} (see the jmh profile in pom.xml)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorEngineBenchmark {
+
+    @Param({"100", "500"})
+    public int generators;
+
+    @Param({"DROP", "MERGE"})
+    public ResourceGenerator.OutputMode outputMode;
+
+    /** false = generators.*.max-stack 0 (no cap, no drop tracking). */
+    @Param({"true", "false"})
+    public boolean capped;
+
+    @Param("200")
+    public int pickupTicks;
+
+    private GeneratorEngine engine;
+    private StubWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        YamlConfiguration config = new YamlConfiguration();
+        ResourceGenerator.ResourceType[] types = ResourceGenerator.ResourceType.values();
+        if (!capped) {
+            for (ResourceGenerator.ResourceType type : types) {
+                config.set("generators." + type.name().toLowerCase() + ".max-stack", 0);
+            }
+        }
+
+        engine = new GeneratorEngine(null);
+        world = new StubWorld();
+        for (int i = 0; i < generators; i++) {
+            GeneratorSettings settings = GeneratorSettings.fromConfig(config, types[i % types.length]);
+            // Far enough apart that a recount only sees the generator's own items
+            Location location = new Location(world.world, i * 16.5, 64, 0.5);
+            settings.create(location, outputMode).start(engine);
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        engine.tick();
+        if (engine.getCurrentTick() % pickupTicks == 0) {
+            world.pickUpAll(engine);
+        }
+        return engine.getLastTickSpawns();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Stub world                                                             */
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * World that only knows the items dropped into it.
+     */
+    private static final class StubWorld {
+
+        private final List<StubItem> items = new ArrayList<>();
+        private final World world = (World) Proxy.newProxyInstance(World.class.getClassLoader(),
+                new Class<?>[]{World.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "dropItem" -> drop((Location) args[0], (ItemStack) args[1]);
+                    case "getNearbyEntities" -> nearby((Location) args[0], (Double) args[1]);
+                    case "getName" -> "benchmark";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> defaultValue(method);
+                });
+
+        private Item drop(Location location, ItemStack stack) {
+            StubItem item = new StubItem(location, stack);
+            items.add(item);
+            return item.item;
+        }
+
+        private List<Entity> nearby(Location location, double range) {
+            List<Entity> nearby = new ArrayList<>();
+            for (StubItem item : items) {
+                if (item.location.distanceSquared(location) <= range * range) nearby.add(item.item);
+            }
+            return nearby;
+        }
+
+        /**
+         * Players walk over every generator: all ground items are taken.
+         */
+        private void pickUpAll(GeneratorEngine engine) {
+            for (StubItem item : items) {
+                item.valid = false;
+                engine.onDropTaken(item.item, item.stack.getAmount(), true);
+            }
+            items.clear();
+        }
+    }
+
+    /**
+     * Item entity lying where it was dropped.
+     */
+    private static final class StubItem {
+
+        private final UUID uuid = UUID.randomUUID();
+        private final Location location;
+        private ItemStack stack;
+        private boolean valid = true;
+        private final Item item;
+
+        private StubItem(Location location, ItemStack stack) {
+            this.location = location;
+            this.stack = stack;
+            this.item = (Item) Proxy.newProxyInstance(Item.class.getClassLoader(),
+                    new Class<?>[]{Item.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "getUniqueId" -> uuid;
+                        case "getItemStack" -> this.stack;
+                        case "setItemStack" -> {
+                            this.stack = (ItemStack) args[0];
+                            yield null;
+                        }
+                        case "isValid" -> valid;
+                        case "getVelocity" -> new Vector();
+                        case "getLocation" -> this.location.clone();
+                        case "hashCode" -> uuid.hashCode();
+                        case "equals" -> proxy == args[0];
+                        default -> defaultValue(method);
+                    });
+        }
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        return null;
+    }
+}
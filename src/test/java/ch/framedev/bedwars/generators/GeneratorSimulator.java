@@ -0,0 +1,234 @@
+package ch.framedev.bedwars.generators;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headless generator economy simulator (development tool, not shipped in the plugin jar).
+ * <p>
+ * Notes:
+ * - Runs the real {@link GeneratorEngine} timing wheel and {@link ResourceGenerator} tier
+ *   delays, without a server: ground items are a counter per generator instead of entities
+ * - Generator settings come from generators.* and the upgrade schedule from
+ *   game.diamond-upgrade-time / game.emerald-upgrade-time, like a running game
+ * - Each team owns one iron and one gold generator; diamond/emerald islands are contested and
+ *   reported as "map"; ground stacks are collected every pickup interval (max-stack applies)
+ * - Tick cost of the real spawn path is measured by {@link GeneratorEngineBenchmark}, not here
+ * - Usage (no server needed): {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=ch.framedev.bedwars.generators.GeneratorSimulator
+ *   -Dexec.args="config.yml [minutes] [teams] [diamonds] [emeralds] [pickup-seconds]"}
+ */
+public final class GeneratorSimulator {
+
+    private static final int TICKS_PER_MINUTE = 20 * 60;
+
+    private final ConfigurationSection config;
+    private final int teams;
+    private final int diamondGenerators;
+    private final int emeraldGenerators;
+    private final int pickupIntervalTicks;
+
+    public GeneratorSimulator(ConfigurationSection config, int teams, int diamondGenerators,
+            int emeraldGenerators, int pickupIntervalSeconds) {
+        this.config = config;
+        this.teams = Math.max(1, teams);
+        this.diamondGenerators = Math.max(0, diamondGenerators);
+        this.emeraldGenerators = Math.max(0, emeraldGenerators);
+        this.pickupIntervalTicks = Math.max(1, pickupIntervalSeconds * 20);
+    }
+
+    /**
+     * Simulate the first {@code minutes} minutes of a match.
+     */
+    public Result run(int minutes) {
+        long start = System.nanoTime();
+        int totalTicks = Math.max(1, minutes) * TICKS_PER_MINUTE;
+
+        GeneratorEngine engine = new GeneratorEngine(null);
+        List<SimulatedGenerator> generators = new ArrayList<>();
+        for (int team = 0; team < teams; team++) {
+            addGenerators(generators, ResourceGenerator.ResourceType.IRON, 1, team);
+            addGenerators(generators, ResourceGenerator.ResourceType.GOLD, 1, team);
+        }
+        addGenerators(generators, ResourceGenerator.ResourceType.DIAMOND, diamondGenerators, teams);
+        addGenerators(generators, ResourceGenerator.ResourceType.EMERALD, emeraldGenerators, teams);
+
+        for (SimulatedGenerator generator : generators) {
+            generator.start(engine);
+        }
+
+        // Same schedule as Game#startGameTimer (its first 1s step runs at tick 0)
+        long diamondUpgradeTick = upgradeTick(config.getInt("game.diamond-upgrade-time", 720));
+        long emeraldUpgradeTick = upgradeTick(config.getInt("game.emerald-upgrade-time", 1440));
+
+        Result result = new Result(teams, minutes);
+        for (int tick = 1; tick <= totalTicks; tick++) {
+            if (tick == diamondUpgradeTick) upgrade(generators, ResourceGenerator.ResourceType.DIAMOND);
+            if (tick == emeraldUpgradeTick) upgrade(generators, ResourceGenerator.ResourceType.EMERALD);
+
+            engine.tick();
+
+            if (tick % pickupIntervalTicks == 0 || tick == totalTicks) {
+                int minute = (tick - 1) / TICKS_PER_MINUTE;
+                for (SimulatedGenerator generator : generators) {
+                    result.collected[generator.owner][generator.getType().ordinal()][minute] += generator.ground;
+                    generator.ground = 0;
+                }
+            }
+        }
+
+        for (SimulatedGenerator generator : generators) {
+            generator.stop();
+        }
+        result.wallNanos = System.nanoTime() - start;
+        result.ticks = totalTicks;
+        return result;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: GeneratorSimulator <config.yml> [minutes] [teams] [diamonds] [emeralds] [pickup-seconds]");
+            return;
+        }
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(new File(args[0]));
+        int minutes = intArg(args, 1, 30);
+        GeneratorSimulator simulator = new GeneratorSimulator(config, intArg(args, 2, 4), intArg(args, 3, 4),
+                intArg(args, 4, 2), intArg(args, 5, 10));
+
+        Result result = simulator.run(minutes);
+        for (String line : result.format()) {
+            System.out.println(line);
+        }
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Internal                                                               */
+    /* --------------------------------------------------------------------- */
+
+    private void addGenerators(List<SimulatedGenerator> generators, ResourceGenerator.ResourceType type,
+            int count, int owner) {
+        GeneratorSettings settings = GeneratorSettings.fromConfig(config, type);
+        if (!settings.isEnabled()) return;
+        for (int i = 0; i < count; i++) {
+            generators.add(new SimulatedGenerator(settings, owner));
+        }
+    }
+
+    private static void upgrade(List<SimulatedGenerator> generators, ResourceGenerator.ResourceType type) {
+        for (SimulatedGenerator generator : generators) {
+            if (generator.getType() == type) generator.upgrade();
+        }
+    }
+
+    private static long upgradeTick(int seconds) {
+        return seconds > 0 ? Math.max(1, (seconds - 1) * 20L) : -1;
+    }
+
+    private static int intArg(String[] args, int index, int def) {
+        if (index >= args.length) return def;
+        try {
+            return Integer.parseInt(args[index]);
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    /**
+     * Generator whose ground stack is a counter; owner is a team index or the map.
+     */
+    private static final class SimulatedGenerator extends ResourceGenerator {
+
+        private final int owner;
+        private int ground;
+
+        private SimulatedGenerator(GeneratorSettings settings, int owner) {
+            super(new Location(null, 0, 0, 0), settings.getType(), 1, settings.getTier1DelayTicks(),
+                    settings.getTier2DelayTicks(), settings.getSpawnAmount(), settings.getMaxStack());
+            this.owner = owner;
+        }
+
+        @Override
+        int fire() {
+            int amount = getSpawnAmount();
+            if (getMaxStack() > 0) {
+                amount = Math.min(amount, getMaxStack() - ground);
+                if (amount <= 0) return 0;
+            }
+            ground += amount;
+            return amount;
+        }
+    }
+
+    /**
+     * Collected resources per owner, type and minute.
+     */
+    public static final class Result {
+
+        private final int teams;
+        private final int minutes;
+        /** [owner (teams..., map)][resource type][minute] */
+        private final int[][][] collected;
+        private long wallNanos;
+        private long ticks;
+
+        private Result(int teams, int minutes) {
+            this.teams = teams;
+            this.minutes = Math.max(1, minutes);
+            this.collected = new int[teams + 1][ResourceGenerator.ResourceType.values().length][this.minutes];
+        }
+
+        /**
+         * Resources of a type collected in a minute; owner {@code teams} is the map (islands).
+         */
+        public int get(int owner, ResourceGenerator.ResourceType type, int minute) {
+            return collected[owner][type.ordinal()][minute];
+        }
+
+        public int getTeams() {
+            return teams;
+        }
+
+        public int getMinutes() {
+            return minutes;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /**
+         * Per-minute table: iron/gold per team, diamond/emerald on the map.
+         */
+        public List<String> format() {
+            List<String> lines = new ArrayList<>();
+            StringBuilder header = new StringBuilder("min");
+            for (int team = 1; team <= teams; team++) {
+                header.append(String.format(" | team%-2d iron gold", team));
+            }
+            header.append(" | map diamond emerald");
+            lines.add(header.toString());
+
+            for (int minute = 0; minute < minutes; minute++) {
+                StringBuilder row = new StringBuilder(String.format("%3d", minute + 1));
+                for (int team = 0; team < teams; team++) {
+                    row.append(String.format(" |        %4d %4d",
+                            get(team, ResourceGenerator.ResourceType.IRON, minute),
+                            get(team, ResourceGenerator.ResourceType.GOLD, minute)));
+                }
+                row.append(String.format(" |     %7d %7d",
+                        get(teams, ResourceGenerator.ResourceType.DIAMOND, minute),
+                        get(teams, ResourceGenerator.ResourceType.EMERALD, minute)));
+                lines.add(row.toString());
+            }
+
+            lines.add(String.format("Simulated %d ticks (%d min) in %.1f ms", ticks, minutes, wallNanos / 1_000_000.0));
+            return lines;
+        }
+    }
+}